@@ -0,0 +1,135 @@
+package com.straydogcare.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.straydogcare.config.IndexPlan;
+import com.straydogcare.dto.AdoptionDogSearchRequest;
+import com.straydogcare.dto.AdoptionDogSearchResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.repository.AdoptionDogRepository;
+import com.straydogcare.service.AdoptionDogBitmapIndex;
+import com.straydogcare.service.DogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DogService.searchDogs answered by the bitmap index or by the Mongo $facet aggregation,
+ * for the same catalogue and the same requests.
+ *
+ * backend=bitmap needs nothing else. backend=mongo needs a mongod: the catalogue is loaded into
+ * the database at BENCHMARK_MONGO_URI (default mongodb://localhost:27017/straydog_benchmark),
+ * which is dropped first, together with the adoption_dogs indexes from IndexPlan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AdoptionSearchBenchmark {
+
+    @Param({"2000", "20000"})
+    private int dogs;
+
+    @Param({"bitmap"})
+    private String backend;
+
+    private MongoClient mongoClient;
+    private DogService dogService;
+    private AdoptionDogSearchRequest browse;
+    private AdoptionDogSearchRequest filtered;
+    private AdoptionDogSearchRequest deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<AdoptionDog> catalogue = Fixtures.adoptionDogs(dogs);
+        InMemoryRepository<AdoptionDog> repository = InMemoryRepository.of(AdoptionDog::getId, AdoptionDog::setId, catalogue);
+        repository.on("findByStatus", args -> repository.values().stream()
+                .filter(dog -> args[0].equals(dog.getStatus()))
+                .toList());
+
+        AdoptionDogBitmapIndex bitmapIndex = new AdoptionDogBitmapIndex(repository.as(AdoptionDogRepository.class));
+        ReflectionTestUtils.setField(bitmapIndex, "enabled", backend.equals("bitmap"));
+        bitmapIndex.rebuild();
+
+        MongoTemplate mongoTemplate = null;
+        if (backend.equals("mongo")) {
+            mongoTemplate = loadIntoMongo(catalogue);
+        } else if (!backend.equals("bitmap")) {
+            throw new IllegalArgumentException("backend must be bitmap or mongo");
+        }
+        dogService = new DogService(repository.as(AdoptionDogRepository.class), mongoTemplate, bitmapIndex, null);
+
+        // What the adoption page sends: first page of everything available, then a few filters
+        browse = request(0);
+        filtered = request(0);
+        filtered.setSize(List.of("MEDIUM", "SMALL"));
+        filtered.setVaccinated(true);
+        filtered.setGoodWithKids(true);
+        filtered.setMinAge(12);
+        filtered.setMaxAge(84);
+        deepPage = request(20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    @Benchmark
+    public AdoptionDogSearchResponse browse() {
+        return dogService.searchDogs(browse);
+    }
+
+    @Benchmark
+    public AdoptionDogSearchResponse filtered() {
+        return dogService.searchDogs(filtered);
+    }
+
+    @Benchmark
+    public AdoptionDogSearchResponse deepPage() {
+        return dogService.searchDogs(deepPage);
+    }
+
+    // Helper methods
+
+    private AdoptionDogSearchRequest request(int page) {
+        AdoptionDogSearchRequest request = new AdoptionDogSearchRequest();
+        request.setStatus(List.of(AdoptionDogBitmapIndex.AVAILABLE));
+        request.setPage(page);
+        request.setPageSize(20);
+        return request;
+    }
+
+    private MongoTemplate loadIntoMongo(List<AdoptionDog> catalogue) {
+        ConnectionString uri = new ConnectionString(
+                System.getenv().getOrDefault("BENCHMARK_MONGO_URI", "mongodb://localhost:27017/straydog_benchmark"));
+        mongoClient = MongoClients.create(uri);
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, uri.getDatabase() != null ? uri.getDatabase() : "straydog_benchmark");
+        mongoTemplate.dropCollection(AdoptionDog.class);
+        mongoTemplate.insert(catalogue, AdoptionDog.class);
+        new IndexPlan().indexes().stream()
+                .filter(index -> index.entity() == AdoptionDog.class)
+                .forEach(index -> mongoTemplate.indexOps(AdoptionDog.class).ensureIndex(index.definition()));
+        return mongoTemplate;
+    }
+}
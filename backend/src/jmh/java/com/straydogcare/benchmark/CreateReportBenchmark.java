@@ -0,0 +1,129 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.repository.DogReportRepository;
+import com.straydogcare.repository.NotificationRepository;
+import com.straydogcare.repository.VolunteerRepository;
+import com.straydogcare.service.DogReportService;
+import com.straydogcare.service.DogReportTriageService;
+import com.straydogcare.service.NotificationService;
+import com.straydogcare.service.ReportDeduplicationIndex;
+import com.straydogcare.service.VolunteerDispatchService;
+import com.straydogcare.service.VolunteerService;
+import com.straydogcare.service.VolunteerSpatialIndex;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DogReportService.createReport for a new (non-duplicate) report: the priority from the
+ * condition, the deduplication lookup, the triage queue insert, volunteer matching and the
+ * notification fan-out to the best matches.
+ *
+ * The services run in a small Spring context so their @Value defaults apply exactly as in
+ * application.yml; repositories are in-memory and MongoTemplate is a mock that this path
+ * never calls. State is rebuilt before every iteration so the triage queue and
+ * deduplication index do not grow over the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CreateReportBenchmark {
+
+    @Param({"1000", "10000"})
+    private int volunteers;
+
+    @Param({"10000", "100000"})
+    private int openReports;
+
+    @Param({"CRITICAL", "HEALTHY"})
+    private DogReport.Condition condition;
+
+    private List<DogReport> reportFixtures;
+    private List<Volunteer> volunteerFixtures;
+    private AnnotationConfigApplicationContext context;
+    private DogReportService dogReportService;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUpFixtures() {
+        // Nothing from the last hours, so no fixture falls inside the deduplication window
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(2);
+        reportFixtures = Fixtures.dogReports(openReports).stream()
+                .filter(report -> report.getCreatedAt().isBefore(cutoff))
+                .toList();
+        volunteerFixtures = Fixtures.volunteers(volunteers);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpContext() {
+        InMemoryRepository<DogReport> dogReports = InMemoryRepository.of(DogReport::getId, DogReport::setId, reportFixtures);
+        dogReports.on("findByStatusIn", args -> dogReports.values().stream()
+                        .filter(report -> ((Collection<?>) args[0]).contains(report.getStatus()))
+                        .toList()
+                        .stream())
+                .on("findByStatusInAndCreatedAtAfter", args -> dogReports.values().stream()
+                        .filter(report -> ((Collection<?>) args[0]).contains(report.getStatus()))
+                        .filter(report -> report.getCreatedAt().isAfter((LocalDateTime) args[1]))
+                        .toList()
+                        .stream());
+
+        InMemoryRepository<Volunteer> volunteerStore = InMemoryRepository.of(Volunteer::getId, Volunteer::setId, volunteerFixtures);
+        volunteerStore.on("findByStatus", args -> volunteerStore.values().stream()
+                .filter(volunteer -> volunteer.getStatus() == args[0])
+                .toList());
+
+        // Notifications are acknowledged but not kept
+        InMemoryRepository<Notification> notifications = InMemoryRepository.of(Notification::getId, Notification::setId, List.<Notification>of())
+                .on("save", args -> args[0]);
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(DogReportRepository.class, () -> dogReports.as(DogReportRepository.class));
+        context.registerBean(VolunteerRepository.class, () -> volunteerStore.as(VolunteerRepository.class));
+        context.registerBean(NotificationRepository.class, () -> notifications.as(NotificationRepository.class));
+        context.registerBean(MongoTemplate.class, () -> Mockito.mock(MongoTemplate.class));
+        context.register(NotificationService.class, VolunteerSpatialIndex.class, VolunteerService.class,
+                VolunteerDispatchService.class, DogReportTriageService.class, ReportDeduplicationIndex.class,
+                DogReportService.class);
+        context.refresh();
+
+        // ApplicationReadyEvent never fires outside Spring Boot, so rebuild in the same order it would
+        context.getBean(VolunteerSpatialIndex.class).rebuild();
+        context.getBean(DogReportTriageService.class).rebuild();
+        context.getBean(ReportDeduplicationIndex.class).rebuild();
+        dogReportService = context.getBean(DogReportService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DogReport createReport() {
+        return dogReportService.createReport(Fixtures.newReport(next++, condition));
+    }
+}
@@ -0,0 +1,92 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.dto.ActivityFeedResponse;
+import com.straydogcare.dto.ChartDataResponse;
+import com.straydogcare.dto.DashboardStatsResponse;
+import com.straydogcare.model.Adoption;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.repository.AdoptionRepository;
+import com.straydogcare.repository.DogReportRepository;
+import com.straydogcare.repository.VolunteerRepository;
+import com.straydogcare.service.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardService aggregations over in-memory fixtures. The service loads whole collections
+ * and aggregates in Java, so these numbers scale with the fixture size; run with
+ * -p reports=1000000 (and a larger heap, -jvmArgs -Xmx4g) for the 1M case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardBenchmark {
+
+    @Param({"10000", "100000"})
+    private int reports;
+
+    private DashboardService dashboardService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryRepository<DogReport> dogReports = InMemoryRepository.of(DogReport::getId, DogReport::setId, Fixtures.dogReports(reports));
+        InMemoryRepository<Volunteer> volunteers = InMemoryRepository.of(Volunteer::getId, Volunteer::setId, Fixtures.volunteers(reports / 20));
+        InMemoryRepository<Adoption> adoptions = InMemoryRepository.of(Adoption::getId, Adoption::setId, Fixtures.adoptions(reports / 10));
+
+        volunteers.on("findByStatus", args -> volunteers.values().stream()
+                .filter(volunteer -> volunteer.getStatus() == args[0])
+                .toList());
+
+        dashboardService = new DashboardService(
+                dogReports.as(DogReportRepository.class),
+                volunteers.as(VolunteerRepository.class),
+                adoptions.as(AdoptionRepository.class));
+    }
+
+    @Benchmark
+    public DashboardStatsResponse dashboardStats() {
+        return dashboardService.getDashboardStats("all", "month");
+    }
+
+    @Benchmark
+    public DashboardStatsResponse dashboardStatsForZone() {
+        return dashboardService.getDashboardStats("Koramangala", "year");
+    }
+
+    @Benchmark
+    public ChartDataResponse chartData() {
+        return dashboardService.getChartData(6);
+    }
+
+    @Benchmark
+    public Map<String, Object> zoneStatistics() {
+        return dashboardService.getZoneStatistics();
+    }
+
+    @Benchmark
+    public Map<String, Object> quickStats() {
+        return dashboardService.getQuickStats();
+    }
+
+    @Benchmark
+    public ActivityFeedResponse activityFeed() {
+        return dashboardService.getActivityFeed(20);
+    }
+}
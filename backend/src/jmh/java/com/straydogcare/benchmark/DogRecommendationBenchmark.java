@@ -0,0 +1,79 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.dto.AdopterProfile;
+import com.straydogcare.dto.DogRecommendationResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.repository.AdoptionDogRepository;
+import com.straydogcare.service.DogRecommendationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DogRecommendationService.recommend for the top 10 over a catalogue in which every dog is
+ * AVAILABLE, so {@code dogs} is the number of scored vectors. One profile weighs few features
+ * (an apartment with children), the other most of them (a house with a yard, pets and an
+ * experienced adopter).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DogRecommendationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int dogs;
+
+    private DogRecommendationService recommendationService;
+    private AdopterProfile apartment;
+    private AdopterProfile house;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<AdoptionDog> catalogue = Fixtures.adoptionDogs(dogs);
+        catalogue.forEach(dog -> dog.setStatus("AVAILABLE"));
+        InMemoryRepository<AdoptionDog> repository = InMemoryRepository.of(AdoptionDog::getId, AdoptionDog::setId, catalogue);
+        repository.on("findByStatus", args -> repository.values().stream()
+                .filter(dog -> args[0].equals(dog.getStatus()))
+                .toList());
+
+        recommendationService = new DogRecommendationService(repository.as(AdoptionDogRepository.class));
+        recommendationService.rebuild();
+
+        apartment = AdopterProfile.builder()
+                .livingSpace("APARTMENT")
+                .hasChildren(true)
+                .build();
+        house = AdopterProfile.builder()
+                .livingSpace("HOUSE")
+                .hasYard(true)
+                .hasPets(true)
+                .hasChildren(true)
+                .experienceWithDogs("Grew up with dogs, fostered two")
+                .build();
+    }
+
+    @Benchmark
+    public List<DogRecommendationResponse> apartment() {
+        return recommendationService.recommend(apartment, 10);
+    }
+
+    @Benchmark
+    public List<DogRecommendationResponse> house() {
+        return recommendationService.recommend(house, 10);
+    }
+}
@@ -0,0 +1,66 @@
+package com.straydogcare.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.model.DogReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.geo.GeoJsonModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DogReport JSON as the controllers write it: a list wrapped in ApiResponse, with the same
+ * ObjectMapper defaults Spring Boot builds (Jackson2ObjectMapperBuilder) plus the GeoJsonModule
+ * that Spring Data's web support registers for the coordinates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DogReportJsonBenchmark {
+
+    // One report, a page and the unpaged GET /api/dog-reports of a busy month
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<DogReport>> response;
+    private byte[] json;
+    private JavaType responseType;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new GeoJsonModule()).build();
+        response = ApiResponse.success(Fixtures.dogReports(size));
+        json = objectMapper.writeValueAsBytes(response);
+        responseType = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, DogReport.class));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<List<DogReport>> deserialize() throws IOException {
+        return objectMapper.readValue(json, responseType);
+    }
+}
@@ -0,0 +1,259 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.dto.ActivityFeedResponse;
+import com.straydogcare.model.Adoption;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.ForumPost;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.Volunteer;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixture data: the same size and seed always produce the same documents, so
+ * runs on different commits compare like with like. Timestamps are relative to the time the
+ * fixture is built because the services measure everything against now().
+ */
+public final class Fixtures {
+
+    public static final long SEED = 42L;
+
+    // Roughly a 100 km square, so dispatch searches find a realistic number of volunteers
+    public static final double MIN_LAT = 12.5;
+    public static final double MIN_LNG = 77.2;
+    public static final double SPAN_DEGREES = 0.9;
+
+    public static final List<String> ZONES = List.of(
+            "Koramangala", "Indiranagar", "Whitefield", "Jayanagar", "Malleshwaram", "Hebbal",
+            "Yelahanka", "Electronic City", "Banashankari", "Marathahalli", "Rajajinagar", "BTM Layout");
+
+    private static final String[] NAMES = {"Bruno", "Sheru", "Moti", "Rani", "Tiger", "Kalu", "Lucky", "Brownie"};
+    private static final String[] AVAILABILITY = {"Weekdays", "Weekends", "Anytime"};
+    private static final String[] BREEDS = {"Indie", "Labrador Mix", "Beagle Mix", "German Shepherd Mix", "Pariah", "Spitz Mix"};
+    private static final String[] SIZES = {"SMALL", "MEDIUM", "LARGE"};
+    private static final String[] TEMPERAMENTS = {"Calm and gentle", "Playful, energetic", "Shy at first", "Active and lively", "Quiet"};
+
+    private Fixtures() {
+    }
+
+    public static List<DogReport> dogReports(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.now();
+        DogReport.Condition[] conditions = DogReport.Condition.values();
+        DogReport.Status[] statuses = DogReport.Status.values();
+
+        List<DogReport> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DogReport report = new DogReport();
+            report.setId("report-" + i);
+            report.setDogName(NAMES[random.nextInt(NAMES.length)]);
+            report.setDescription("Brown stray near the bus stop, limping on the left hind leg. Friendly but scared of traffic.");
+            report.setCondition(conditions[random.nextInt(conditions.length)]);
+            report.setStatus(statuses[random.nextInt(statuses.length)]);
+            report.setPriority(1 + random.nextInt(4));
+            report.setLocation(ZONES.get(random.nextInt(ZONES.size())));
+            report.setCoordinates(point(random));
+            report.setReportedBy("user-" + random.nextInt(Math.max(1, count / 10)));
+            report.setReporterName("Reporter " + i);
+            report.setReporterContact("+91 98450 " + String.format("%05d", i % 100_000));
+            report.setPhotoUrl("/uploads/report-" + i + ".jpg");
+            report.setTags(List.of("stray", report.getLocation().toLowerCase()));
+            if (random.nextInt(3) == 0) {
+                report.setNotes(new ArrayList<>(List.of(
+                        new DogReport.Note("Fed and given water", "volunteer-" + random.nextInt(100), now.minusHours(random.nextInt(48))))));
+            }
+            report.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            report.setUpdatedAt(report.getCreatedAt());
+            report.setVersion(0L);
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    public static List<Volunteer> volunteers(int count) {
+        Random random = new Random(SEED + 1);
+        LocalDateTime now = LocalDateTime.now();
+        Volunteer.Role[] roles = Volunteer.Role.values();
+
+        List<Volunteer> volunteers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Volunteer volunteer = new Volunteer();
+            volunteer.setId("volunteer-" + i);
+            volunteer.setUserId("volunteer-user-" + i);
+            volunteer.setName("Volunteer " + i);
+            volunteer.setEmail("volunteer" + i + "@example.org");
+            volunteer.setArea(ZONES.get(random.nextInt(ZONES.size())));
+            volunteer.setCoordinates(point(random));
+            volunteer.setRole(roles[random.nextInt(roles.length)]);
+            // Most volunteers are active; the rest exercise the status filters
+            volunteer.setStatus(random.nextInt(5) == 0 ? Volunteer.Status.INACTIVE : Volunteer.Status.ACTIVE);
+            volunteer.setAvailability(AVAILABILITY[random.nextInt(AVAILABILITY.length)]);
+            volunteer.setCompletedCases(random.nextInt(50));
+            volunteer.setCreatedAt(now.minusDays(random.nextInt(730)));
+            volunteers.add(volunteer);
+        }
+        return volunteers;
+    }
+
+    public static List<Adoption> adoptions(int count) {
+        Random random = new Random(SEED + 2);
+        LocalDateTime now = LocalDateTime.now();
+        Adoption.Status[] statuses = Adoption.Status.values();
+
+        List<Adoption> adoptions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Adoption adoption = new Adoption();
+            adoption.setId("adoption-" + i);
+            adoption.setDogReportId("report-" + i);
+            adoption.setDogName(NAMES[random.nextInt(NAMES.length)]);
+            adoption.setAdopterId("user-" + random.nextInt(Math.max(1, count)));
+            adoption.setAdopterName("Adopter " + i);
+            adoption.setStatus(statuses[random.nextInt(statuses.length)]);
+            adoption.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            adoptions.add(adoption);
+        }
+        return adoptions;
+    }
+
+    /**
+     * Adoptable dogs, about 70% AVAILABLE like the seeded load-test catalogue
+     */
+    public static List<AdoptionDog> adoptionDogs(int count) {
+        Random random = new Random(SEED + 6);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<AdoptionDog> dogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AdoptionDog dog = new AdoptionDog();
+            dog.setId("dog-" + i);
+            dog.setName(NAMES[random.nextInt(NAMES.length)] + " " + i);
+            dog.setBreed(BREEDS[random.nextInt(BREEDS.length)]);
+            dog.setAge(2 + random.nextInt(120));
+            dog.setGender(random.nextBoolean() ? "MALE" : "FEMALE");
+            dog.setSize(SIZES[random.nextInt(SIZES.length)]);
+            dog.setDescription("Gentle and house-trained, loves long walks");
+            dog.setHealthStatus("Healthy");
+            dog.setVaccinated(random.nextInt(4) != 0);
+            dog.setNeutered(random.nextBoolean());
+            dog.setTemperament(TEMPERAMENTS[random.nextInt(TEMPERAMENTS.length)]);
+            dog.setGoodWithKids(random.nextBoolean());
+            dog.setGoodWithPets(random.nextBoolean());
+            dog.setSpecialNeeds(random.nextInt(10) == 0 ? "Needs daily medication" : null);
+            int status = random.nextInt(10);
+            dog.setStatus(status < 7 ? "AVAILABLE" : status < 9 ? "PENDING" : "ADOPTED");
+            dog.setAddedBy("user-" + random.nextInt(5));
+            dog.setAddedDate(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            dog.setUpdatedDate(dog.getAddedDate());
+            dogs.add(dog);
+        }
+        return dogs;
+    }
+
+    public static List<ForumPost> forumPosts(int count, int commentsPerPost) {
+        Random random = new Random(SEED + 3);
+        LocalDateTime now = LocalDateTime.now();
+        ForumPost.Category[] categories = ForumPost.Category.values();
+
+        List<ForumPost> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ForumPost post = new ForumPost();
+            post.setId("post-" + i);
+            post.setTitle("Found a puppy near " + ZONES.get(random.nextInt(ZONES.size())) + ", looking for a foster home");
+            post.setContent("She is about three months old, dewormed last week and eating well. Can anyone foster her "
+                    + "until the weekend? I can drop her off and bring food and a bed.");
+            post.setCategory(categories[random.nextInt(categories.length)]);
+            post.setAuthorId("user-" + random.nextInt(1000));
+            post.setAuthorName("Member " + random.nextInt(1000));
+            post.setTags(new ArrayList<>(List.of("foster", "puppy")));
+            post.setLikes(random.nextInt(200));
+            post.setViews(random.nextInt(5000));
+            post.setCreatedAt(now.minusMinutes(random.nextInt(90 * 24 * 60)));
+            post.setUpdatedAt(post.getCreatedAt());
+            for (int c = 0; c < commentsPerPost; c++) {
+                post.getComments().add(new ForumPost.Comment("comment-" + i + "-" + c,
+                        "I can help this weekend, sending you a message now.",
+                        "user-" + random.nextInt(1000), "Member " + random.nextInt(1000),
+                        post.getCreatedAt().plusMinutes(c * 7L), random.nextInt(20)));
+            }
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    public static List<Notification> notifications(int count) {
+        Random random = new Random(SEED + 4);
+        LocalDateTime now = LocalDateTime.now();
+        Notification.Type[] types = Notification.Type.values();
+
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Notification notification = new Notification();
+            notification.setId("notification-" + i);
+            notification.setUserId("user-1@example.org");
+            notification.setTitle("Case update");
+            notification.setMessage("The dog you reported near " + ZONES.get(random.nextInt(ZONES.size()))
+                    + " has been picked up by a volunteer.");
+            notification.setType(types[random.nextInt(types.length)]);
+            notification.setRead(random.nextBoolean());
+            notification.setRelatedEntityId("report-" + random.nextInt(10_000));
+            notification.setRelatedEntityType("DOG_REPORT");
+            notification.setCreatedAt(now.minusMinutes(random.nextInt(30 * 24 * 60)));
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    public static ActivityFeedResponse activityFeed(int count) {
+        Random random = new Random(SEED + 5);
+        LocalDateTime now = LocalDateTime.now();
+        String[] types = {"rescue", "adoption", "volunteer"};
+
+        List<ActivityFeedResponse.ActivityItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = types[random.nextInt(types.length)];
+            items.add(ActivityFeedResponse.ActivityItem.builder()
+                    .id(type + "-" + i)
+                    .type(type)
+                    .title("New " + type + " in " + ZONES.get(random.nextInt(ZONES.size())))
+                    .description("Brown stray near the bus stop, limping on the left hind leg.")
+                    .location(ZONES.get(random.nextInt(ZONES.size())))
+                    .timeAgo((1 + random.nextInt(59)) + " min ago")
+                    .timestamp(now.minusMinutes(random.nextInt(24 * 60)))
+                    .icon("Dog")
+                    .color("#FFA69E")
+                    .urgent(random.nextInt(5) == 0)
+                    .relatedId("report-" + i)
+                    .build());
+        }
+        return ActivityFeedResponse.builder().activities(items).total(count).unreadCount(0).build();
+    }
+
+    /**
+     * A new report at the i-th point of a grid whose cells are wider than the deduplication
+     * radius, so consecutive reports are never linked to each other as repeat sightings
+     */
+    public static DogReport newReport(long i, DogReport.Condition condition) {
+        double step = 0.002; // ~220 m, wider than the 150 m deduplication radius
+        int side = (int) (SPAN_DEGREES / step);
+        long cell = (i * 7L) % ((long) side * side); // 7 is coprime to the cell count, so every cell is visited once per cycle
+        DogReport report = new DogReport();
+        report.setDogName("Bruno");
+        report.setDescription("Limping dog near the market");
+        report.setCondition(condition);
+        report.setLocation(ZONES.get((int) (i % ZONES.size())));
+        report.setCoordinates(new GeoJsonPoint(MIN_LNG + (cell % side) * step, MIN_LAT + (cell / side) * step));
+        report.setReportedBy("user-1");
+        return report;
+    }
+
+    // Helper methods
+
+    private static GeoJsonPoint point(Random random) {
+        return new GeoJsonPoint(MIN_LNG + random.nextDouble() * SPAN_DEGREES, MIN_LAT + random.nextDouble() * SPAN_DEGREES);
+    }
+}
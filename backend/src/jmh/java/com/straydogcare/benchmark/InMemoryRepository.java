@@ -0,0 +1,186 @@
+package com.straydogcare.benchmark;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Map-backed stand-in for a Spring Data repository interface, so services can be benchmarked
+ * without MongoDB.
+ *
+ * The CRUD and paging methods the services use are built in; derived finders are registered
+ * per benchmark with {@link #on}. Anything else throws, so a benchmark never silently measures
+ * a stub that returns nothing.
+ */
+public final class InMemoryRepository<T> implements InvocationHandler {
+
+    private final Map<String, T> store = new LinkedHashMap<>();
+    private final Map<String, Function<Object[], Object>> finders = new HashMap<>();
+    private final Map<Sort, List<T>> sorted = new HashMap<>();
+    private final Function<T, String> getId;
+    private final BiConsumer<T, String> setId;
+    private long roundTripNanos;
+
+    private InMemoryRepository(Function<T, String> getId, BiConsumer<T, String> setId) {
+        this.getId = getId;
+        this.setId = setId;
+    }
+
+    public static <T> InMemoryRepository<T> of(Function<T, String> getId, BiConsumer<T, String> setId, Collection<T> fixtures) {
+        InMemoryRepository<T> repository = new InMemoryRepository<>(getId, setId);
+        fixtures.forEach(repository::save);
+        return repository;
+    }
+
+    public InMemoryRepository<T> on(String finder, Function<Object[], Object> implementation) {
+        finders.put(finder, implementation);
+        return this;
+    }
+
+    /**
+     * Adds a simulated network round trip to every call, for comparing per-item with batched writes
+     */
+    public InMemoryRepository<T> roundTrip(long nanos) {
+        this.roundTripNanos = nanos;
+        return this;
+    }
+
+    public <R> R as(Class<R> repositoryType) {
+        return repositoryType.cast(Proxy.newProxyInstance(
+                repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, this));
+    }
+
+    public Collection<T> values() {
+        return store.values();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        if (roundTripNanos > 0 && method.getDeclaringClass() != Object.class) {
+            LockSupport.parkNanos(roundTripNanos);
+        }
+        Function<Object[], Object> finder = finders.get(method.getName());
+        if (finder != null) {
+            return finder.apply(args);
+        }
+
+        String name = method.getName();
+        int arity = args == null ? 0 : args.length;
+        return switch (name) {
+            case "save" -> save((T) args[0]);
+            case "insert", "saveAll" -> arity == 1 && args[0] instanceof Iterable<?> entities
+                    ? saveAll((Iterable<T>) entities)
+                    : save((T) args[0]);
+            case "findById" -> Optional.ofNullable(store.get((String) args[0]));
+            case "existsById" -> store.containsKey((String) args[0]);
+            case "count" -> (long) store.size();
+            case "deleteById" -> {
+                remove((String) args[0]);
+                yield null;
+            }
+            case "deleteAll" -> {
+                store.clear();
+                sorted.clear();
+                yield null;
+            }
+            case "findAll" -> findAll(arity == 0 ? null : args[0]);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryRepository[" + store.size() + "]";
+            default -> throw new UnsupportedOperationException(
+                    method.getDeclaringClass().getSimpleName() + "." + name + " has no in-memory implementation");
+        };
+    }
+
+    // Helper methods
+
+    private T save(T entity) {
+        if (getId.apply(entity) == null) {
+            setId.accept(entity, UUID.randomUUID().toString());
+        }
+        store.put(getId.apply(entity), entity);
+        sorted.clear();
+        return entity;
+    }
+
+    private List<T> saveAll(Iterable<T> entities) {
+        List<T> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    private void remove(String id) {
+        if (store.remove(id) != null) {
+            sorted.clear();
+        }
+    }
+
+    private Object findAll(Object argument) {
+        if (argument == null) {
+            return new ArrayList<>(store.values());
+        }
+        if (argument instanceof Sort sort) {
+            return new ArrayList<>(sortedBy(sort));
+        }
+        if (argument instanceof Pageable pageable) {
+            List<T> all = pageable.getSort().isSorted() ? sortedBy(pageable.getSort()) : new ArrayList<>(store.values());
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(all);
+            }
+            int from = (int) Math.min(pageable.getOffset(), all.size());
+            int to = Math.min(from + pageable.getPageSize(), all.size());
+            return new PageImpl<>(new ArrayList<>(all.subList(from, to)), pageable, all.size());
+        }
+        if (argument instanceof Iterable<?> ids) {
+            List<T> found = new ArrayList<>();
+            ids.forEach(id -> Optional.ofNullable(store.get((String) id)).ifPresent(found::add));
+            return found;
+        }
+        throw new UnsupportedOperationException("findAll(" + argument.getClass().getSimpleName() + ")");
+    }
+
+    /**
+     * Sorted views are cached until the next write, the way an index would serve them, so a
+     * paged "latest N" query costs a sublist rather than a sort of the whole fixture.
+     */
+    private List<T> sortedBy(Sort sort) {
+        return sorted.computeIfAbsent(sort, s -> {
+            Comparator<T> comparator = null;
+            for (Sort.Order order : s) {
+                Comparator<T> next = Comparator.comparing(
+                        entity -> property(entity, order.getProperty()),
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                if (order.isDescending()) {
+                    next = next.reversed();
+                }
+                comparator = comparator == null ? next : comparator.thenComparing(next);
+            }
+            List<T> all = new ArrayList<>(store.values());
+            all.sort(comparator);
+            return all;
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable property(Object entity, String property) {
+        return (Comparable) new BeanWrapperImpl(entity).getPropertyValue(property);
+    }
+}
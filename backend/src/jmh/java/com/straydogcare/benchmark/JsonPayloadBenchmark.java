@@ -0,0 +1,91 @@
+package com.straydogcare.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.straydogcare.dto.ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.geo.GeoJsonModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The large responses as they go on the wire: written by Spring Boot's ObjectMapper with and
+ * without the Blackbird module (see JacksonConfiguration), then optionally gzipped the way
+ * Tomcat does with server.compression. The setup prints the plain and gzipped size of each
+ * payload, so one run shows both the CPU and the bytes before and after.
+ *
+ * Payloads: the unpaged GET /api/dog-reports of a busy month, GET /api/forum with all
+ * comments, a page of notifications and the default dashboard activity feed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPayloadBenchmark {
+
+    @Param({"dogReports", "forumPosts", "notifications", "activityFeed"})
+    private String payload;
+
+    @Param({"default", "blackbird"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private Object response;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new GeoJsonModule());
+        if (mapper.equals("blackbird")) {
+            builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+        }
+        objectMapper = builder.build();
+        response = switch (payload) {
+            case "dogReports" -> ApiResponse.success(Fixtures.dogReports(1000));
+            case "forumPosts" -> ApiResponse.success(Fixtures.forumPosts(50, 20));
+            case "notifications" -> ApiResponse.success(Fixtures.notifications(50));
+            case "activityFeed" -> Fixtures.activityFeed(20);
+            default -> throw new IllegalArgumentException("Unknown payload: " + payload);
+        };
+
+        byte[] json = serialize();
+        System.out.printf("%n%s: %,d bytes as JSON, %,d bytes gzipped (%.0f%%)%n",
+                payload, json.length, gzip(json).length, 100.0 * gzip(json).length / json.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(response));
+    }
+
+    // Helper methods
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+}
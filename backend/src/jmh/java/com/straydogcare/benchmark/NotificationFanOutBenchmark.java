@@ -0,0 +1,86 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.model.Notification;
+import com.straydogcare.repository.NotificationRepository;
+import com.straydogcare.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notifying N recipients one save at a time (createNotification in a loop, as createReport and
+ * the adoption flows do) versus one insert (createNotifications). roundTripMicros adds a
+ * simulated Mongo round trip per repository call; 0 measures the Java side alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFanOutBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int recipients;
+
+    @Param({"0", "500"})
+    private long roundTripMicros;
+
+    private NotificationService notificationService;
+    private List<String> userIds;
+
+    @Setup
+    public void setUp() {
+        userIds = new ArrayList<>(recipients);
+        for (int i = 0; i < recipients; i++) {
+            userIds.add("volunteer-user-" + i);
+        }
+
+        // Writes are acknowledged but not kept, so the store does not grow over millions of invocations
+        InMemoryRepository<Notification> notifications = InMemoryRepository.of(Notification::getId, Notification::setId, List.<Notification>of())
+                .on("save", args -> args[0])
+                .on("insert", args -> args[0])
+                .roundTrip(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        notificationService = new NotificationService(notifications.as(NotificationRepository.class));
+    }
+
+    @Benchmark
+    public int perRecipient() {
+        int sent = 0;
+        for (String userId : userIds) {
+            notificationService.createNotification(userId, "New Dog Report",
+                    "A new dog has been reported in your area: Koramangala",
+                    Notification.Type.INFO, "report-1", "DOG_REPORT");
+            sent++;
+        }
+        return sent;
+    }
+
+    @Benchmark
+    public int batched() {
+        List<Notification> batch = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            Notification notification = new Notification();
+            notification.setUserId(userId);
+            notification.setTitle("New Dog Report");
+            notification.setMessage("A new dog has been reported in your area: Koramangala");
+            notification.setType(Notification.Type.INFO);
+            notification.setRelatedEntityId("report-1");
+            notification.setRelatedEntityType("DOG_REPORT");
+            batch.add(notification);
+        }
+        return notificationService.createNotifications(batch).size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.straydogcare.benchmark;
+
+import com.straydogcare.service.DashboardService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DashboardService.getTimeAgo, called once per activity feed item. The method is private, so
+ * it is reached through a constant MethodHandle, which the JIT inlines like a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeAgoBenchmark {
+
+    private static final MethodHandle GET_TIME_AGO;
+
+    static {
+        try {
+            GET_TIME_AGO = MethodHandles.privateLookupIn(DashboardService.class, MethodHandles.lookup())
+                    .findVirtual(DashboardService.class, "getTimeAgo", MethodType.methodType(String.class, LocalDateTime.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Covers each branch: "Just now", minutes, hours, days and months
+    @Param({"0", "45", "300", "7200", "200000"})
+    private long minutesAgo;
+
+    private DashboardService dashboardService;
+    private LocalDateTime dateTime;
+
+    @Setup
+    public void setUp() {
+        dashboardService = new DashboardService(null, null, null);
+        dateTime = LocalDateTime.now().minusMinutes(minutesAgo);
+    }
+
+    @Benchmark
+    public String timeAgo() throws Throwable {
+        return (String) GET_TIME_AGO.invokeExact(dashboardService, dateTime);
+    }
+}
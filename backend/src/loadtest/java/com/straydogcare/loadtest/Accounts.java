@@ -0,0 +1,29 @@
+package com.straydogcare.loadtest;
+
+/**
+ * Login accounts created by SeedDataGenerator and used by the journeys. Both sides derive the
+ * emails from the same index, so a run only needs to know how many accounts were seeded.
+ */
+final class Accounts {
+
+    static final String PASSWORD = "loadtest123";
+
+    static final int DEFAULT_USERS = 2000;
+    static final int DEFAULT_VOLUNTEERS = 500;
+    static final int DEFAULT_ADMINS = 5;
+
+    private Accounts() {
+    }
+
+    static String user(int index) {
+        return "user" + index + "@loadtest.local";
+    }
+
+    static String volunteer(int index) {
+        return "volunteer" + index + "@loadtest.local";
+    }
+
+    static String admin(int index) {
+        return "admin" + index + "@loadtest.local";
+    }
+}
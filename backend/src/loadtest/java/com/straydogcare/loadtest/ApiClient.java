@@ -0,0 +1,97 @@
+package com.straydogcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One virtual user's session: a bearer token plus timed calls that unwrap ApiResponse.data.
+ *
+ * Every call is recorded under its endpoint name, including failures, which return null so a
+ * journey can skip the steps that depend on the result instead of aborting the run.
+ */
+class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyStats stats;
+    private final String baseUrl;
+    private String token;
+    private int lastStatus;
+
+    ApiClient(HttpClient httpClient, ObjectMapper objectMapper, LatencyStats stats, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.stats = stats;
+        this.baseUrl = baseUrl;
+    }
+
+    boolean login(String email) {
+        JsonNode auth = send("POST /api/auth/login", "POST", "/api/auth/login",
+                Map.of("email", email, "password", Accounts.PASSWORD));
+        token = auth != null ? auth.path("token").asText(null) : null;
+        return token != null;
+    }
+
+    JsonNode get(String endpoint, String path) {
+        return send(endpoint, "GET", path, null);
+    }
+
+    JsonNode post(String endpoint, String path, Object body) {
+        return send(endpoint, "POST", path, body);
+    }
+
+    JsonNode patch(String endpoint, String path, Object body) {
+        return send(endpoint, "PATCH", path, body);
+    }
+
+    /**
+     * HTTP status of the last call, or 0 when no response arrived
+     */
+    int lastStatus() {
+        return lastStatus;
+    }
+
+    // Helper methods
+
+    private JsonNode send(String endpoint, String method, String path, Object body) {
+        long start = System.nanoTime();
+        lastStatus = 0;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .header("Accept", "application/json");
+            if (token != null) {
+                request.header("Authorization", "Bearer " + token);
+            }
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            // The body is read in full before the clock stops, so large responses count against their endpoint
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            lastStatus = response.statusCode();
+            boolean success = lastStatus / 100 == 2;
+            stats.record(endpoint, System.nanoTime() - start, success);
+            return success ? objectMapper.readTree(response.body()).path("data") : null;
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.straydogcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.StreamSupport;
+
+/**
+ * Races many virtual users on the same document and checks the outcome.
+ *
+ * Each round prepares a fresh target, releases every contender at once, and expects exactly
+ * one 2xx and a refusal (409, unless the scenario says otherwise) for everyone else; the
+ * scenario then reads the target back to check the winner's write landed in full. The run
+ * reports how many contended writes per second the server settles and fails (exit code 1) on
+ * any round with no winner, several winners or any other answer for a loser. Losers show up
+ * as errors in the latency table, since they are refused.
+ */
+class ContentionRunner {
+
+    private final LoadTest.Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyStats stats = new LatencyStats();
+
+    ContentionRunner(LoadTest.Options options) {
+        this.options = options;
+    }
+
+    int run() throws InterruptedException {
+        String baseUrl = options.get("base-url", "http://localhost:5000");
+        int rounds = options.getInt("rounds", 50);
+        int contenders = options.getInt("contenders", 32);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Function<String, ApiClient> login = account -> {
+            ApiClient client = new ApiClient(httpClient, objectMapper, stats, baseUrl);
+            if (!client.login(account)) {
+                throw new IllegalStateException(account + " could not log in; was the database seeded?");
+            }
+            return client;
+        };
+
+        Scenario scenario = scenario(options.get("scenario", "assign"), login);
+        ApiClient admin;
+        List<ApiClient> clients = new ArrayList<>();
+        try {
+            admin = login.apply(Accounts.admin(0));
+            for (int i = 0; i < contenders; i++) {
+                clients.add(login.apply(scenario.account().apply(i)));
+            }
+        } catch (IllegalStateException e) {
+            System.out.println("FAIL " + e.getMessage());
+            return 1;
+        }
+        stats.reset();
+
+        System.out.printf("Running %d rounds of %s with %d contenders against %s%n", rounds, scenario.name(), contenders, baseUrl);
+        Random random = new Random(options.getInt("seed", 42));
+        List<String> failures = new ArrayList<>();
+        long contendedNanos = 0;
+        int settled = 0;
+        int refusals = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int round = 0; round < rounds; round++) {
+                String target = scenario.prepare(admin, random, contenders);
+                if (target == null) {
+                    failures.add("round " + round + ": could not prepare the target (HTTP " + admin.lastStatus() + ")");
+                    continue;
+                }
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Integer>> attempts = new ArrayList<>();
+                for (int i = 0; i < contenders; i++) {
+                    ApiClient client = clients.get(i);
+                    int index = i;
+                    attempts.add(executor.submit(() -> {
+                        start.await();
+                        scenario.attempt(client, target, index);
+                        return client.lastStatus();
+                    }));
+                }
+
+                long released = System.nanoTime();
+                start.countDown();
+                int winners = 0;
+                List<Integer> others = new ArrayList<>();
+                for (Future<Integer> attempt : attempts) {
+                    int status = get(attempt);
+                    if (status / 100 == 2) {
+                        winners++;
+                    } else if (scenario.isRefusal(status)) {
+                        refusals++;
+                    } else {
+                        others.add(status);
+                    }
+                }
+                contendedNanos += System.nanoTime() - released;
+
+                if (winners != 1 || !others.isEmpty()) {
+                    failures.add(String.format("round %d (%s): %d winners, unexpected statuses %s", round, target, winners, others));
+                    continue;
+                }
+                String problem = scenario.verify(admin, target);
+                if (problem != null) {
+                    failures.add(String.format("round %d (%s): %s", round, target, problem));
+                    continue;
+                }
+                settled++;
+            }
+        }
+
+        double seconds = contendedNanos / 1e9;
+        System.out.println();
+        System.out.print(LatencyStats.format(stats.results(seconds)));
+        System.out.printf("%n%d of %d rounds settled with one winner, %d refusals; %.1f contended writes/s, %.1f attempts/s%n",
+                settled, rounds, refusals, seconds > 0 ? settled / seconds : 0, seconds > 0 ? (settled + refusals) / seconds : 0);
+        failures.forEach(failure -> System.out.println("FAIL " + failure));
+        return failures.isEmpty() ? 0 : 1;
+    }
+
+    // Helper methods
+
+    private Scenario scenario(String name, Function<String, ApiClient> login) {
+        return switch (name) {
+            case "assign" -> new AssignScenario();
+            case "approve" -> new ApproveScenario(login, options.getInt("admin-accounts", Accounts.DEFAULT_ADMINS));
+            default -> throw new IllegalArgumentException("Unknown --scenario " + name + "; expected assign or approve");
+        };
+    }
+
+    private int get(Future<Integer> attempt) throws InterruptedException {
+        try {
+            return attempt.get();
+        } catch (ExecutionException e) {
+            return 0;
+        }
+    }
+
+    private static boolean contains(JsonNode array, String value) {
+        return StreamSupport.stream(array.spliterator(), false).anyMatch(node -> value.equals(node.asText()));
+    }
+
+    /**
+     * One kind of contended write
+     */
+    private interface Scenario {
+
+        String name();
+
+        /**
+         * Account the i-th contender logs in with
+         */
+        IntFunction<String> account();
+
+        /**
+         * Create the document the contenders race on and return its id, or null on failure
+         */
+        String prepare(ApiClient admin, Random random, int contenders);
+
+        void attempt(ApiClient contender, String target, int index);
+
+        /**
+         * Whether a loser may be answered with this status
+         */
+        default boolean isRefusal(int status) {
+            return status == 409;
+        }
+
+        /**
+         * Read the target back after the race; null when it is consistent
+         */
+        String verify(ApiClient admin, String target);
+    }
+
+    /**
+     * Volunteers on dispatch duty all auto-assign the same new report. Only one claim may land,
+     * and the report must then be on the chosen volunteer's case list.
+     */
+    private static final class AssignScenario implements Scenario {
+
+        @Override
+        public String name() {
+            return "assign";
+        }
+
+        @Override
+        public IntFunction<String> account() {
+            return Accounts::volunteer;
+        }
+
+        @Override
+        public String prepare(ApiClient admin, Random random, int contenders) {
+            double lat = SeedDataGenerator.MIN_LAT + random.nextDouble() * SeedDataGenerator.SPAN_DEGREES;
+            double lng = SeedDataGenerator.MIN_LNG + random.nextDouble() * SeedDataGenerator.SPAN_DEGREES;
+            JsonNode report = admin.post("POST /api/dog-reports", "/api/dog-reports", Map.of(
+                    "dogName", "Stray",
+                    "description", "Injured dog lying by the bus stop",
+                    "condition", "INJURED",
+                    "location", SeedDataGenerator.ZONES.get(random.nextInt(SeedDataGenerator.ZONES.size())),
+                    "coordinates", Map.of("type", "Point", "coordinates", new double[]{lng, lat})));
+            return report != null ? report.path("id").asText(null) : null;
+        }
+
+        @Override
+        public void attempt(ApiClient contender, String target, int index) {
+            contender.post("POST /api/dog-reports/{id}/auto-assign", "/api/dog-reports/" + target + "/auto-assign", Map.of());
+        }
+
+        @Override
+        public String verify(ApiClient admin, String target) {
+            JsonNode report = admin.get("GET /api/dog-reports/{id}", "/api/dog-reports/" + target);
+            if (report == null) {
+                return "could not read the report back";
+            }
+            String volunteerId = report.path("assignedTo").asText(null);
+            if (volunteerId == null || !"ASSIGNED".equals(report.path("status").asText())) {
+                return "report is not assigned: " + report.path("status").asText();
+            }
+            JsonNode volunteer = admin.get("GET /api/volunteers/{id}", "/api/volunteers/" + volunteerId);
+            if (volunteer == null || !contains(volunteer.path("assignedCases"), target)) {
+                return "report is not on the case list of volunteer " + volunteerId;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Admins approve competing applications for the same dog at once, each a different one.
+     * Only one may be approved; every other application must end up REJECTED and the dog
+     * ADOPTED with no pending requests. A loser that starts after the winner has already
+     * rejected its application is told it is no longer pending (400) instead of 409.
+     */
+    private static final class ApproveScenario implements Scenario {
+
+        private final Function<String, ApiClient> login;
+        private final int admins;
+        private final List<ApiClient> applicants = new ArrayList<>();
+        private List<String> requests = List.of();
+
+        ApproveScenario(Function<String, ApiClient> login, int admins) {
+            this.login = login;
+            this.admins = admins;
+        }
+
+        @Override
+        public String name() {
+            return "approve";
+        }
+
+        @Override
+        public IntFunction<String> account() {
+            return i -> Accounts.admin(i % admins);
+        }
+
+        @Override
+        public String prepare(ApiClient admin, Random random, int contenders) {
+            JsonNode dog = admin.post("POST /api/dogs", "/api/dogs", Map.of(
+                    "name", "Contended " + random.nextInt(1_000_000),
+                    "breed", "Indie",
+                    "age", 24,
+                    "gender", random.nextBoolean() ? "MALE" : "FEMALE",
+                    "size", "MEDIUM",
+                    "status", "AVAILABLE"));
+            String dogId = dog != null ? dog.path("id").asText(null) : null;
+            if (dogId == null) {
+                return null;
+            }
+
+            // One application per contender, each from a different user
+            try {
+                while (applicants.size() < contenders) {
+                    applicants.add(login.apply(Accounts.user(applicants.size())));
+                }
+            } catch (IllegalStateException e) {
+                return null;
+            }
+            List<String> filed = new ArrayList<>();
+            for (ApiClient applicant : applicants.subList(0, contenders)) {
+                JsonNode request = applicant.post("POST /api/adoption-requests", "/api/adoption-requests", Map.of(
+                        "dogId", dogId,
+                        "livingSpace", "HOUSE",
+                        "hasYard", true,
+                        "reason", "We have room and time for a dog"));
+                if (request == null) {
+                    return null;
+                }
+                filed.add(request.path("id").asText());
+            }
+            requests = filed;
+            return dogId;
+        }
+
+        @Override
+        public void attempt(ApiClient contender, String target, int index) {
+            contender.patch("PATCH /api/adoption-requests/{id}/approve",
+                    "/api/adoption-requests/" + requests.get(index) + "/approve", Map.of());
+        }
+
+        @Override
+        public boolean isRefusal(int status) {
+            return status == 409 || status == 400;
+        }
+
+        @Override
+        public String verify(ApiClient admin, String target) {
+            JsonNode applications = admin.get("GET /api/adoption-requests/dog/{dogId}", "/api/adoption-requests/dog/" + target);
+            if (applications == null) {
+                return "could not read the applications back";
+            }
+            int approved = 0;
+            int rejected = 0;
+            for (JsonNode application : applications) {
+                String status = application.path("status").asText();
+                if (status.equals("APPROVED")) {
+                    approved++;
+                } else if (status.equals("REJECTED")) {
+                    rejected++;
+                }
+            }
+            if (approved != 1 || rejected != applications.size() - 1) {
+                return String.format("%d approved and %d rejected of %d applications", approved, rejected, applications.size());
+            }
+            JsonNode dog = admin.get("GET /api/dogs/{id}", "/api/dogs/" + target);
+            if (dog == null || !"ADOPTED".equals(dog.path("status").asText()) || dog.path("pendingRequestCount").asInt() != 0) {
+                return "dog is not ADOPTED with no pending requests";
+            }
+            return null;
+        }
+    }
+}
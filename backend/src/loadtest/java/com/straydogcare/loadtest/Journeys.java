@@ -0,0 +1,143 @@
+package com.straydogcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The scripted user journeys. Each method is one pass through a journey; the runner repeats it
+ * for as long as the test lasts, so every step is a request a real user of that kind makes
+ * on every visit. Steps that depend on an earlier response are skipped when it failed.
+ */
+final class Journeys {
+
+    private Journeys() {
+    }
+
+    /**
+     * What a journey step needs: the user's session, a per-user random source and the think
+     * time pause between steps
+     */
+    record Session(ApiClient api, Random random, Runnable think) {
+    }
+
+    /**
+     * A member of the public: looks at reports nearby, files a new one, follows it up and
+     * checks their notifications
+     */
+    static void reporter(Session session) {
+        ApiClient api = session.api();
+        Random random = session.random();
+        double lat = SeedDataGenerator.MIN_LAT + random.nextDouble() * SeedDataGenerator.SPAN_DEGREES;
+        double lng = SeedDataGenerator.MIN_LNG + random.nextDouble() * SeedDataGenerator.SPAN_DEGREES;
+
+        api.get("GET /api/dog-reports/nearby/{lat}/{lng}", "/api/dog-reports/nearby/" + lat + "/" + lng + "?radius=2");
+        session.think().run();
+
+        JsonNode created = api.post("POST /api/dog-reports", "/api/dog-reports", Map.of(
+                "dogName", "Stray",
+                "description", "Limping dog near the market, seems hungry",
+                "condition", random.nextInt(4) == 0 ? "INJURED" : "HEALTHY",
+                "location", SeedDataGenerator.ZONES.get(random.nextInt(SeedDataGenerator.ZONES.size())),
+                "coordinates", Map.of("type", "Point", "coordinates", new double[]{lng, lat})));
+        session.think().run();
+
+        if (created != null) {
+            api.get("GET /api/dog-reports/{id}", "/api/dog-reports/" + created.path("id").asText());
+            session.think().run();
+        }
+
+        api.get("GET /api/notifications/unread-count", "/api/notifications/unread-count");
+        api.get("GET /api/notifications", "/api/notifications?unreadOnly=true");
+        session.think().run();
+    }
+
+    /**
+     * A volunteer on dispatch duty: checks their tasks and the triage queue, then picks a case
+     * and assigns it to the best-ranked candidate
+     */
+    static void volunteer(Session session) {
+        ApiClient api = session.api();
+        Random random = session.random();
+
+        api.get("GET /api/volunteer-tasks/my-tasks", "/api/volunteer-tasks/my-tasks?page=0&size=20");
+        session.think().run();
+
+        JsonNode triage = api.get("GET /api/dog-reports/triage", "/api/dog-reports/triage?limit=20");
+        session.think().run();
+
+        if (triage != null && triage.size() > 0) {
+            String reportId = triage.get(random.nextInt(triage.size())).path("reportId").asText();
+            JsonNode candidates = api.get("GET /api/dog-reports/{id}/candidates", "/api/dog-reports/" + reportId + "/candidates?limit=5");
+            session.think().run();
+
+            if (candidates != null && candidates.size() > 0) {
+                api.patch("PATCH /api/dog-reports/{id}/assign", "/api/dog-reports/" + reportId + "/assign",
+                        Map.of("volunteerId", candidates.get(0).path("volunteerId").asText()));
+                session.think().run();
+            }
+        }
+
+        String zone = SeedDataGenerator.ZONES.get(random.nextInt(SeedDataGenerator.ZONES.size()));
+        api.get("GET /api/dog-reports?location", "/api/dog-reports?location=" + zone.replace(" ", "%20"));
+        session.think().run();
+    }
+
+    /**
+     * An admin with the dashboard open: it polls every widget, plus the pending case list and
+     * the donation total
+     */
+    static void admin(Session session) {
+        ApiClient api = session.api();
+
+        api.get("GET /api/dashboard/stats", "/api/dashboard/stats?zone=all&timeRange=month");
+        api.get("GET /api/dashboard/activity", "/api/dashboard/activity?limit=20");
+        api.get("GET /api/dashboard/charts", "/api/dashboard/charts?months=6");
+        api.get("GET /api/dashboard/zones", "/api/dashboard/zones");
+        api.get("GET /api/dashboard/quick-stats", "/api/dashboard/quick-stats");
+        session.think().run();
+
+        api.get("GET /api/dog-reports?status", "/api/dog-reports?status=PENDING");
+        api.get("GET /api/donations/total", "/api/donations/total");
+        session.think().run();
+    }
+
+    /**
+     * A prospective adopter: searches and opens a dog, asks for recommendations, then reads
+     * the forum
+     */
+    static void adopter(Session session) {
+        ApiClient api = session.api();
+        Random random = session.random();
+
+        String size = random.nextBoolean() ? "MEDIUM" : "SMALL";
+        JsonNode search = api.get("GET /api/dogs/search", "/api/dogs/search?status=AVAILABLE&size=" + size + "&vaccinated=true&page=0&pageSize=20");
+        session.think().run();
+
+        JsonNode dogs = search != null ? search.path("results").path("content") : null;
+        if (dogs != null && dogs.size() > 0) {
+            api.get("GET /api/dogs/{id}", "/api/dogs/" + dogs.get(random.nextInt(dogs.size())).path("id").asText());
+            session.think().run();
+        }
+
+        api.post("POST /api/dogs/recommendations", "/api/dogs/recommendations?limit=10", Map.of(
+                "livingSpace", random.nextBoolean() ? "APARTMENT" : "HOUSE",
+                "hasYard", random.nextBoolean(),
+                "hasPets", random.nextBoolean(),
+                "hasChildren", random.nextBoolean(),
+                "experienceWithDogs", "Grew up with dogs"));
+        session.think().run();
+
+        JsonNode posts = api.get("GET /api/forum", "/api/forum?category=ADOPTION");
+        session.think().run();
+
+        if (posts != null && posts.size() > 0) {
+            api.get("GET /api/forum/{id}", "/api/forum/" + posts.get(random.nextInt(posts.size())).path("id").asText());
+            session.think().run();
+        }
+
+        api.get("GET /api/forum/search", "/api/forum/search?q=feeding");
+        session.think().run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.straydogcare.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per endpoint, recorded from many virtual users at once.
+ *
+ * Values are kept in microseconds in HdrHistogram recorders, so percentiles are exact to three
+ * significant digits rather than averaged, and recording never blocks the caller.
+ * Endpoints are named by their route template (GET /api/dog-reports/{id}), not the concrete
+ * URL, so every id lands in the same histogram.
+ */
+class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Drop everything recorded so far, e.g. at the end of the warm-up
+     */
+    void reset() {
+        endpoints.values().forEach(stats -> {
+            stats.recorder.reset();
+            stats.errors.reset();
+        });
+    }
+
+    /**
+     * Results since the last reset, sorted by endpoint
+     */
+    List<EndpointResult> results(double seconds) {
+        List<EndpointResult> results = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                return;
+            }
+            results.add(new EndpointResult(
+                    endpoint,
+                    count,
+                    stats.errors.sum(),
+                    Math.round(count / seconds * 10) / 10.0,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue())));
+        });
+        results.sort(Comparator.comparing(EndpointResult::endpoint));
+        return results;
+    }
+
+    static String format(List<EndpointResult> results) {
+        StringBuilder table = new StringBuilder(String.format("%-48s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "ENDPOINT", "COUNT", "ERRORS", "REQ/S", "P50 MS", "P90 MS", "P95 MS", "P99 MS", "MAX MS"));
+        for (EndpointResult result : results) {
+            table.append(String.format("%-48s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.endpoint(), result.count(), result.errors(), result.throughput(),
+                    result.p50(), result.p90(), result.p95(), result.p99(), result.max()));
+        }
+        return table.toString();
+    }
+
+    // Helper methods
+
+    private static double millis(long micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    /**
+     * One row of the report; latencies are in milliseconds
+     */
+    record EndpointResult(String endpoint, long count, long errors, double throughput,
+                          double p50, double p90, double p95, double p99, double max) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.straydogcare.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Runs the journeys against a running instance with a fixed number of virtual users each,
+ * then prints latency percentiles and throughput per endpoint and writes them as JSON.
+ *
+ * It is a closed model: every virtual user waits for each response and then thinks for a
+ * while, so the numbers describe the server at that concurrency. Requests made during the
+ * warm-up are not counted. The run fails (exit code 1) when the error rate, a --max-p95 limit
+ * or a comparison with a --baseline report is exceeded, so it can gate a change.
+ */
+class LoadRunner {
+
+    private final LoadTest.Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final LatencyStats stats = new LatencyStats();
+
+    LoadRunner(LoadTest.Options options) {
+        this.options = options;
+    }
+
+    int run() throws IOException, InterruptedException {
+        String baseUrl = options.get("base-url", "http://localhost:5000");
+        Duration warmup = options.getDuration("warmup", "15s");
+        Duration duration = options.getDuration("duration", "60s");
+        Duration think = options.getDuration("think", "1s");
+        int users = options.getInt("users", Accounts.DEFAULT_USERS);
+        int volunteers = options.getInt("volunteer-accounts", Accounts.DEFAULT_VOLUNTEERS);
+        int admins = options.getInt("admin-accounts", Accounts.DEFAULT_ADMINS);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Reporters and adopters use disjoint ends of the user accounts, so no session is shared
+        Map<String, Journey> journeys = new LinkedHashMap<>();
+        journeys.put("reporters", new Journey(Journeys::reporter, vu -> Accounts.user(vu % users)));
+        journeys.put("volunteers", new Journey(Journeys::volunteer, vu -> Accounts.volunteer(vu % volunteers)));
+        journeys.put("admins", new Journey(Journeys::admin, vu -> Accounts.admin(vu % admins)));
+        journeys.put("adopters", new Journey(Journeys::adopter, vu -> Accounts.user(users - 1 - vu % users)));
+        Map<String, Integer> defaults = Map.of("reporters", 20, "volunteers", 5, "admins", 2, "adopters", 20);
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        AtomicInteger loginFailures = new AtomicInteger();
+        List<String> summary = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            journeys.forEach((name, journey) -> {
+                int count = options.getInt(name, defaults.get(name));
+                summary.add(count + " " + name);
+                for (int vu = 0; vu < count; vu++) {
+                    int index = vu;
+                    executor.submit(() -> runVirtualUser(httpClient, baseUrl, journey, index, think, deadline, loginFailures));
+                }
+            });
+            System.out.printf("Running %s against %s: %d s warm-up, %d s measured%n",
+                    String.join(", ", summary), baseUrl, warmup.toSeconds(), duration.toSeconds());
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+            stats.reset();
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+
+        double seconds = (System.nanoTime() - measureFrom) / 1e9;
+        List<LatencyStats.EndpointResult> results = stats.results(seconds);
+        System.out.println();
+        System.out.print(LatencyStats.format(results));
+
+        writeReport(results, seconds, baseUrl, summary);
+        List<String> failures = check(results);
+        if (loginFailures.get() > 0) {
+            failures.add(loginFailures.get() + " virtual users could not log in; was the database seeded?");
+        }
+        failures.forEach(failure -> System.out.println("FAIL " + failure));
+        return failures.isEmpty() ? 0 : 1;
+    }
+
+    // Helper methods
+
+    private void runVirtualUser(HttpClient httpClient, String baseUrl, Journey journey, int vu, Duration think,
+                                long deadline, AtomicInteger loginFailures) {
+        Random random = new Random(vu * 31L + journey.account().apply(vu).hashCode());
+        ApiClient api = new ApiClient(httpClient, objectMapper, stats, baseUrl);
+        Runnable pause = () -> sleep(think.toMillis() / 2 + (long) (random.nextDouble() * think.toMillis()));
+
+        // Spread the logins, so the first requests do not all arrive together
+        sleep((long) (random.nextDouble() * think.toMillis()));
+        if (!api.login(journey.account().apply(vu))) {
+            loginFailures.incrementAndGet();
+            return;
+        }
+        Journeys.Session session = new Journeys.Session(api, random, pause);
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            journey.steps().accept(session);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeReport(List<LatencyStats.EndpointResult> results, double seconds, String baseUrl,
+                             List<String> users) throws IOException {
+        File report = new File(options.get("report", "target/loadtest/report.json"));
+        if (report.getParentFile() != null) {
+            report.getParentFile().mkdirs();
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("finishedAt", Instant.now().toString());
+        document.put("baseUrl", baseUrl);
+        document.put("virtualUsers", users);
+        document.put("measuredSeconds", Math.round(seconds));
+        document.put("results", results);
+        objectMapper.writeValue(report, document);
+        System.out.println("Report written to " + report.getPath());
+    }
+
+    private List<String> check(List<LatencyStats.EndpointResult> results) throws IOException {
+        List<String> failures = new ArrayList<>();
+
+        double maxErrorRate = Double.parseDouble(options.get("max-error-rate", "1"));
+        for (LatencyStats.EndpointResult result : results) {
+            double errorRate = 100.0 * result.errors() / result.count();
+            if (errorRate > maxErrorRate) {
+                failures.add(String.format("%s: %.1f%% errors (limit %.1f%%)", result.endpoint(), errorRate, maxErrorRate));
+            }
+        }
+
+        // --max-p95 "/api/dashboard/stats=250,/api/dog-reports?status=800" matches by path, whatever the method
+        for (String limit : options.get("max-p95", "").split(",")) {
+            if (limit.isBlank()) {
+                continue;
+            }
+            String[] parts = limit.trim().split("=");
+            double maxMillis = Double.parseDouble(parts[1]);
+            results.stream()
+                    .filter(result -> result.endpoint().endsWith(" " + parts[0]))
+                    .filter(result -> result.p95() > maxMillis)
+                    .forEach(result -> failures.add(String.format("%s: p95 %.1f ms (limit %.1f ms)", result.endpoint(), result.p95(), maxMillis)));
+        }
+
+        String baseline = options.get("baseline", null);
+        if (baseline != null) {
+            failures.addAll(compare(results, objectMapper.readTree(new File(baseline)),
+                    Double.parseDouble(options.get("tolerance", "20"))));
+        }
+        return failures;
+    }
+
+    /**
+     * p95 per endpoint against an earlier report. Differences under a millisecond are ignored,
+     * since a fast endpoint doubling from 0.4 to 0.8 ms is noise rather than a regression.
+     */
+    private List<String> compare(List<LatencyStats.EndpointResult> results, JsonNode baseline, double tolerancePercent) {
+        Map<String, Double> baselineP95 = new HashMap<>();
+        baseline.path("results").forEach(result -> baselineP95.put(result.path("endpoint").asText(), result.path("p95").asDouble()));
+
+        List<String> failures = new ArrayList<>();
+        System.out.printf("%nCompared with %s (tolerance %.0f%%)%n%-48s %12s %12s %8s%n",
+                options.get("baseline", null), tolerancePercent, "ENDPOINT", "BASE P95", "P95", "CHANGE");
+        for (LatencyStats.EndpointResult result : results) {
+            Double before = baselineP95.get(result.endpoint());
+            if (before == null) {
+                continue;
+            }
+            double change = before > 0 ? 100.0 * (result.p95() - before) / before : 0;
+            System.out.printf("%-48s %12.1f %12.1f %+7.0f%%%n", result.endpoint(), before, result.p95(), change);
+            if (change > tolerancePercent && result.p95() - before >= 1.0) {
+                failures.add(String.format("%s: p95 %.1f ms, was %.1f ms (%+.0f%%)", result.endpoint(), result.p95(), before, change));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * A journey and the account each of its virtual users logs in with
+     */
+    private record Journey(Consumer<Journeys.Session> steps, IntFunction<String> account) {
+    }
+}
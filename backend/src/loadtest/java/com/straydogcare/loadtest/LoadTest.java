@@ -0,0 +1,85 @@
+package com.straydogcare.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point for the load test suite.
+ *
+ *   seed     fills a MongoDB database with a deterministic dataset (SeedDataGenerator)
+ *   run      drives the user journeys against a running instance and reports latency per endpoint
+ *   contend  sends many identical writes to the same document at once and checks that exactly one wins
+ *
+ * Options are "--name value" pairs; see the README for the full list and defaults.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = args.length > 0 ? args[0] : "";
+        if (!(command.equals("seed") || command.equals("run") || command.equals("contend"))) {
+            System.err.println("Usage: LoadTest seed|run|contend [--option value ...]");
+            System.exit(2);
+        }
+
+        Options options = Options.parse(args);
+        int exitCode = switch (command) {
+            case "seed" -> new SeedDataGenerator(options).run();
+            case "run" -> new LoadRunner(options).run();
+            default -> new ContentionRunner(options).run();
+        };
+        System.exit(exitCode);
+    }
+
+    /**
+     * Parsed "--name value" options; a name without a value is a flag
+     */
+    record Options(Map<String, String> values) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (int i = 1; i < args.length; i++) {
+                if (!args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+                String name = args[i].substring(2);
+                boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+                values.put(name, hasValue ? args[++i] : "true");
+            }
+            return new Options(values);
+        }
+
+        String get(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+
+        int getInt(String name, int defaultValue) {
+            return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+        }
+
+        boolean getFlag(String name) {
+            return Boolean.parseBoolean(values.getOrDefault(name, "false"));
+        }
+
+        // Accepts 90s, 5m, 250ms or ISO-8601 (PT90S)
+        Duration getDuration(String name, String defaultValue) {
+            String value = get(name, defaultValue).trim().toLowerCase();
+            if (value.startsWith("pt")) {
+                return Duration.parse(value);
+            }
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            return switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> throw new IllegalArgumentException("Invalid duration for --" + name + ": " + value);
+            };
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.straydogcare.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.straydogcare.model.Adoption;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.model.Donation;
+import com.straydogcare.model.DonationTotal;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.ForumPost;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.User;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.model.VolunteerTask;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Fills a MongoDB database with a deterministic dataset for the load test.
+ *
+ * The same options always produce the same documents and ids; only the timestamps move, since
+ * they are relative to the time of seeding and the services measure against now(). Run it
+ * before starting the application, which rebuilds its in-memory indexes and the donation
+ * ledger from this data at startup.
+ */
+public class SeedDataGenerator {
+
+    static final String DEFAULT_MONGO_URI = "mongodb://localhost:27017/straydog_loadtest";
+
+    private static final long SEED = 42L;
+    private static final int BATCH_SIZE = 5000;
+
+    // Roughly a 100 km square around Bangalore, so dispatch searches find a realistic number of volunteers
+    static final double MIN_LAT = 12.5;
+    static final double MIN_LNG = 77.2;
+    static final double SPAN_DEGREES = 0.9;
+
+    static final List<String> ZONES = List.of(
+            "Koramangala", "Indiranagar", "Whitefield", "Jayanagar", "Malleshwaram", "Hebbal",
+            "Yelahanka", "Electronic City", "Banashankari", "Marathahalli", "Rajajinagar", "BTM Layout");
+
+    private static final String[] NAMES = {"Bruno", "Sheru", "Moti", "Rani", "Tiger", "Kalu", "Lucky", "Brownie"};
+    private static final String[] BREEDS = {"Indie", "Labrador Mix", "Beagle Mix", "German Shepherd Mix", "Pariah"};
+    private static final String[] SIZES = {"SMALL", "MEDIUM", "LARGE"};
+    private static final String[] AVAILABILITY = {"Weekdays", "Weekends", "Anytime"};
+    private static final String[] PURPOSES = {"General", "Medical", "Food", "Shelter"};
+
+    private final LoadTest.Options options;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    SeedDataGenerator(LoadTest.Options options) {
+        this.options = options;
+    }
+
+    int run() {
+        ConnectionString connection = new ConnectionString(options.get("mongo-uri", DEFAULT_MONGO_URI));
+        String database = connection.getDatabase() != null ? connection.getDatabase() : "straydog_loadtest";
+
+        try (MongoClient client = MongoClients.create(connection)) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, database);
+            List<Class<?>> seeded = List.of(User.class, Volunteer.class, VolunteerTask.class, DogReport.class,
+                    Notification.class, ForumPost.class, Donation.class, DonationTotal.class, Adoption.class, AdoptionDog.class);
+
+            if (options.getFlag("drop")) {
+                seeded.forEach(mongoTemplate::dropCollection);
+            } else {
+                for (Class<?> entity : seeded) {
+                    if (mongoTemplate.collectionExists(entity) && mongoTemplate.getCollection(mongoTemplate.getCollectionName(entity)).countDocuments() > 0) {
+                        System.err.println("Collection " + mongoTemplate.getCollectionName(entity) + " in " + database
+                                + " is not empty; pass --drop to replace the dataset");
+                        return 1;
+                    }
+                }
+            }
+
+            int users = options.getInt("users", Accounts.DEFAULT_USERS);
+            int volunteers = options.getInt("volunteers", Accounts.DEFAULT_VOLUNTEERS);
+            int admins = options.getInt("admins", Accounts.DEFAULT_ADMINS);
+            int reports = options.getInt("reports", 100_000);
+
+            long start = System.nanoTime();
+            // One hash for every account: BCrypt is deliberately slow, and all accounts share the password
+            String password = new BCryptPasswordEncoder().encode(Accounts.PASSWORD);
+            insert(mongoTemplate, User.class, users, i -> user(Accounts.user(i), User.Role.USER, password, i));
+            insert(mongoTemplate, User.class, volunteers, i -> user(Accounts.volunteer(i), User.Role.VOLUNTEER, password, users + i));
+            insert(mongoTemplate, User.class, admins, i -> user(Accounts.admin(i), User.Role.ADMIN, password, users + volunteers + i));
+
+            Random random = new Random(SEED);
+            insert(mongoTemplate, Volunteer.class, volunteers, i -> volunteer(random, i, users + i));
+            insert(mongoTemplate, VolunteerTask.class, volunteers * 5, i -> volunteerTask(random, i, volunteers));
+            insert(mongoTemplate, DogReport.class, reports, i -> dogReport(random, i, users, volunteers));
+            insert(mongoTemplate, Notification.class, options.getInt("notifications", 200_000), i -> notification(random, i, users));
+            insert(mongoTemplate, ForumPost.class, options.getInt("forum-posts", 1000),
+                    i -> forumPost(random, i, users, options.getInt("max-comments", 500)));
+            insert(mongoTemplate, Donation.class, options.getInt("donations", 50_000), i -> donation(random, i, users));
+            insert(mongoTemplate, Adoption.class, reports / 20, i -> adoption(random, i, users, reports));
+            insert(mongoTemplate, AdoptionDog.class, options.getInt("dogs", 2000), i -> adoptionDog(random, i, admins, users + volunteers));
+
+            System.out.printf("Seeded %s in %d s%n", database, (System.nanoTime() - start) / 1_000_000_000);
+            return 0;
+        }
+    }
+
+    // Helper methods
+
+    private <T> void insert(MongoTemplate mongoTemplate, Class<T> entity, int count, IntFunction<T> factory) {
+        List<T> batch = new ArrayList<>(Math.min(count, BATCH_SIZE));
+        for (int i = 0; i < count; i++) {
+            batch.add(factory.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, entity);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, entity);
+        }
+        System.out.printf("  %-20s %,10d%n", mongoTemplate.getCollectionName(entity), count);
+    }
+
+    // Deterministic ObjectId-shaped ids, so a repeated seed produces identical documents
+    static String id(int collection, long index) {
+        return String.format("%08x%016x", collection, index);
+    }
+
+    private User user(String email, User.Role role, String password, int index) {
+        User user = new User();
+        user.setId(id(1, index));
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword(password);
+        user.setContact("+91 98450 " + String.format("%05d", index % 100_000));
+        user.setRole(role);
+        user.setCreatedAt(now.minusDays(index % 730));
+        user.setUpdatedAt(user.getCreatedAt());
+        return user;
+    }
+
+    private Volunteer volunteer(Random random, int index, int userIndex) {
+        Volunteer.Role[] roles = Volunteer.Role.values();
+        Volunteer volunteer = new Volunteer();
+        volunteer.setId(id(2, index));
+        volunteer.setUserId(id(1, userIndex));
+        volunteer.setName("volunteer" + index);
+        volunteer.setEmail(Accounts.volunteer(index));
+        volunteer.setArea(ZONES.get(random.nextInt(ZONES.size())));
+        volunteer.setCoordinates(point(random));
+        volunteer.setRole(roles[random.nextInt(roles.length)]);
+        // Most volunteers are active; the rest exercise the status filters
+        volunteer.setStatus(random.nextInt(5) == 0 ? Volunteer.Status.INACTIVE : Volunteer.Status.ACTIVE);
+        volunteer.setAvailability(AVAILABILITY[random.nextInt(AVAILABILITY.length)]);
+        volunteer.setCompletedCases(random.nextInt(50));
+        volunteer.setCreatedAt(now.minusDays(random.nextInt(730)));
+        volunteer.setUpdatedAt(volunteer.getCreatedAt());
+        return volunteer;
+    }
+
+    private VolunteerTask volunteerTask(Random random, int index, int volunteers) {
+        VolunteerTask.Priority[] priorities = VolunteerTask.Priority.values();
+        VolunteerTask.Status[] statuses = VolunteerTask.Status.values();
+        VolunteerTask task = new VolunteerTask();
+        task.setId(id(3, index));
+        task.setVolunteerId(id(2, index % volunteers));
+        task.setVolunteerName("volunteer" + (index % volunteers));
+        task.setTitle("Feeding round " + index);
+        task.setDescription("Evening feeding and water refill at the usual spots");
+        task.setPriority(priorities[random.nextInt(priorities.length)]);
+        task.setStatus(statuses[random.nextInt(statuses.length)]);
+        task.setDueDate(now.toLocalDate().plusDays(random.nextInt(60) - 30));
+        task.setAssignedDate(now.minusDays(random.nextInt(30)));
+        task.setCreatedAt(task.getAssignedDate());
+        task.setUpdatedAt(task.getAssignedDate());
+        return task;
+    }
+
+    private DogReport dogReport(Random random, int index, int users, int volunteers) {
+        DogReport.Condition[] conditions = DogReport.Condition.values();
+        DogReport.Status[] statuses = DogReport.Status.values();
+        DogReport report = new DogReport();
+        report.setId(id(4, index));
+        report.setDogName(NAMES[random.nextInt(NAMES.length)]);
+        report.setDescription("Brown stray near the bus stop, limping on the left hind leg. Friendly but scared of traffic.");
+        report.setCondition(conditions[random.nextInt(conditions.length)]);
+        report.setStatus(statuses[random.nextInt(statuses.length)]);
+        report.setPriority(1 + random.nextInt(5));
+        report.setLocation(ZONES.get(random.nextInt(ZONES.size())));
+        report.setCoordinates(point(random));
+        // Reports are keyed by the reporter's login, which is what the controller stores
+        int reporter = random.nextInt(users);
+        report.setReportedBy(Accounts.user(reporter));
+        report.setReporterName("user" + reporter);
+        report.setReporterContact("+91 98450 " + String.format("%05d", reporter % 100_000));
+        report.setPhotoUrl("/uploads/report-" + index + ".jpg");
+        report.setTags(List.of("stray", report.getLocation().toLowerCase()));
+        if (report.getStatus() != DogReport.Status.PENDING) {
+            int volunteer = random.nextInt(volunteers);
+            report.setAssignedTo(id(2, volunteer));
+            report.setAssignedVolunteerName("volunteer" + volunteer);
+        }
+        if (random.nextInt(3) == 0) {
+            report.setNotes(new ArrayList<>(List.of(
+                    new DogReport.Note("Fed and given water", Accounts.volunteer(random.nextInt(volunteers)), now.minusHours(random.nextInt(48))))));
+        }
+        report.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+        report.setUpdatedAt(report.getCreatedAt());
+        return report;
+    }
+
+    private Notification notification(Random random, int index, int users) {
+        Notification.Type[] types = Notification.Type.values();
+        Notification notification = new Notification();
+        notification.setId(id(5, index));
+        // Skewed so that a few inboxes are very long: the low account numbers get most of them.
+        // Keyed by login, which is what the notification endpoints look up.
+        int user = (int) (users * Math.pow(random.nextDouble(), 3));
+        notification.setUserId(Accounts.user(user));
+        notification.setTitle("Case update");
+        notification.setMessage("The dog you reported has been picked up by a volunteer");
+        notification.setType(types[random.nextInt(types.length)]);
+        notification.setRelatedEntityType("DOG_REPORT");
+        notification.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 60)));
+        if (random.nextInt(10) < 7) {
+            notification.setRead(true);
+            notification.setReadAt(notification.getCreatedAt().plusHours(1 + random.nextInt(48)));
+        }
+        return notification;
+    }
+
+    private ForumPost forumPost(Random random, int index, int users, int maxComments) {
+        ForumPost.Category[] categories = ForumPost.Category.values();
+        ForumPost post = new ForumPost();
+        post.setId(id(6, index));
+        post.setTitle("Street dog feeding schedule in " + ZONES.get(index % ZONES.size()) + " #" + index);
+        post.setContent("Looking for volunteers to share the evening feeding round. We also need help with vaccination drives.");
+        post.setCategory(categories[random.nextInt(categories.length)]);
+        int author = random.nextInt(users);
+        post.setAuthorId(id(1, author));
+        post.setAuthorName("user" + author);
+        post.setTags(List.of("feeding", ZONES.get(index % ZONES.size()).toLowerCase()));
+        post.setLikes(random.nextInt(200));
+        post.setViews(random.nextInt(5000));
+        post.setPinned(index < 5);
+        post.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+        post.setUpdatedAt(post.getCreatedAt());
+
+        // Most threads are short; every 50th one carries the long comment list
+        int comments = index % 50 == 0 ? maxComments : random.nextInt(20);
+        List<ForumPost.Comment> thread = new ArrayList<>(comments);
+        for (int c = 0; c < comments; c++) {
+            int commenter = random.nextInt(users);
+            thread.add(new ForumPost.Comment(id(7, (long) index * 100_000 + c), "Happy to help on weekends, count me in.",
+                    id(1, commenter), "user" + commenter, post.getCreatedAt().plusMinutes(c * 7L), random.nextInt(10)));
+        }
+        post.setComments(thread);
+        return post;
+    }
+
+    private Donation donation(Random random, int index, int users) {
+        Donation.PaymentMethod[] methods = Donation.PaymentMethod.values();
+        Donation donation = new Donation();
+        donation.setId(id(8, index));
+        int donor = random.nextInt(users);
+        donation.setDonorId(id(1, donor));
+        donation.setDonorName("user" + donor);
+        donation.setDonorEmail(Accounts.user(donor));
+        donation.setAmount((double) (100 + random.nextInt(50) * 100));
+        donation.setPaymentMethod(methods[random.nextInt(methods.length)]);
+        donation.setTransactionId("TXN" + index);
+        donation.setPurpose(PURPOSES[random.nextInt(PURPOSES.length)]);
+        donation.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+        if (random.nextInt(5) != 0) {
+            donation.setStatus(Donation.Status.COMPLETED);
+            donation.setCompletedAt(donation.getCreatedAt().plusMinutes(2));
+            // Already receipted, so the receipt worker does not start emailing seeded donors
+            donation.setTaxReceiptSent(true);
+            donation.setReceiptStatus(Donation.ReceiptStatus.SKIPPED);
+        }
+        return donation;
+    }
+
+    private Adoption adoption(Random random, int index, int users, int reports) {
+        Adoption.Status[] statuses = Adoption.Status.values();
+        Adoption adoption = new Adoption();
+        adoption.setId(id(9, index));
+        adoption.setDogReportId(id(4, random.nextInt(reports)));
+        adoption.setDogName(NAMES[random.nextInt(NAMES.length)]);
+        int adopter = random.nextInt(users);
+        adoption.setAdopterId(id(1, adopter));
+        adoption.setAdopterName("user" + adopter);
+        adoption.setAdopterEmail(Accounts.user(adopter));
+        adoption.setStatus(statuses[random.nextInt(statuses.length)]);
+        adoption.setCreatedAt(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+        adoption.setApplicationDate(adoption.getCreatedAt());
+        return adoption;
+    }
+
+    private AdoptionDog adoptionDog(Random random, int index, int admins, int adminUserOffset) {
+        AdoptionDog dog = new AdoptionDog();
+        dog.setId(id(10, index));
+        dog.setName(NAMES[random.nextInt(NAMES.length)] + " " + index);
+        dog.setBreed(BREEDS[random.nextInt(BREEDS.length)]);
+        dog.setAge(2 + random.nextInt(120));
+        dog.setGender(random.nextBoolean() ? "MALE" : "FEMALE");
+        dog.setSize(SIZES[random.nextInt(SIZES.length)]);
+        dog.setDescription("Gentle and house-trained, loves long walks");
+        dog.setPhotos(List.of("/uploads/dog-" + index + ".jpg"));
+        dog.setHealthStatus("Healthy");
+        dog.setVaccinated(random.nextInt(4) != 0);
+        dog.setNeutered(random.nextBoolean());
+        dog.setTemperament(random.nextBoolean() ? "Calm" : "Playful");
+        dog.setGoodWithKids(random.nextBoolean());
+        dog.setGoodWithPets(random.nextBoolean());
+        // Mostly available, so search and recommendations have something to rank
+        int status = random.nextInt(10);
+        dog.setStatus(status < 7 ? "AVAILABLE" : status < 9 ? "PENDING" : "ADOPTED");
+        dog.setAddedBy(id(1, adminUserOffset + random.nextInt(admins)));
+        dog.setAddedDate(now.minusDays(random.nextInt(365)));
+        dog.setUpdatedDate(dog.getAddedDate());
+        return dog;
+    }
+
+    private GeoJsonPoint point(Random random) {
+        return new GeoJsonPoint(MIN_LNG + random.nextDouble() * SPAN_DEGREES, MIN_LAT + random.nextDouble() * SPAN_DEGREES);
+    }
+}
@@ -0,0 +1,188 @@
+package com.straydogcare.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the local caches of several nodes consistent by sending every eviction to the others.
+ *
+ * Evictions and clears go to the local cache first and are then published on the
+ * CacheInvalidationBus; invalidations from other nodes are applied to the local caches
+ * directly, so they are not sent on again. Every invalidation the bus delivers, this node's
+ * own included, is then published as an application event, once this node's caches no
+ * longer hold the entry.
+ *
+ * Puts are not sent: a put only fills this node's cache, so writes that change an entity
+ * must evict it instead of using @CachePut. Keys are sent as strings; an eviction with any
+ * other kind of key clears the whole cache on the other nodes.
+ */
+@Slf4j
+public class BroadcastingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheInvalidationBus bus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, BroadcastingCache> caches = new ConcurrentHashMap<>();
+
+    public BroadcastingCacheManager(CacheManager delegate, CacheInvalidationBus bus, ApplicationEventPublisher eventPublisher) {
+        this.delegate = delegate;
+        this.bus = bus;
+        this.eventPublisher = eventPublisher;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        BroadcastingCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        return target != null ? caches.computeIfAbsent(name, key -> new BroadcastingCache(target)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Helper methods
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.cache() != null && delegate.getCache(invalidation.cache()) == null) {
+            log.debug("Ignoring invalidation for unknown cache {}", invalidation.cache());
+            return;
+        }
+        // Our own evictions were applied before they were published
+        if (!nodeId.equals(invalidation.origin())) {
+            if (invalidation.cache() == null) {
+                delegate.getCacheNames().forEach(name -> clearLocally(delegate.getCache(name)));
+            } else if (invalidation.key() == null) {
+                clearLocally(delegate.getCache(invalidation.cache()));
+            } else {
+                delegate.getCache(invalidation.cache()).evict(invalidation.key());
+            }
+            log.debug("Applied cache invalidation {}", invalidation);
+        }
+        eventPublisher.publishEvent(invalidation);
+    }
+
+    private void clearLocally(Cache cache) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void publish(String cache, Object key) {
+        bus.publish(new CacheInvalidation(nodeId, cache, key instanceof String string ? string : null));
+    }
+
+    /**
+     * A cache of the delegate manager that publishes its evictions
+     */
+    public class BroadcastingCache implements Cache {
+
+        private final Cache target;
+
+        BroadcastingCache(Cache target) {
+            this.target = target;
+        }
+
+        public Cache getTarget() {
+            return target;
+        }
+
+        @Override
+        public String getName() {
+            return target.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return target.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return target.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return target.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return target.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            target.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return target.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            target.evict(key);
+            publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean present = target.evictIfPresent(key);
+            // Other nodes may hold the entry even when this one does not
+            publish(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            target.clear();
+            publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = target.invalidate();
+            publish(getName(), null);
+            return present;
+        }
+    }
+
+    /**
+     * Binds the Caffeine statistics of the wrapped caches, which Actuator would otherwise skip
+     */
+    public static class MeterBinderProvider implements CacheMeterBinderProvider<BroadcastingCache> {
+
+        private final CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+
+        @Override
+        public MeterBinder getMeterBinder(BroadcastingCache cache, Iterable<Tag> tags) {
+            return cache.getTarget() instanceof CaffeineCache caffeineCache ? caffeine.getMeterBinder(caffeineCache, tags) : null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.straydogcare.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.straydogcare.repository.AdoptionDogRepository;
+import com.straydogcare.repository.ForumPostRepository;
+import com.straydogcare.repository.VolunteerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caffeine caches for read-mostly entities, one per cache name below.
+ *
+ * Each cache is configured with a Caffeine spec under application.cache (maximumSize,
+ * expireAfterWrite, expireAfterAccess, refreshAfterWrite, ...). A cache with refreshAfterWrite
+ * reloads stale entries in the background with the loader registered here, so readers keep
+ * getting the old value instead of waiting on Mongo; caches without a loader cannot use it.
+ * Statistics are recorded for every cache and published by Actuator as cache.gets, cache.puts,
+ * cache.evictions and cache.size. Only the names declared here exist, so a typo in a cache
+ * annotation fails instead of silently creating an unconfigured cache.
+ *
+ * With more than one instance, each node has its own caches, so the Caffeine manager is
+ * wrapped in a BroadcastingCacheManager that sends every eviction to the other nodes over the
+ * CacheInvalidationBus selected by application.cache.invalidation.transport: "mongo" tails a
+ * capped collection in the shared database, "memory" only reaches the caches of this JVM.
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+@RequiredArgsConstructor
+public class CacheConfiguration {
+
+    public static final String ADOPTION_DOGS = "adoptionDogs"; // AdoptionDog by id
+    public static final String DOG_CATALOG = "dogCatalog"; // Dog lists by status, or "all"
+    public static final String PINNED_POSTS = "pinnedPosts"; // The pinned forum posts
+    public static final String VOLUNTEERS = "volunteers"; // Volunteer by id
+    public static final String USERS = "users"; // UserResponse by email
+    public static final String VOLUNTEER_IDS = "volunteerIdsByPrincipal"; // Volunteer id by login email
+
+    public static final String ALL_DOGS = "all";
+
+    // The collection each cache is filled from, so an eviction can be traced to the data that changed
+    public static final Map<String, String> COLLECTIONS = Map.of(
+            ADOPTION_DOGS, "adoption_dogs",
+            DOG_CATALOG, "adoption_dogs",
+            PINNED_POSTS, "forum_posts",
+            VOLUNTEERS, "volunteers",
+            USERS, "users",
+            VOLUNTEER_IDS, "volunteers"
+    );
+
+    private final AdoptionDogRepository adoptionDogRepository;
+    private final ForumPostRepository forumPostRepository;
+    private final VolunteerRepository volunteerRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${application.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.cache.adoption-dogs:maximumSize=5000,expireAfterWrite=30m,refreshAfterWrite=5m}")
+    private String adoptionDogsSpec;
+
+    @Value("${application.cache.dog-catalog:maximumSize=20,expireAfterWrite=10m,refreshAfterWrite=1m}")
+    private String dogCatalogSpec;
+
+    @Value("${application.cache.pinned-posts:maximumSize=1,expireAfterWrite=10m,refreshAfterWrite=1m}")
+    private String pinnedPostsSpec;
+
+    @Value("${application.cache.volunteers:maximumSize=10000,expireAfterWrite=30m,refreshAfterWrite=5m}")
+    private String volunteersSpec;
+
+    @Value("${application.cache.users:maximumSize=10000,expireAfterWrite=5m}")
+    private String usersSpec;
+
+    @Value("${application.cache.volunteer-ids:maximumSize=10000,expireAfterAccess=12h}")
+    private String volunteerIdsSpec;
+
+    @Value("${application.cache.invalidation.transport:mongo}")
+    private String invalidationTransport;
+
+    @Value("${application.cache.invalidation.capped-size-bytes:1048576}")
+    private long invalidationCappedSizeBytes;
+
+    @Value("${application.cache.invalidation.max-documents:10000}")
+    private long invalidationMaxDocuments;
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus() {
+        return switch (invalidationTransport) {
+            case "mongo" -> new MongoCacheInvalidationBus(mongoTemplate, meterRegistry,
+                    invalidationCappedSizeBytes, invalidationMaxDocuments);
+            case "memory" -> new InMemoryCacheInvalidationBus();
+            default -> throw new IllegalStateException("Unknown cache invalidation transport: " + invalidationTransport);
+        };
+    }
+
+    @Bean
+    public BroadcastingCacheManager.MeterBinderProvider broadcastingCacheMeterBinderProvider() {
+        return new BroadcastingCacheManager.MeterBinderProvider();
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheInvalidationBus cacheInvalidationBus) {
+        if (!enabled) {
+            log.info("Caching disabled (application.cache.enabled=false); every read goes to MongoDB");
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of()); // no caches beyond the ones registered below
+        cacheManager.setAllowNullValues(false);
+
+        register(cacheManager, ADOPTION_DOGS, adoptionDogsSpec,
+                id -> adoptionDogRepository.findById((String) id).orElse(null));
+        register(cacheManager, DOG_CATALOG, dogCatalogSpec,
+                status -> ALL_DOGS.equals(status)
+                        ? adoptionDogRepository.findAll()
+                        : adoptionDogRepository.findByStatus((String) status));
+        register(cacheManager, PINNED_POSTS, pinnedPostsSpec,
+                key -> forumPostRepository.findByPinnedTrue());
+        register(cacheManager, VOLUNTEERS, volunteersSpec,
+                id -> volunteerRepository.findById((String) id).orElse(null));
+        register(cacheManager, USERS, usersSpec, null);
+        register(cacheManager, VOLUNTEER_IDS, volunteerIdsSpec, null);
+        log.info("Cache invalidations sent over the {} transport", invalidationTransport);
+        return new BroadcastingCacheManager(cacheManager, cacheInvalidationBus, eventPublisher);
+    }
+
+    // Helper methods
+
+    private void register(CaffeineCacheManager cacheManager, String name, String spec, CacheLoader<Object, Object> loader) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+        Cache<Object, Object> cache;
+        try {
+            // A loader returning null on refresh removes the entry, e.g. once the entity is deleted
+            cache = loader != null ? builder.build(loader) : builder.build();
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("Cache " + name + " has no loader, so its spec cannot use refreshAfterWrite: " + spec, e);
+        }
+        cacheManager.registerCustomCache(name, cache);
+        log.debug("Cache {}: {}", name, spec);
+    }
+}
@@ -0,0 +1,15 @@
+package com.straydogcare.config;
+
+/**
+ * One eviction, sent over the CacheInvalidationBus to every node. A null key clears the whole
+ * cache and a null cache clears every cache, e.g. after a node missed part of the stream.
+ *
+ * Once applied to the local caches, every invalidation is also published as an application
+ * event, for state that is derived from a cached entity rather than stored in the cache.
+ */
+public record CacheInvalidation(String origin, String cache, String key) {
+
+    public static CacheInvalidation everything(String origin) {
+        return new CacheInvalidation(origin, null, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.straydogcare.config;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache evictions between the nodes of a deployment. Every subscriber receives every
+ * invalidation, including the ones its own node published; filtering by origin is up to the
+ * subscriber.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,222 @@
+package com.straydogcare.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoException;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A version counter per collection, shared by all nodes through the collection_versions
+ * collection, that changes whenever the collection is written. Conditional GETs use it as
+ * their ETag (see ConditionalGetInterceptor), so checking whether a client's copy is still
+ * current costs one lookup by _id instead of the query behind the response.
+ *
+ * Registered as a driver CommandListener, it notices every successful insert, update,
+ * delete and findAndModify the application sends, and increments the counters on a
+ * background thread, several writes at a time. A collection written since its counter was
+ * last incremented has no version until the increment lands, so no client is told its copy
+ * is current in between. Cached data is read from memory rather than from the collection, so
+ * counters are incremented again once a cache eviction has been applied on a node; a response
+ * built from a cache entry that was stale at the time then gets a version that is already
+ * outdated. Writes made outside the application, e.g. from the mongo shell, are not counted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CollectionVersions implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    static final String COLLECTION = "collection_versions";
+    private static final Set<String> WRITE_COMMANDS = Set.of("insert", "update", "delete", "findAndModify");
+    private static final Set<String> UNVERSIONED = Set.of(COLLECTION, MongoCacheInvalidationBus.COLLECTION);
+    private static final long RETRY_DELAY_MS = 1000;
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Value("${application.conditional-get.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Integer, String> pending = new ConcurrentHashMap<>();
+    // Collections written since their counter was last incremented, with the number of writes
+    private final Map<String, Long> changed = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final ScheduledThreadPoolExecutor flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "collection-versions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        if (enabled) {
+            builder.addCommandListener(this);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!WRITE_COMMANDS.contains(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        if (command.isString(commandName)) {
+            String collection = command.getString(commandName).getValue();
+            if (!UNVERSIONED.contains(collection)) {
+                pending.put(event.getRequestId(), collection);
+            }
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = pending.remove(event.getRequestId());
+        if (collection != null) {
+            markChanged(collection);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        // A failed write may still have changed some documents, e.g. part of an unordered insert
+        String collection = pending.remove(event.getRequestId());
+        if (collection != null) {
+            markChanged(collection);
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE) // After listeners that re-sync state derived from the cached data
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        if (invalidation.cache() == null) {
+            new HashSet<>(CacheConfiguration.COLLECTIONS.values()).forEach(this::markChanged);
+        } else if (CacheConfiguration.COLLECTIONS.containsKey(invalidation.cache())) {
+            markChanged(CacheConfiguration.COLLECTIONS.get(invalidation.cache()));
+        }
+    }
+
+    /**
+     * The combined version of the given collections, or null while it is not known, i.e. a
+     * write to one of them is not counted yet or it has never been written by the application
+     */
+    public String versionOf(Collection<String> collections) {
+        Set<String> names = new TreeSet<>(collections);
+        if (names.stream().anyMatch(changed::containsKey)) {
+            return null;
+        }
+        List<Document> versions;
+        try {
+            versions = mongoTemplate.getObject().getCollection(COLLECTION)
+                    .find(Filters.in("_id", names))
+                    .into(new ArrayList<>());
+        } catch (MongoException e) {
+            log.debug("Could not read collection versions: {}", e.getMessage());
+            return null;
+        }
+        if (versions.size() < names.size()) {
+            // Counting from now on; data loaded without the application has no version yet
+            versions.forEach(version -> names.remove(version.getString("_id")));
+            names.forEach(this::markChanged);
+            return null;
+        }
+        StringBuilder version = new StringBuilder();
+        versions.stream()
+                .sorted((a, b) -> a.getString("_id").compareTo(b.getString("_id")))
+                .forEach(document -> version.append(document.getString("_id")).append(':')
+                        .append(document.getString("epoch")).append(':')
+                        .append(document.get("version", Number.class).longValue()).append(';'));
+        return version.toString();
+    }
+
+    // Helper methods
+
+    private void markChanged(String collection) {
+        changed.merge(collection, 1L, Long::sum);
+        scheduleFlush(0);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                flusher.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false); // Shutting down
+            }
+        }
+    }
+
+    private void flush() {
+        long retryDelay = 0;
+        try {
+            while (!changed.isEmpty()) {
+                Map<String, Long> snapshot = Map.copyOf(changed);
+                // A new epoch when the counter is created, so versions from a dropped collection never match again
+                List<UpdateOneModel<Document>> increments = snapshot.keySet().stream()
+                        .map(collection -> new UpdateOneModel<Document>(
+                                Filters.eq("_id", collection),
+                                Updates.combine(
+                                        Updates.inc("version", 1L),
+                                        Updates.setOnInsert("epoch", new ObjectId().toHexString())),
+                                new UpdateOptions().upsert(true)))
+                        .toList();
+                mongoTemplate.getObject().getCollection(COLLECTION)
+                        .bulkWrite(increments, new BulkWriteOptions().ordered(false));
+                // Keep collections whose count grew meanwhile; those writes may have landed after the increment
+                snapshot.forEach(changed::remove);
+            }
+        } catch (MongoException e) {
+            log.warn("Could not increment collection versions for {}: {}", changed.keySet(), e.getMessage());
+            retryDelay = RETRY_DELAY_MS;
+        } catch (RuntimeException e) {
+            log.error("Error while incrementing collection versions", e);
+            retryDelay = RETRY_DELAY_MS;
+        } finally {
+            flushScheduled.set(false);
+        }
+        if (!changed.isEmpty()) {
+            scheduleFlush(retryDelay);
+        }
+    }
+}
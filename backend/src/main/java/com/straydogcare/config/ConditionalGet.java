@@ -0,0 +1,35 @@
+package com.straydogcare.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose response only changes when one of the given collections is
+ * written. Such responses carry an ETag built from the collections' versions, and a request
+ * whose If-None-Match still matches is answered with 304 before the controller runs. Only use
+ * it on endpoints without side effects, since those are skipped for a 304.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * The collections the response is read from
+     */
+    String[] value();
+
+    /**
+     * Seconds a client may reuse the response without asking again; 0 means revalidate every time
+     */
+    int maxAge() default 0;
+
+    /**
+     * For responses that also depend on the clock ("5 min ago", "this week"): seconds after which
+     * the ETag changes even without a write; 0 if the response only depends on the data
+     */
+    int varyEvery() default 0;
+}
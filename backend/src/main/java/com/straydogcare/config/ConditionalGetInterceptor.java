@@ -0,0 +1,135 @@
+package com.straydogcare.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HexFormat;
+
+/**
+ * Answers conditional GETs on @ConditionalGet endpoints before the controller runs.
+ *
+ * The ETag is a hash of the versions of the endpoint's collections (see CollectionVersions),
+ * the user it is for and, for clock-dependent responses, the current time slot. When the
+ * request's If-None-Match holds it, the response is a bodiless 304; otherwise the request
+ * goes on as usual and ConditionalGetAdvice adds the ETag to a successful response. The
+ * responses are per user, so they are marked private for shared caches.
+ *
+ * A gzipped response is a different representation, so it cannot share a strong ETag with the
+ * plain one, and Tomcat does not compress responses that carry one. Clients that accept gzip
+ * therefore get the weak form of the ETag, which If-None-Match matches all the same.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+    static final String CACHE_CONTROL_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".cacheControl";
+
+    private final CollectionVersions collectionVersions;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.conditional-get.enabled:true}")
+    private boolean enabled;
+
+    @Value("${server.compression.enabled:false}")
+    private boolean compression;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod method)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditionalGet = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        String version = collectionVersions.versionOf(Arrays.asList(conditionalGet.value()));
+        if (version == null) {
+            count("unversioned");
+            return true;
+        }
+        String etag = etagFor(version, request.getUserPrincipal(), conditionalGet.varyEvery());
+        if (compression && acceptsGzip(request)) {
+            etag = "W/" + etag;
+        }
+        String cacheControl = conditionalGet.maxAge() > 0
+                ? "private, max-age=" + conditionalGet.maxAge()
+                : "private, no-cache";
+
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            count("not_modified");
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        request.setAttribute(CACHE_CONTROL_ATTRIBUTE, cacheControl);
+        count("modified");
+        return true;
+    }
+
+    // Helper methods
+
+    private String etagFor(String version, Principal principal, int varyEvery) {
+        StringBuilder input = new StringBuilder(version)
+                .append('|').append(principal != null ? principal.getName() : "");
+        if (varyEvery > 0) {
+            input.append('|').append(System.currentTimeMillis() / 1000 / varyEvery);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.toString().getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, so W/"x" matches "x"
+     */
+    private static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String header : Collections.list(ifNoneMatch)) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("straydogcare.http.conditional.get", "result", result).increment();
+    }
+}
@@ -1,5 +1,6 @@
 package com.straydogcare.config;
 
+import com.straydogcare.model.DogReport;
 import com.straydogcare.model.User;
 import com.straydogcare.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +8,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -16,6 +21,7 @@ public class DataInitializer {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MongoTemplate mongoTemplate;
     
     @Bean
     CommandLineRunner initDatabase() {
@@ -65,4 +71,20 @@ public class DataInitializer {
             log.info("Database initialization completed!");
         };
     }
+    
+    @Bean
+    CommandLineRunner backfillDocumentVersions() {
+        return args -> {
+            // Documents written before @Version existed would otherwise be treated as new on save
+            long updated = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    DogReport.class
+            ).getModifiedCount();
+            
+            if (updated > 0) {
+                log.info("Initialized version on {} dog reports", updated);
+            }
+        };
+    }
 }
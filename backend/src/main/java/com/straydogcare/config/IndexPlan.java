@@ -0,0 +1,208 @@
+package com.straydogcare.config;
+
+import com.straydogcare.model.Adoption;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.model.AdoptionRequest;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Donation;
+import com.straydogcare.model.DonationTotal;
+import com.straydogcare.model.ForumPost;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.User;
+import com.straydogcare.model.Vaccination;
+import com.straydogcare.model.VaccinationDue;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.model.VolunteerTask;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeospatialIndex;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Every index the application relies on, in one place.
+ *
+ * Each entry names the repository finder or service query it serves. IndexPlanVerifier
+ * applies the plan at startup and reports drift against the live indexes, so this is the
+ * single source of truth (auto-index-creation from annotations is off).
+ */
+@Component
+public class IndexPlan {
+
+    @Value("${application.indexes.notification-ttl-days:90}")
+    private int notificationTtlDays;
+
+    public record PlannedIndex(Class<?> entity, IndexDefinition definition, String servedQueries) {
+
+        public String name() {
+            return definition.getIndexOptions().getString("name");
+        }
+    }
+
+    public List<PlannedIndex> indexes() {
+        List<PlannedIndex> plan = new ArrayList<>();
+
+        // users
+        plan.add(new PlannedIndex(User.class, asc("email").unique().named("email"),
+                "UserRepository.findByEmail, existsByEmail; login and every authenticated request"));
+
+        // volunteers
+        plan.add(new PlannedIndex(Volunteer.class, asc("userId").named("userId"), "VolunteerRepository.findByUserId"));
+        plan.add(new PlannedIndex(Volunteer.class, asc("email").named("email"), "VolunteerRepository.findByEmail, existsByEmail"));
+        plan.add(new PlannedIndex(Volunteer.class, asc("status").named("status"), "VolunteerRepository.findByStatus"));
+        plan.add(new PlannedIndex(Volunteer.class, asc("area").named("area"), "VolunteerRepository.findByArea"));
+        plan.add(new PlannedIndex(Volunteer.class, asc("role").named("role"), "VolunteerRepository.findByRole"));
+        plan.add(new PlannedIndex(Volunteer.class, geo("coordinates"), "Geo queries on volunteer base locations"));
+
+        // notifications
+        plan.add(new PlannedIndex(Notification.class,
+                compound("user_created", new Document("userId", 1).append("createdAt", -1)),
+                "NotificationRepository.findByUserIdOrderByCreatedAtDesc"));
+        plan.add(new PlannedIndex(Notification.class,
+                compound("user_read_created", new Document("userId", 1).append("read", 1).append("createdAt", -1)),
+                "NotificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc, countByUserIdAndReadFalse"));
+        if (notificationTtlDays > 0) {
+            // Only read notifications have readAt, so unread ones never expire
+            plan.add(new PlannedIndex(Notification.class,
+                    asc("readAt").expire(Duration.ofDays(notificationTtlDays)).named("read_ttl"),
+                    "Expires read notifications after application.indexes.notification-ttl-days"));
+        }
+
+        // dog_reports
+        plan.add(new PlannedIndex(DogReport.class,
+                compound("status_priority_created", new Document("status", 1).append("priority", 1).append("createdAt", -1)),
+                "DogReportRepository.findByStatus, findByStatusOrderByPriorityAscCreatedAtDesc, findByStatusIn(AndCreatedAtAfter)"));
+        plan.add(new PlannedIndex(DogReport.class, asc("condition").named("condition"), "DogReportRepository.findByCondition"));
+        plan.add(new PlannedIndex(DogReport.class, asc("location").named("location"), "DogReportRepository.findByLocation"));
+        plan.add(new PlannedIndex(DogReport.class, asc("assignedTo").named("assignedTo"), "DogReportRepository.findByAssignedTo"));
+        plan.add(new PlannedIndex(DogReport.class, asc("reportedBy").named("reportedBy"), "DogReportRepository.findByReportedBy"));
+        plan.add(new PlannedIndex(DogReport.class, asc("createdAt").named("createdAt"), "ExportService date range and sort"));
+        plan.add(new PlannedIndex(DogReport.class, geo("coordinates"), "DogReportRepository.findByCoordinatesNear"));
+
+        // donations
+        plan.add(new PlannedIndex(Donation.class,
+                compound("status_completed", new Document("status", 1).append("completedAt", 1)),
+                "DonationRepository.findByStatus, DonationLedgerService range aggregation and rebuild"));
+        plan.add(new PlannedIndex(Donation.class, asc("donorId").named("donorId"), "DonationRepository.findByDonorId"));
+        plan.add(new PlannedIndex(Donation.class, asc("createdAt").named("createdAt"),
+                "DonationRepository.findByCreatedAtBetween, ExportService"));
+        plan.add(new PlannedIndex(Donation.class,
+                compound("receipt_queue", new Document("receiptStatus", 1).append("receiptNextAttemptAt", 1))
+                        .partial(PartialIndexFilter.of(Criteria.where("receiptNextAttemptAt").exists(true))),
+                "TaxReceiptService claim; only queued receipts carry receiptNextAttemptAt"));
+        plan.add(new PlannedIndex(Donation.class,
+                compound("ledger_pending", new Document("ledgerRecorded", 1).append("completedAt", 1))
+                        .partial(PartialIndexFilter.of(Criteria.where("ledgerRecorded").is(false))),
+                "DonationLedgerService sweep; only completions not yet counted are indexed"));
+        plan.add(new PlannedIndex(Donation.class,
+                asc("ledgerClaimedAt").named("ledger_lease")
+                        .partial(PartialIndexFilter.of(Criteria.where("ledgerClaimedAt").exists(true))),
+                "DonationLedgerService prune; only donations recorded within the last lease carry ledgerClaimedAt"));
+
+        // donation_totals
+        plan.add(new PlannedIndex(DonationTotal.class,
+                compound("scope_date", new Document("scope", 1).append("date", 1)),
+                "DonationLedgerService whole-day ranges"));
+
+        // adoptions
+        plan.add(new PlannedIndex(Adoption.class, asc("status").named("status"), "AdoptionRepository.findByStatus"));
+        plan.add(new PlannedIndex(Adoption.class, asc("adopterId").named("adopterId"), "AdoptionRepository.findByAdopterId"));
+        plan.add(new PlannedIndex(Adoption.class, asc("dogReportId").named("dogReportId"), "AdoptionRepository.findByDogReportId"));
+        plan.add(new PlannedIndex(Adoption.class, asc("createdAt").named("createdAt"), "ExportService date range and sort"));
+
+        // adoption_dogs: equality filters first, then the browse sort, then the age range
+        plan.add(new PlannedIndex(AdoptionDog.class,
+                compound("status_size_added_age", new Document("status", 1).append("size", 1).append("addedDate", -1).append("age", 1)),
+                "DogService.searchDogsInMongo, AdoptionDogRepository.findByStatusAndSize"));
+        plan.add(new PlannedIndex(AdoptionDog.class,
+                compound("status_added", new Document("status", 1).append("addedDate", -1)),
+                "AdoptionDogRepository.findByStatus(And...), DogService.searchDogsInMongo newest first"));
+        plan.add(new PlannedIndex(AdoptionDog.class,
+                compound("status_breed", new Document("status", 1).append("breed", 1)),
+                "DogService.searchDogsInMongo breed filter"));
+        plan.add(new PlannedIndex(AdoptionDog.class, asc("addedBy").named("addedBy"), "AdoptionDogRepository.findByAddedBy"));
+
+        // adoption_requests
+        plan.add(new PlannedIndex(AdoptionRequest.class,
+                compound("dog_status", new Document("dogId", 1).append("status", 1)),
+                "AdoptionRequestRepository.findByDogId(AndStatus), approval sibling rejection"));
+        plan.add(new PlannedIndex(AdoptionRequest.class,
+                compound("user_status", new Document("userId", 1).append("status", 1)),
+                "AdoptionRequestRepository.findByUserId(AndStatus)"));
+        plan.add(new PlannedIndex(AdoptionRequest.class, asc("status").named("status"), "AdoptionRequestRepository.findByStatus"));
+
+        // forum_posts
+        plan.add(new PlannedIndex(ForumPost.class,
+                compound("created", new Document("createdAt", -1)),
+                "ForumPostRepository.findAllByOrderByCreatedAtDesc"));
+        plan.add(new PlannedIndex(ForumPost.class,
+                compound("category_created", new Document("category", 1).append("createdAt", -1)),
+                "ForumPostRepository.findByCategory"));
+        plan.add(new PlannedIndex(ForumPost.class, asc("authorId").named("authorId"), "ForumPostRepository.findByAuthorId"));
+        plan.add(new PlannedIndex(ForumPost.class,
+                asc("pinned").named("pinned").partial(PartialIndexFilter.of(Criteria.where("pinned").is(true))),
+                "ForumPostRepository.findByPinnedTrue; holds only the few pinned posts"));
+        plan.add(new PlannedIndex(ForumPost.class,
+                new TextIndexDefinition.TextIndexDefinitionBuilder()
+                        .named("text_search")
+                        .onField("title", 3F)
+                        .onField("tags", 2F)
+                        .onField("content")
+                        .build(),
+                "ForumPostRepository.findAllBy(TextCriteria)"));
+
+        // vaccinations
+        // One document per dog: concurrent upserts on the same dog must not insert twice
+        plan.add(new PlannedIndex(Vaccination.class, asc("dogReportId").unique().named("dogReportId"),
+                "VaccinationRepository.findByDogReportId, VaccinationService.createVaccination and VaccinationImportService upserts"));
+        plan.add(new PlannedIndex(Vaccination.class, asc("vetId").named("vetId"), "VaccinationRepository.findByVetId"));
+        plan.add(new PlannedIndex(Vaccination.class, asc("location").named("location"), "VaccinationRepository.findByLocation"));
+
+        // vaccination_due
+        plan.add(new PlannedIndex(VaccinationDue.class,
+                compound("due_date", new Document("nextDueDate", 1).append("dogReportId", 1)),
+                "VaccinationReminderService.getDue"));
+        plan.add(new PlannedIndex(VaccinationDue.class,
+                compound("reminder_due_date", new Document("reminderSentAt", 1).append("nextDueDate", 1)),
+                "VaccinationReminderService.sendReminders"));
+        plan.add(new PlannedIndex(VaccinationDue.class, asc("vaccinationId").named("vaccinationId"),
+                "VaccinationDueRepository.deleteByVaccinationId, VaccinationReminderService.syncAll"));
+
+        // volunteer_tasks
+        plan.add(new PlannedIndex(VolunteerTask.class,
+                compound("volunteer_status_due", new Document("volunteerId", 1).append("status", 1).append("dueDate", 1)),
+                "VolunteerTaskRepository.findByVolunteerId(AndStatus), paged by dueDate"));
+        plan.add(new PlannedIndex(VolunteerTask.class,
+                compound("status_due", new Document("status", 1).append("dueDate", 1)),
+                "VolunteerTaskRepository.findByStatus, VolunteerTaskSweeper"));
+
+        return plan;
+    }
+
+    // Helper methods
+
+    private static Index asc(String field) {
+        return new Index().on(field, Sort.Direction.ASC);
+    }
+
+    private static CompoundIndexDefinition compound(String name, Document keys) {
+        CompoundIndexDefinition definition = new CompoundIndexDefinition(keys);
+        definition.named(name);
+        return definition;
+    }
+
+    private static GeospatialIndex geo(String field) {
+        return new GeospatialIndex(field).typed(GeoSpatialIndexType.GEO_2DSPHERE).named(field + "_2dsphere");
+    }
+}
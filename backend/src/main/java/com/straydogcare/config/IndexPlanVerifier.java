@@ -0,0 +1,258 @@
+package com.straydogcare.config;
+
+import com.straydogcare.dto.IndexStatusResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies IndexPlan at startup and compares it with the indexes that actually exist.
+ *
+ * Missing indexes are built (application.indexes.apply) and timed. An index whose keys or
+ * options differ from the plan is only rebuilt when application.indexes.replace-changed is
+ * set, since that drops it first; indexes that are not in the plan are reported but never
+ * dropped. Any drift left afterwards is logged, or stops startup when
+ * application.indexes.on-drift is "fail". Runs before the data migrations and the
+ * in-memory index rebuilds so that they already benefit from the indexes.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class IndexPlanVerifier implements CommandLineRunner {
+
+    // Options that change what an index contains or how it is used
+    private static final List<String> COMPARED_OPTIONS = List.of("unique", "sparse", "partialFilterExpression", "expireAfterSeconds");
+
+    private final MongoTemplate mongoTemplate;
+    private final IndexPlan indexPlan;
+
+    @Value("${application.indexes.apply:true}")
+    private boolean apply;
+
+    @Value("${application.indexes.on-drift:warn}")
+    private String onDrift;
+
+    @Value("${application.indexes.replace-changed:false}")
+    private boolean replaceChanged;
+
+    private volatile List<IndexStatusResponse> report = List.of();
+
+    @Override
+    public void run(String... args) {
+        verify();
+    }
+
+    public List<IndexStatusResponse> verify() {
+        Map<String, List<IndexPlan.PlannedIndex>> byCollection = new LinkedHashMap<>();
+        for (IndexPlan.PlannedIndex planned : indexPlan.indexes()) {
+            byCollection.computeIfAbsent(mongoTemplate.getCollectionName(planned.entity()), c -> new ArrayList<>()).add(planned);
+        }
+
+        List<IndexStatusResponse> results = new ArrayList<>();
+        byCollection.forEach((collection, planned) -> results.addAll(verifyCollection(collection, planned)));
+        report = List.copyOf(results);
+
+        logReport(results);
+        long drift = results.stream().filter(IndexStatusResponse::isDrift).count();
+        if (drift > 0 && "fail".equalsIgnoreCase(onDrift)) {
+            throw new IllegalStateException(drift + " indexes drift from IndexPlan (application.indexes.on-drift=fail)");
+        }
+        return report;
+    }
+
+    public List<IndexStatusResponse> getReport() {
+        return report;
+    }
+
+    // Helper methods
+
+    private List<IndexStatusResponse> verifyCollection(String collection, List<IndexPlan.PlannedIndex> planned) {
+        Map<String, Document> live = new LinkedHashMap<>();
+        for (Document index : mongoTemplate.getCollection(collection).listIndexes()) {
+            live.put(index.getString("name"), index);
+        }
+        live.remove("_id_");
+
+        IndexOperations indexOps = mongoTemplate.indexOps(collection);
+        Set<String> matched = new LinkedHashSet<>();
+        List<IndexStatusResponse> results = new ArrayList<>();
+        for (IndexPlan.PlannedIndex index : planned) {
+            Document existing = live.get(index.name());
+            if (existing == null) {
+                // Same keys under another name would make createIndex fail, so treat it as a changed index
+                existing = live.values().stream()
+                        .filter(candidate -> sameKeys(index, candidate))
+                        .findFirst()
+                        .orElse(null);
+            }
+
+            IndexStatusResponse.IndexStatusResponseBuilder result = IndexStatusResponse.builder()
+                    .collection(collection)
+                    .name(index.name())
+                    .keys(index.definition().getIndexKeys().toJson())
+                    .servedQueries(index.servedQueries());
+
+            if (existing != null) {
+                matched.add(existing.getString("name"));
+                String difference = difference(index, existing);
+                if (difference == null) {
+                    results.add(result.status(IndexStatusResponse.Status.OK).build());
+                } else if (apply && replaceChanged) {
+                    indexOps.dropIndex(existing.getString("name"));
+                    results.add(build(indexOps, index, result.detail(difference), IndexStatusResponse.Status.REPLACED).build());
+                } else {
+                    results.add(result.status(IndexStatusResponse.Status.CHANGED).detail(difference).build());
+                }
+            } else if (apply) {
+                results.add(build(indexOps, index, result, IndexStatusResponse.Status.CREATED).build());
+            } else {
+                results.add(result.status(IndexStatusResponse.Status.MISSING).build());
+            }
+        }
+
+        live.forEach((name, index) -> {
+            if (!matched.contains(name)) {
+                results.add(IndexStatusResponse.builder()
+                        .collection(collection)
+                        .name(name)
+                        .keys(index.get("key", Document.class).toJson())
+                        .status(IndexStatusResponse.Status.UNPLANNED)
+                        .detail("Not in IndexPlan; add it there or drop it")
+                        .build());
+            }
+        });
+        return results;
+    }
+
+    private IndexStatusResponse.IndexStatusResponseBuilder build(IndexOperations indexOps, IndexPlan.PlannedIndex index,
+                                                               IndexStatusResponse.IndexStatusResponseBuilder result,
+                                                               IndexStatusResponse.Status status) {
+        long start = System.nanoTime();
+        try {
+            indexOps.ensureIndex(index.definition());
+            return result.status(status).buildMs((System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // e.g. a unique index over existing duplicates; keep going so the report shows every problem
+            log.error("Could not build index {} on {}: {}", index.name(), mongoTemplate.getCollectionName(index.entity()), e.getMessage());
+            return result.status(IndexStatusResponse.Status.FAILED)
+                    .detail(e.getMessage())
+                    .buildMs((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private boolean sameKeys(IndexPlan.PlannedIndex index, Document live) {
+        Document options = index.definition().getIndexOptions();
+        if (options.containsKey("weights") || live.containsKey("weights")) {
+            // Text indexes are stored as {_fts: "text", _ftsx: 1}; only one is allowed per collection
+            return options.containsKey("weights") && live.containsKey("weights");
+        }
+        // Key order is significant, so compare entry lists rather than maps
+        return keyList(index.definition().getIndexKeys()).equals(keyList(live.get("key", Document.class)));
+    }
+
+    private String difference(IndexPlan.PlannedIndex index, Document live) {
+        List<String> differences = new ArrayList<>();
+        Document options = index.definition().getIndexOptions();
+
+        if (!index.name().equals(live.getString("name"))) {
+            differences.add("name " + live.getString("name"));
+        }
+        if (options.containsKey("weights")) {
+            Object expected = normalize(textWeights(index));
+            Object actual = normalize(live.get("weights"));
+            if (!expected.equals(actual)) {
+                differences.add("weights " + live.get("weights", Document.class).toJson());
+            }
+        } else if (!sameKeys(index, live)) {
+            differences.add("keys " + live.get("key", Document.class).toJson());
+        }
+
+        for (String option : COMPARED_OPTIONS) {
+            Object expected = normalize(options.get(option));
+            Object actual = normalize(live.get(option));
+            if (Boolean.FALSE.equals(expected)) {
+                expected = null;
+            }
+            if (Boolean.FALSE.equals(actual)) {
+                actual = null;
+            }
+            if (!Objects.equals(expected, actual)) {
+                differences.add(option + " " + (actual instanceof Document document ? document.toJson() : actual)
+                        + " (planned " + (expected instanceof Document document ? document.toJson() : expected) + ")");
+            }
+        }
+        return differences.isEmpty() ? null : String.join(", ", differences);
+    }
+
+    private Document textWeights(IndexPlan.PlannedIndex index) {
+        // Fields declared without a weight are stored with the default weight of 1
+        Document weights = new Document();
+        index.definition().getIndexKeys().keySet().forEach(field -> weights.put(field, 1));
+        Document declared = index.definition().getIndexOptions().get("weights", Document.class);
+        if (declared != null) {
+            weights.putAll(declared);
+        }
+        return weights;
+    }
+
+    private List<Map.Entry<String, Object>> keyList(Document keys) {
+        return keys.entrySet().stream().map(entry -> Map.entry(entry.getKey(), normalize(entry.getValue()))).toList();
+    }
+
+    // The server returns numbers in whatever type it stored them (1 vs 1.0, int vs long), so compare by value
+    private Object normalize(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> normalized = new LinkedHashMap<>();
+            map.forEach((key, nested) -> normalized.put(String.valueOf(key), normalize(nested)));
+            return normalized;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(this::normalize).toList();
+        }
+        return value;
+    }
+
+    private void logReport(List<IndexStatusResponse> results) {
+        StringBuilder table = new StringBuilder(String.format("%n%-20s %-24s %-10s %8s  %s", "COLLECTION", "INDEX", "STATUS", "BUILD MS", "DETAIL"));
+        long drift = 0;
+        long buildMs = 0;
+        for (IndexStatusResponse result : results) {
+            table.append(String.format("%n%-20s %-24s %-10s %8s  %s",
+                    result.getCollection(),
+                    result.getName(),
+                    result.getStatus(),
+                    result.getBuildMs() != null ? result.getBuildMs() : "",
+                    result.getDetail() != null ? result.getDetail() : ""));
+            if (result.isDrift()) {
+                drift++;
+            }
+            if (result.getBuildMs() != null) {
+                buildMs += result.getBuildMs();
+            }
+        }
+
+        if (drift > 0) {
+            log.warn("Index plan: {} indexes, {} drifting, {} ms building{}", results.size(), drift, buildMs, table);
+        } else {
+            log.info("Index plan: {} indexes verified, {} ms building{}", results.size(), buildMs, table);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.straydogcare.config;
+
+import com.straydogcare.dto.IndexStatusResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * IndexPlan status per index at /actuator/indexes, including the build time of indexes created at startup.
+ * POST re-runs the verification (and builds missing indexes when application.indexes.apply is on).
+ */
+@Component
+@Endpoint(id = "indexes")
+@RequiredArgsConstructor
+public class IndexesEndpoint {
+
+    private final IndexPlanVerifier verifier;
+
+    @ReadOperation
+    public List<IndexStatusResponse> report() {
+        return verifier.getReport();
+    }
+
+    @WriteOperation
+    public List<IndexStatusResponse> verify() {
+        return verifier.verify();
+    }
+}
@@ -4,6 +4,9 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -15,8 +18,11 @@ import java.util.Map;
 import java.util.function.Function;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
     
+    private final MeterRegistry meterRegistry;
+    
     @Value("${application.security.jwt.secret-key}")
     private String secretKey;
     
@@ -71,11 +77,23 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "valid";
+        try {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            // Signature check plus claims parsing; runs on every authenticated request
+            sample.stop(Timer.builder("straydogcare.jwt.verification")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
     }
     
     private Key getSignInKey() {
@@ -0,0 +1,75 @@
+package com.straydogcare.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency timers for every public service method and every repository call.
+ *
+ * Controllers are already covered by Spring Boot's http.server.requests timer and the
+ * Mongo driver by mongodb.driver.commands / mongodb.driver.pool.*; this fills the gap in
+ * between, so a slow endpoint can be traced to the service method and finder behind it.
+ * Histogram and SLO buckets for these timers are set under management.metrics.distribution.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    public static final String SERVICE_TIMER = "straydogcare.service";
+    public static final String REPOSITORY_TIMER = "straydogcare.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    // Repository proxies only expose Spring Data's declaring types, so resolve our interface once per proxy class
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.straydogcare.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = AopProxyUtils.ultimateTargetClass(joinPoint.getTarget()).getSimpleName();
+        return time(SERVICE_TIMER, className, joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), this::repositoryName);
+        return time(REPOSITORY_TIMER, repository, joinPoint);
+    }
+
+    // Helper methods
+
+    private Object time(String name, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(Class<?> proxyClass) {
+        for (Class<?> type : proxyClass.getInterfaces()) {
+            if (type.getPackageName().startsWith("com.straydogcare")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
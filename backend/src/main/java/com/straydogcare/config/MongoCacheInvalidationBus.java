@@ -0,0 +1,201 @@
+package com.straydogcare.config;
+
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Sends invalidations through a capped Mongo collection that every node tails.
+ *
+ * Each node keeps a tailable cursor open on cache_invalidations and reads the documents
+ * inserted after the last one it saw, so no extra infrastructure is needed beyond the
+ * database the nodes already share. The collection is capped, so it never grows; if a node
+ * falls so far behind that its last seen document has been overwritten, it cannot tell what it
+ * missed and clears every cache instead. Publishing never fails the write that caused it:
+ * if the insert fails, the entry expires on the other nodes after its expireAfterWrite.
+ */
+@Slf4j
+public class MongoCacheInvalidationBus implements CacheInvalidationBus {
+
+    static final String COLLECTION = "cache_invalidations";
+    private static final long REOPEN_DELAY_MS = 500;
+    private static final Document NEWEST_FIRST = new Document("$natural", -1);
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long cappedSizeBytes;
+    private final long maxDocuments;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile MongoCollection<Document> collection;
+    private volatile Thread tailer;
+    private volatile boolean running = true;
+
+    public MongoCacheInvalidationBus(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+                                     long cappedSizeBytes, long maxDocuments) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.cappedSizeBytes = cappedSizeBytes;
+        this.maxDocuments = maxDocuments;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        Document document = new Document("origin", invalidation.origin())
+                .append("cache", invalidation.cache())
+                .append("key", invalidation.key())
+                .append("at", new Date());
+        try {
+            collection().insertOne(document);
+            count("published", invalidation);
+        } catch (MongoException e) {
+            count("failed", invalidation);
+            log.warn("Could not publish cache invalidation {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+        if (tailer == null) {
+            tailer = Thread.ofPlatform().name("cache-invalidation-tailer").daemon().start(this::tail);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        Thread thread = tailer;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // Helper methods
+
+    private void tail() {
+        ObjectId lastSeen = null;
+        boolean started = false;
+        while (running) {
+            try {
+                MongoCollection<Document> invalidations = collection();
+                if (!started) {
+                    // Only what is published from now on; the caches of a starting node are empty anyway
+                    Document newest = invalidations.find().sort(NEWEST_FIRST).first();
+                    lastSeen = newest != null ? newest.getObjectId("_id") : null;
+                    started = true;
+                }
+
+                // ObjectIds from different nodes are not ordered by insertion (clocks differ), so an
+                // _id > lastSeen filter could skip documents. Read in natural order instead and skip
+                // everything up to the last document this node delivered.
+                boolean caughtUp = lastSeen == null;
+                ObjectId lastRead = null;
+                try (MongoCursor<Document> cursor = invalidations.find()
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(1, TimeUnit.SECONDS)
+                        .cursor()) {
+                    // tryNext returns null after each await; a tailable cursor on an empty collection is dead at once
+                    while (running) {
+                        Document document = cursor.tryNext();
+                        if (document == null) {
+                            if (!caughtUp) {
+                                log.warn("Missed cache invalidations while the cursor was closed; clearing every cache");
+                                deliver(CacheInvalidation.everything(null));
+                                lastSeen = lastRead;
+                                caughtUp = true;
+                            }
+                            if (cursor.getServerCursor() == null) {
+                                break;
+                            }
+                            continue;
+                        }
+                        lastRead = document.getObjectId("_id");
+                        if (!caughtUp) {
+                            caughtUp = lastRead.equals(lastSeen);
+                            continue;
+                        }
+                        lastSeen = lastRead;
+                        CacheInvalidation invalidation = new CacheInvalidation(
+                                document.getString("origin"), document.getString("cache"), document.getString("key"));
+                        count("received", invalidation);
+                        deliver(invalidation);
+                    }
+                }
+            } catch (MongoException e) {
+                if (running) {
+                    log.debug("Cache invalidation cursor closed, reopening: {}", e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                log.error("Error while tailing cache invalidations", e);
+            }
+            if (running) {
+                try {
+                    Thread.sleep(REOPEN_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation listener failed for {}", invalidation, e);
+            }
+        }
+    }
+
+    private MongoCollection<Document> collection() {
+        MongoCollection<Document> current = collection;
+        if (current == null) {
+            current = ensureCollection();
+        }
+        return current;
+    }
+
+    private synchronized MongoCollection<Document> ensureCollection() {
+        if (collection != null) {
+            return collection;
+        }
+        MongoDatabase database = mongoTemplate.getDb();
+        Document existing = database.listCollections().filter(Filters.eq("name", COLLECTION)).first();
+        if (existing == null) {
+            database.createCollection(COLLECTION, new CreateCollectionOptions()
+                    .capped(true)
+                    .sizeInBytes(cappedSizeBytes)
+                    .maxDocuments(maxDocuments));
+            log.info("Created capped collection {} ({} bytes, {} documents)", COLLECTION, cappedSizeBytes, maxDocuments);
+        } else if (!existing.get("options", new Document()).getBoolean("capped", false)) {
+            throw new IllegalStateException("Collection " + COLLECTION + " exists but is not capped, so it cannot be tailed; drop it and restart");
+        }
+        collection = database.getCollection(COLLECTION);
+        return collection;
+    }
+
+    private void count(String direction, CacheInvalidation invalidation) {
+        meterRegistry.counter("straydogcare.cache.invalidations",
+                "direction", direction,
+                "cache", invalidation.cache() != null ? invalidation.cache() : "*").increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.straydogcare.config;
+
+import com.straydogcare.dto.MongoQueryStatsResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Top-N Mongo query shapes from MongoQueryProfiler, at /actuator/mongo-queries.
+ * Sort by total (default), mean, max, count or examined (docs examined per doc returned).
+ */
+@Component
+@Endpoint(id = "mongoqueries")
+@RequiredArgsConstructor
+public class MongoQueriesEndpoint {
+
+    private final MongoQueryProfiler profiler;
+
+    @ReadOperation
+    public List<MongoQueryStatsResponse> topQueries(@Nullable Integer limit, @Nullable String sort) {
+        return profiler.report(limit != null ? limit : 20, sort);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
@@ -0,0 +1,524 @@
+package com.straydogcare.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.straydogcare.dto.MongoQueryStatsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonNumber;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Query-shape profiler for everything the application sends to Mongo.
+ *
+ * Registered as a driver CommandListener, it groups commands by collection and shape
+ * (the command with every literal replaced by "?"), and records count, latency, documents
+ * returned and the service methods that issued them. Read commands are occasionally
+ * re-run as explain("executionStats") on a background thread, so each shape also shows
+ * docs examined versus returned and whether the winning plan was a collection scan.
+ * Commands slower than the threshold are logged and published as SlowMongoQueryEvent.
+ *
+ * The report is served at /actuator/mongo-queries (see MongoQueriesEndpoint).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoQueryProfiler implements CommandListener, MongoClientSettingsBuilderCustomizer {
+
+    private static final Set<String> PROFILED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "findAndModify", "update", "delete", "insert"
+    );
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of("find", "aggregate", "count", "distinct");
+    private static final Set<String> ENVELOPE_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "autocommit", "startTransaction",
+            "$readPreference", "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors"
+    );
+    private static final int MAX_CALLERS_PER_SHAPE = 10;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.mongo-profiler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.mongo-profiler.slow-query-ms:100}")
+    private long slowQueryMs;
+
+    @Value("${application.mongo-profiler.explain-sample-rate:0.01}")
+    private double explainSampleRate;
+
+    @Value("${application.mongo-profiler.max-shapes:500}")
+    private int maxShapes;
+
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    // One background thread; explains are dropped rather than queued up when it falls behind
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(32), runnable -> {
+        Thread thread = new Thread(runnable, "mongo-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public void customize(MongoClientSettings.Builder builder) {
+        if (enabled) {
+            builder.addCommandListener(this);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!PROFILED_COMMANDS.contains(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        String collection = command.isString(commandName) ? command.getString(commandName).getValue() : "(database)";
+        String shape = shapeOf(commandName, command);
+        String key = collection + '|' + commandName + '|' + shape;
+
+        ShapeStats stats = shapes.get(key);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return; // Full; keep what we have rather than growing without bound
+            }
+            stats = shapes.computeIfAbsent(key, k -> new ShapeStats(collection, commandName, shape));
+        }
+
+        // Copy the command now; the event's document is only valid during this callback
+        BsonDocument explainCommand = shouldExplain(stats, command) ? explainCommandFor(command) : null;
+        pending.put(event.getRequestId(), new Pending(stats, callerOf(), explainCommand, event.getDatabaseName()));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Pending started = pending.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        boolean slow = nanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+        ShapeStats stats = started.stats();
+        stats.record(nanos, docsReturned(stats.command, event.getResponse()), started.caller(), slow);
+
+        if (slow) {
+            double durationMs = nanos / 1_000_000.0;
+            log.warn("Slow Mongo {} on {} took {} ms from {}: {}",
+                    stats.command, stats.collection, String.format("%.1f", durationMs), started.caller(), stats.shape);
+            meterRegistry.counter("straydogcare.mongo.slow.queries",
+                    "collection", stats.collection, "command", stats.command).increment();
+            eventPublisher.publishEvent(new SlowMongoQueryEvent(
+                    stats.collection, stats.command, stats.shape, durationMs, started.caller()));
+        }
+        if (started.explainCommand() != null) {
+            try {
+                explainer.execute(() -> explain(stats, started.databaseName(), started.explainCommand()));
+            } catch (RejectedExecutionException e) {
+                stats.explaining.set(false);
+            }
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        Pending started = pending.remove(event.getRequestId());
+        if (started != null) {
+            started.stats().failures.increment();
+            if (started.explainCommand() != null) {
+                started.stats().explaining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Shapes ordered by the given metric (total, mean, max, count, examined), largest first
+     */
+    public List<MongoQueryStatsResponse> report(int limit, String sortBy) {
+        Comparator<MongoQueryStatsResponse> order = switch (sortBy == null ? "total" : sortBy) {
+            case "count" -> Comparator.comparingLong(MongoQueryStatsResponse::getCount);
+            case "mean" -> Comparator.comparingDouble(MongoQueryStatsResponse::getMeanMs);
+            case "max" -> Comparator.comparingDouble(MongoQueryStatsResponse::getMaxMs);
+            case "examined" -> Comparator.comparingDouble(
+                    stats -> stats.getExaminedPerReturned() != null ? stats.getExaminedPerReturned() : 0);
+            default -> Comparator.comparingDouble(MongoQueryStatsResponse::getTotalMs);
+        };
+        return shapes.values().stream()
+                .map(ShapeStats::toResponse)
+                .sorted(order.reversed())
+                .limit(Math.max(1, limit))
+                .toList();
+    }
+
+    public void reset() {
+        shapes.clear();
+    }
+
+    // Helper methods
+
+    private boolean shouldExplain(ShapeStats stats, BsonDocument command) {
+        if (!EXPLAINABLE_COMMANDS.contains(stats.command) || writesOutput(command)) {
+            return false;
+        }
+        boolean sample = stats.lastExplain == null || ThreadLocalRandom.current().nextDouble() < explainSampleRate;
+        // At most one explain in flight per shape
+        return sample && stats.explaining.compareAndSet(false, true);
+    }
+
+    private boolean writesOutput(BsonDocument command) {
+        if (!command.isArray("pipeline")) {
+            return false;
+        }
+        for (BsonValue stage : command.getArray("pipeline")) {
+            if (stage.isDocument() && (stage.asDocument().containsKey("$out") || stage.asDocument().containsKey("$merge"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BsonDocument explainCommandFor(BsonDocument command) {
+        BsonDocument explained = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            if (!ENVELOPE_FIELDS.contains(entry.getKey())) {
+                explained.put(entry.getKey(), entry.getValue().isDocument() || entry.getValue().isArray()
+                        ? copyOf(entry.getValue()) : entry.getValue());
+            }
+        }
+        return new BsonDocument("explain", explained).append("verbosity", new BsonString("executionStats"));
+    }
+
+    private BsonValue copyOf(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument copy = new BsonDocument();
+            value.asDocument().forEach((key, child) -> copy.put(key, copyOf(child)));
+            return copy;
+        }
+        if (value.isArray()) {
+            BsonArray copy = new BsonArray();
+            value.asArray().forEach(child -> copy.add(copyOf(child)));
+            return copy;
+        }
+        return value;
+    }
+
+    private void explain(ShapeStats stats, String databaseName, BsonDocument command) {
+        try {
+            MongoTemplate template = mongoTemplate.getIfAvailable();
+            if (template == null) {
+                return;
+            }
+            BsonDocument result = template.getMongoDatabaseFactory().getMongoDatabase(databaseName)
+                    .runCommand(command, BsonDocument.class);
+            BsonDocument executionStats = findDocument(result, "executionStats");
+            String plan = planOf(findDocument(result, "winningPlan"));
+            ExplainSample sample = new ExplainSample(
+                    plan,
+                    longOf(executionStats, "totalDocsExamined"),
+                    longOf(executionStats, "totalKeysExamined"),
+                    longOf(executionStats, "nReturned"),
+                    LocalDateTime.now()
+            );
+            boolean firstScan = "COLLSCAN".equals(plan) && (stats.lastExplain == null || !"COLLSCAN".equals(stats.lastExplain.plan()));
+            stats.lastExplain = sample;
+            if (firstScan) {
+                log.warn("Collection scan on {} ({} docs examined, {} returned) for {} from {}: {}",
+                        stats.collection, sample.docsExamined(), sample.nReturned(), stats.command,
+                        stats.topCaller(), stats.shape);
+            }
+        } catch (Exception e) {
+            log.debug("Explain failed for {} on {}: {}", stats.command, stats.collection, e.getMessage());
+        } finally {
+            stats.explaining.set(false);
+        }
+    }
+
+    /**
+     * Depth-first search for a sub-document, since explain output differs between find and aggregate
+     */
+    private BsonDocument findDocument(BsonValue value, String name) {
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            if (document.isDocument(name)) {
+                return document.getDocument(name);
+            }
+            for (BsonValue child : document.values()) {
+                BsonDocument found = findDocument(child, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+        } else if (value.isArray()) {
+            for (BsonValue child : value.asArray()) {
+                BsonDocument found = findDocument(child, name);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String planOf(BsonDocument winningPlan) {
+        if (winningPlan == null) {
+            return null;
+        }
+        String json = winningPlan.toJson();
+        for (String stage : List.of("COLLSCAN", "IXSCAN", "IDHACK", "COUNT_SCAN", "DISTINCT_SCAN", "EXPRESS_IXSCAN")) {
+            if (json.contains("\"" + stage + "\"")) {
+                return stage;
+            }
+        }
+        return winningPlan.isString("stage") ? winningPlan.getString("stage").getValue() : null;
+    }
+
+    private Long longOf(BsonDocument document, String field) {
+        if (document == null || !document.isNumber(field)) {
+            return null;
+        }
+        return document.getNumber(field).longValue();
+    }
+
+    private long docsReturned(String commandName, BsonDocument response) {
+        switch (commandName) {
+            case "find", "aggregate" -> {
+                BsonDocument cursor = response.isDocument("cursor") ? response.getDocument("cursor") : null;
+                return cursor != null && cursor.isArray("firstBatch") ? cursor.getArray("firstBatch").size() : 0;
+            }
+            case "findAndModify" -> {
+                return response.containsKey("value") && !response.get("value").isNull() ? 1 : 0;
+            }
+            case "distinct" -> {
+                return response.isArray("values") ? response.getArray("values").size() : 0;
+            }
+            default -> {
+                // count, update, delete, insert report the documents they touched as n
+                return response.get("n") instanceof BsonNumber n ? n.longValue() : 0;
+            }
+        }
+    }
+
+    private String shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                putNormalized(shape, "filter", command.get("filter"));
+                putRaw(shape, "sort", command.get("sort"));
+            }
+            case "aggregate" -> {
+                BsonArray stages = new BsonArray();
+                if (command.isArray("pipeline")) {
+                    for (BsonValue stage : command.getArray("pipeline")) {
+                        stages.add(stageShape(stage));
+                    }
+                }
+                shape.put("pipeline", stages);
+            }
+            case "count" -> putNormalized(shape, "query", command.get("query"));
+            case "distinct" -> {
+                putRaw(shape, "key", command.get("key"));
+                putNormalized(shape, "query", command.get("query"));
+            }
+            case "findAndModify" -> {
+                putNormalized(shape, "query", command.get("query"));
+                putRaw(shape, "sort", command.get("sort"));
+            }
+            case "update" -> putNormalized(shape, "q", firstStatement(command, "updates", "q"));
+            case "delete" -> putNormalized(shape, "q", firstStatement(command, "deletes", "q"));
+            default -> {
+                // insert has no query part
+            }
+        }
+        return shape.toJson();
+    }
+
+    private BsonValue stageShape(BsonValue stage) {
+        if (!stage.isDocument() || stage.asDocument().isEmpty()) {
+            return stage;
+        }
+        String name = stage.asDocument().getFirstKey();
+        BsonValue body = stage.asDocument().get(name);
+        return switch (name) {
+            case "$match" -> new BsonDocument(name, normalize(body));
+            case "$sort", "$unwind", "$count", "$sortByCount" -> new BsonDocument(name, body);
+            case "$limit", "$skip" -> new BsonDocument(name, new BsonString("?"));
+            default -> new BsonDocument(name, new BsonString("..."));
+        };
+    }
+
+    private BsonValue firstStatement(BsonDocument command, String field, String key) {
+        if (command.isArray(field) && !command.getArray(field).isEmpty() && command.getArray(field).get(0).isDocument()) {
+            return command.getArray(field).get(0).asDocument().get(key);
+        }
+        return null;
+    }
+
+    private void putNormalized(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.put(key, normalize(value));
+        }
+    }
+
+    private void putRaw(BsonDocument shape, String key, BsonValue value) {
+        if (value != null) {
+            shape.put(key, value);
+        }
+    }
+
+    /**
+     * Keep field names and operators, replace every literal with "?"
+     */
+    private BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            value.asDocument().forEach((key, child) -> normalized.put(key, normalize(child)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // $and/$or branches keep their own shapes; scalar lists ($in etc.) collapse to one placeholder
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                BsonArray normalized = new BsonArray();
+                array.forEach(child -> normalized.add(normalize(child)));
+                return normalized;
+            }
+            return new BsonArray(List.of(new BsonString("?")));
+        }
+        return new BsonString("?");
+    }
+
+    private String callerOf() {
+        return STACK_WALKER.walk(frames -> frames
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+                .filter(name -> name.startsWith("com.straydogcare.")
+                        && !name.startsWith("com.straydogcare.config.")
+                        && !name.contains("$$"))
+                .findFirst()
+                .map(name -> name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1))
+                .orElse("(framework)"));
+    }
+
+    private record Pending(ShapeStats stats, String caller, BsonDocument explainCommand, String databaseName) {
+    }
+
+    private record ExplainSample(String plan, Long docsExamined, Long keysExamined, Long nReturned, LocalDateTime sampledAt) {
+    }
+
+    private static class ShapeStats {
+        final String collection;
+        final String command;
+        final String shape;
+        final LongAdder count = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder slowCount = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder docsReturned = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final Map<String, LongAdder> callers = new ConcurrentHashMap<>();
+        final AtomicBoolean explaining = new AtomicBoolean();
+        volatile ExplainSample lastExplain;
+
+        ShapeStats(String collection, String command, String shape) {
+            this.collection = collection;
+            this.command = command;
+            this.shape = shape;
+        }
+
+        void record(long nanos, long returned, String caller, boolean slow) {
+            count.increment();
+            totalNanos.add(nanos);
+            docsReturned.add(returned);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (slow) {
+                slowCount.increment();
+            }
+            LongAdder calls = callers.get(caller);
+            if (calls == null && callers.size() < MAX_CALLERS_PER_SHAPE) {
+                calls = callers.computeIfAbsent(caller, key -> new LongAdder());
+            }
+            if (calls != null) {
+                calls.increment();
+            }
+        }
+
+        String topCaller() {
+            return callers.entrySet().stream()
+                    .max(Comparator.comparingLong(entry -> entry.getValue().sum()))
+                    .map(Map.Entry::getKey)
+                    .orElse("(unknown)");
+        }
+
+        MongoQueryStatsResponse toResponse() {
+            long calls = count.sum();
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            ExplainSample explain = lastExplain;
+            Double examinedPerReturned = null;
+            if (explain != null && explain.docsExamined() != null && explain.nReturned() != null) {
+                examinedPerReturned = explain.docsExamined() / (double) Math.max(1, explain.nReturned());
+            }
+            return MongoQueryStatsResponse.builder()
+                    .collection(collection)
+                    .command(command)
+                    .shape(shape)
+                    .count(calls)
+                    .failures(failures.sum())
+                    .slowCount(slowCount.sum())
+                    .totalMs(totalMs)
+                    .meanMs(calls > 0 ? totalMs / calls : 0)
+                    .maxMs(maxNanos.get() / 1_000_000.0)
+                    .docsReturned(docsReturned.sum())
+                    .callers(callers.entrySet().stream()
+                            .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                                    Comparator.comparingLong(LongAdder::sum)).reversed())
+                            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                                    (a, b) -> a, LinkedHashMap::new)))
+                    .plan(explain != null ? explain.plan() : null)
+                    .collectionScan(explain != null && "COLLSCAN".equals(explain.plan()))
+                    .docsExamined(explain != null ? explain.docsExamined() : null)
+                    .keysExamined(explain != null ? explain.keysExamined() : null)
+                    .explainReturned(explain != null ? explain.nReturned() : null)
+                    .examinedPerReturned(examinedPerReturned)
+                    .explainedAt(explain != null ? explain.sampledAt() : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.straydogcare.config;
+
+/**
+ * Published by MongoQueryProfiler for every command slower than application.mongo-profiler.slow-query-ms
+ */
+public record SlowMongoQueryEvent(String collection, String command, String shape, double durationMs, String caller) {
+}
@@ -0,0 +1,120 @@
+package com.straydogcare.config;
+
+import com.straydogcare.model.VolunteerTask;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * One-off, idempotent conversion of the legacy ISO-string task dates to real dates.
+ *
+ * Only documents that still hold a string in one of the date fields are read, and
+ * they are rewritten with unordered bulk $set operations in batches. A string that is
+ * not a date is moved to legacyDueDate, legacyAssignedDate or legacyCompletedDate, so
+ * the date fields only ever hold dates and the text is kept for someone to fix by hand.
+ */
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class VolunteerTaskDateMigration implements CommandLineRunner {
+
+    private static final int BSON_STRING = 2;
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        Query legacy = Query.query(new Criteria().orOperator(
+                Criteria.where("dueDate").type(BSON_STRING),
+                Criteria.where("assignedDate").type(BSON_STRING),
+                Criteria.where("completedDate").type(BSON_STRING)
+        ));
+        legacy.fields().include("dueDate", "assignedDate", "completedDate");
+
+        String collection = mongoTemplate.getCollectionName(VolunteerTask.class);
+        BulkOperations bulk = null;
+        int pending = 0;
+        int migrated = 0;
+
+        try (Stream<Document> stream = mongoTemplate.stream(legacy, Document.class, collection)) {
+            Iterator<Document> documents = stream.iterator();
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                Update update = new Update();
+                convert(document, "dueDate", true, update);
+                convert(document, "assignedDate", false, update);
+                convert(document, "completedDate", false, update);
+
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+                }
+                bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))), update);
+                if (++pending == BATCH_SIZE) {
+                    migrated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            migrated += bulk.execute().getModifiedCount();
+        }
+
+        if (migrated > 0) {
+            log.info("Converted string dates on {} volunteer tasks", migrated);
+        }
+    }
+
+    private void convert(Document document, String field, boolean dateOnly, Update update) {
+        if (!(document.get(field) instanceof String value)) {
+            return;
+        }
+        if (value.isBlank()) {
+            update.unset(field);
+            return;
+        }
+        try {
+            LocalDateTime parsed = parse(value.trim());
+            Object converted = dateOnly ? parsed.toLocalDate() : parsed;
+            update.set(field, mongoTemplate.getConverter().convertToMongoType(converted));
+        } catch (DateTimeParseException e) {
+            String legacyField = "legacy" + Character.toUpperCase(field.charAt(0)) + field.substring(1);
+            update.set(legacyField, value).unset(field);
+            log.warn("Moved unparseable {} '{}' on task {} to {}", field, value, document.get("_id"), legacyField);
+        }
+    }
+
+    private LocalDateTime parse(String value) {
+        if (value.length() == 10) {
+            return LocalDate.parse(value).atStartOfDay();
+        }
+        // Instants are mapped to local time, the same way the app stores LocalDateTime.now()
+        if (value.endsWith("Z")) {
+            return LocalDateTime.ofInstant(Instant.parse(value), ZoneId.systemDefault());
+        }
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(value);
+        }
+    }
+}
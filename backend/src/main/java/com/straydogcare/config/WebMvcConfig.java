@@ -1,8 +1,10 @@
 package com.straydogcare.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -11,8 +13,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
     
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
     
@@ -35,6 +40,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .resourceChain(true);
     }
     
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Answers If-None-Match on @ConditionalGet endpoints before the controller runs
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns("/api/**");
+    }
+    
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Configure CORS for API endpoints
@@ -46,6 +57,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag")
                 .allowCredentials(true)
                 .maxAge(3600);
         
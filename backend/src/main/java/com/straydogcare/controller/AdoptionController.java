@@ -3,13 +3,20 @@ package com.straydogcare.controller;
 import com.straydogcare.dto.ApiResponse;
 import com.straydogcare.model.Adoption;
 import com.straydogcare.service.AdoptionService;
+import com.straydogcare.service.ExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +26,7 @@ import java.util.Map;
 public class AdoptionController {
     
     private final AdoptionService adoptionService;
+    private final ExportService exportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<Adoption>>> getAllAdoptions(
@@ -35,6 +43,25 @@ public class AdoptionController {
         return ResponseEntity.ok(ApiResponse.success(adoptions));
     }
     
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAdoptions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String format
+    ) {
+        ExportService.Format exportFormat = ExportService.Format.resolve(format);
+        Adoption.Status exportStatus = status != null ? Adoption.Status.valueOf(status.toUpperCase()) : null;
+        StreamingResponseBody body = output -> exportService.exportAdoptions(from, to, exportStatus, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("adoptions-" + LocalDate.now() + "." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Adoption>> getAdoptionById(@PathVariable String id) {
         Adoption adoption = adoptionService.getAdoptionById(id);
@@ -0,0 +1,111 @@
+package com.straydogcare.controller;
+
+import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.DogRecommendationResponse;
+import com.straydogcare.model.AdoptionRequest;
+import com.straydogcare.service.AdoptionRequestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/adoption-requests")
+@RequiredArgsConstructor
+public class AdoptionRequestController {
+    
+    private final AdoptionRequestService adoptionRequestService;
+    
+    @GetMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<List<AdoptionRequest>>> getAllRequests(
+            @RequestParam(required = false) String status
+    ) {
+        List<AdoptionRequest> requests = status != null
+                ? adoptionRequestService.getRequestsByStatus(status)
+                : adoptionRequestService.getAllRequests();
+        return ResponseEntity.ok(ApiResponse.success(requests));
+    }
+    
+    @GetMapping("/my-requests")
+    public ResponseEntity<ApiResponse<List<AdoptionRequest>>> getMyRequests(Authentication authentication) {
+        List<AdoptionRequest> requests = adoptionRequestService.getRequestsForUser(authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(requests));
+    }
+    
+    @GetMapping("/dog/{dogId}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<List<AdoptionRequest>>> getRequestsForDog(
+            @PathVariable String dogId,
+            @RequestParam(required = false) String status
+    ) {
+        List<AdoptionRequest> requests = adoptionRequestService.getRequestsForDog(dogId, status);
+        return ResponseEntity.ok(ApiResponse.success(requests));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<AdoptionRequest>> getRequestById(
+            @PathVariable String id,
+            Authentication authentication
+    ) {
+        AdoptionRequest request = adoptionRequestService.getRequestById(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success(request));
+    }
+    
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<ApiResponse<List<DogRecommendationResponse>>> recommendDogs(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication
+    ) {
+        List<DogRecommendationResponse> recommendations =
+                adoptionRequestService.recommendDogs(id, authentication.getName(), limit);
+        return ResponseEntity.ok(ApiResponse.success(recommendations));
+    }
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<AdoptionRequest>> createRequest(
+            @RequestBody AdoptionRequest request,
+            Authentication authentication
+    ) {
+        AdoptionRequest created = adoptionRequestService.createRequest(request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Adoption request submitted", created));
+    }
+    
+    @PatchMapping("/{id}/approve")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<AdoptionRequest>> approveRequest(
+            @PathVariable String id,
+            Authentication authentication
+    ) {
+        AdoptionRequest approved = adoptionRequestService.approveRequest(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Adoption request approved", approved));
+    }
+    
+    @PatchMapping("/{id}/reject")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<ApiResponse<AdoptionRequest>> rejectRequest(
+            @PathVariable String id,
+            @RequestBody(required = false) Map<String, String> payload,
+            Authentication authentication
+    ) {
+        String reason = payload != null ? payload.get("reason") : null;
+        AdoptionRequest rejected = adoptionRequestService.rejectRequest(id, reason, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Adoption request rejected", rejected));
+    }
+    
+    @PatchMapping("/{id}/withdraw")
+    public ResponseEntity<ApiResponse<AdoptionRequest>> withdrawRequest(
+            @PathVariable String id,
+            Authentication authentication
+    ) {
+        AdoptionRequest withdrawn = adoptionRequestService.withdrawRequest(id, authentication.getName());
+        return ResponseEntity.ok(ApiResponse.success("Adoption request withdrawn", withdrawn));
+    }
+}
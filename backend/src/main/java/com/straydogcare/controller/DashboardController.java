@@ -1,4 +1,5 @@
 package com.straydogcare.controller;
+import com.straydogcare.config.ConditionalGet;
 import com.straydogcare.dto.DashboardStatsResponse;
 import com.straydogcare.dto.ActivityFeedResponse;
 import com.straydogcare.dto.ChartDataResponse;
@@ -21,6 +22,7 @@ public class DashboardController {
      * Includes: total reports, active volunteers, adoptions, response times
      */
     @GetMapping("/stats")
+    @ConditionalGet(value = {"dog_reports", "volunteers", "adoptions"}, varyEvery = 60)
     public ResponseEntity<DashboardStatsResponse> getDashboardStats(
             @RequestParam(required = false) String zone,
             @RequestParam(required = false) String timeRange) {
@@ -33,6 +35,7 @@ public class DashboardController {
      * Returns latest rescues, adoptions, volunteer activities
      */
     @GetMapping("/activity")
+    @ConditionalGet(value = {"dog_reports", "volunteers", "adoptions"}, varyEvery = 60)
     public ResponseEntity<ActivityFeedResponse> getActivityFeed(
             @RequestParam(defaultValue = "20") int limit) {
         ActivityFeedResponse activity = dashboardService.getActivityFeed(limit);
@@ -44,6 +47,7 @@ public class DashboardController {
      * Includes: monthly trends, weekly patterns, zone distribution
      */
     @GetMapping("/charts")
+    @ConditionalGet(value = {"dog_reports", "adoptions"}, varyEvery = 60)
     public ResponseEntity<ChartDataResponse> getChartData(
             @RequestParam(defaultValue = "6") int months) {
         ChartDataResponse chartData = dashboardService.getChartData(months);
@@ -54,6 +58,7 @@ public class DashboardController {
      * Get zone-wise statistics breakdown
      */
     @GetMapping("/zones")
+    @ConditionalGet("dog_reports")
     public ResponseEntity<Map<String, Object>> getZoneStatistics() {
         Map<String, Object> zoneStats = dashboardService.getZoneStatistics();
         return ResponseEntity.ok(zoneStats);
@@ -63,6 +68,7 @@ public class DashboardController {
      * Get quick stats for hero section
      */
     @GetMapping("/quick-stats")
+    @ConditionalGet(value = "dog_reports", varyEvery = 60)
     public ResponseEntity<Map<String, Object>> getQuickStats() {
         Map<String, Object> quickStats = dashboardService.getQuickStats();
         return ResponseEntity.ok(quickStats);
@@ -1,6 +1,11 @@
 package com.straydogcare.controller;
 
+import com.straydogcare.config.ConditionalGet;
+import com.straydogcare.dto.AdopterProfile;
+import com.straydogcare.dto.AdoptionDogSearchRequest;
+import com.straydogcare.dto.AdoptionDogSearchResponse;
 import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.DogRecommendationResponse;
 import com.straydogcare.model.AdoptionDog;
 import com.straydogcare.service.DogService;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +25,7 @@ public class DogController {
     private final DogService dogService;
     
     @GetMapping
+    @ConditionalGet("adoption_dogs")
     public ResponseEntity<ApiResponse<List<AdoptionDog>>> getAllDogs(
             @RequestParam(required = false) String status
     ) {
@@ -34,7 +40,26 @@ public class DogController {
         return ResponseEntity.ok(ApiResponse.success(dogs));
     }
     
+    @GetMapping("/search")
+    @ConditionalGet("adoption_dogs")
+    public ResponseEntity<ApiResponse<AdoptionDogSearchResponse>> searchDogs(
+            @ModelAttribute AdoptionDogSearchRequest request
+    ) {
+        AdoptionDogSearchResponse response = dogService.searchDogs(request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+    
+    @PostMapping("/recommendations")
+    public ResponseEntity<ApiResponse<List<DogRecommendationResponse>>> recommendDogs(
+            @RequestBody AdopterProfile profile,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<DogRecommendationResponse> recommendations = dogService.recommendDogs(profile, limit);
+        return ResponseEntity.ok(ApiResponse.success(recommendations));
+    }
+    
     @GetMapping("/{id}")
+    @ConditionalGet("adoption_dogs")
     public ResponseEntity<ApiResponse<AdoptionDog>> getDogById(@PathVariable String id) {
         AdoptionDog dog = dogService.getDogById(id);
         return ResponseEntity.ok(ApiResponse.success(dog));
@@ -1,14 +1,24 @@
 package com.straydogcare.controller;
 
 import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.DispatchCandidateResponse;
+import com.straydogcare.dto.TriageItemResponse;
 import com.straydogcare.model.DogReport;
 import com.straydogcare.service.DogReportService;
+import com.straydogcare.service.ExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +28,7 @@ import java.util.Map;
 public class DogReportController {
     
     private final DogReportService dogReportService;
+    private final ExportService exportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<DogReport>>> getAllReports(
@@ -40,6 +51,33 @@ public class DogReportController {
         return ResponseEntity.ok(ApiResponse.success(reports));
     }
     
+    @GetMapping("/triage")
+    public ResponseEntity<ApiResponse<List<TriageItemResponse>>> getTriageQueue(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        List<TriageItemResponse> queue = dogReportService.getTriageQueue(limit);
+        return ResponseEntity.ok(ApiResponse.success(queue));
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDogReports(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String format
+    ) {
+        ExportService.Format exportFormat = ExportService.Format.resolve(format);
+        DogReport.Status exportStatus = status != null ? DogReport.Status.valueOf(status.toUpperCase()) : null;
+        StreamingResponseBody body = output -> exportService.exportDogReports(from, to, exportStatus, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("dog-reports-" + LocalDate.now() + "." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<DogReport>> getReportById(@PathVariable String id) {
         DogReport report = dogReportService.getReportById(id);
@@ -57,8 +95,11 @@ public class DogReportController {
         }
         
         DogReport created = dogReportService.createReport(report);
+        String message = created.getDuplicateOf() != null
+                ? "Report linked to an existing case"
+                : "Report created successfully";
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Report created successfully", created));
+                .body(ApiResponse.success(message, created));
     }
     
     @PutMapping("/{id}")
@@ -80,15 +121,28 @@ public class DogReportController {
         return ResponseEntity.ok(ApiResponse.success("Report assigned to volunteer", updated));
     }
     
+    @GetMapping("/{id}/candidates")
+    public ResponseEntity<ApiResponse<List<DispatchCandidateResponse>>> getDispatchCandidates(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        List<DispatchCandidateResponse> candidates = dogReportService.getDispatchCandidates(id, limit);
+        return ResponseEntity.ok(ApiResponse.success(candidates));
+    }
+    
+    @PostMapping("/{id}/auto-assign")
+    public ResponseEntity<ApiResponse<DogReport>> autoAssign(@PathVariable String id) {
+        DogReport updated = dogReportService.autoAssign(id);
+        return ResponseEntity.ok(ApiResponse.success("Report assigned to best matching volunteer", updated));
+    }
+    
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApiResponse<DogReport>> updateReportStatus(
             @PathVariable String id,
             @RequestBody Map<String, String> payload
     ) {
         DogReport.Status status = DogReport.Status.valueOf(payload.get("status").toUpperCase());
-        DogReport report = dogReportService.getReportById(id);
-        report.setStatus(status);
-        DogReport updated = dogReportService.updateReport(id, report);
+        DogReport updated = dogReportService.updateStatus(id, status);
         return ResponseEntity.ok(ApiResponse.success("Report status updated", updated));
     }
     
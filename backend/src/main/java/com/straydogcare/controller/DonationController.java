@@ -1,14 +1,24 @@
 package com.straydogcare.controller;
 
 import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.DonationTotalsResponse;
 import com.straydogcare.model.Donation;
 import com.straydogcare.service.DonationService;
+import com.straydogcare.service.ExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +28,7 @@ import java.util.Map;
 public class DonationController {
     
     private final DonationService donationService;
+    private final ExportService exportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<Donation>>> getAllDonations() {
@@ -25,6 +36,25 @@ public class DonationController {
         return ResponseEntity.ok(ApiResponse.success(donations));
     }
     
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDonations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String format
+    ) {
+        ExportService.Format exportFormat = ExportService.Format.resolve(format);
+        Donation.Status exportStatus = status != null ? Donation.Status.valueOf(status.toUpperCase()) : null;
+        StreamingResponseBody body = output -> exportService.exportDonations(from, to, exportStatus, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("donations-" + LocalDate.now() + "." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Donation>> getDonationById(@PathVariable String id) {
         Donation donation = donationService.getDonationById(id);
@@ -53,8 +83,19 @@ public class DonationController {
     }
     
     @GetMapping("/total")
-    public ResponseEntity<ApiResponse<Map<String, Double>>> getTotalDonations() {
-        Double total = donationService.getTotalDonations();
+    public ResponseEntity<ApiResponse<Map<String, BigDecimal>>> getTotalDonations(
+            @RequestParam(required = false) String purpose
+    ) {
+        BigDecimal total = donationService.getTotalDonations(purpose);
         return ResponseEntity.ok(ApiResponse.success(Map.of("total", total)));
     }
+    
+    @GetMapping("/totals")
+    public ResponseEntity<ApiResponse<DonationTotalsResponse>> getTotalsInPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        DonationTotalsResponse totals = donationService.getTotalDonationsInPeriod(from, to);
+        return ResponseEntity.ok(ApiResponse.success(totals));
+    }
 }
@@ -1,5 +1,6 @@
 package com.straydogcare.controller;
 
+import com.straydogcare.config.ConditionalGet;
 import com.straydogcare.dto.ApiResponse;
 import com.straydogcare.model.ForumPost;
 import com.straydogcare.service.ForumService;
@@ -19,6 +20,7 @@ public class ForumController {
     private final ForumService forumService;
     
     @GetMapping
+    @ConditionalGet("forum_posts")
     public ResponseEntity<ApiResponse<List<ForumPost>>> getAllPosts(
             @RequestParam(required = false) String category
     ) {
@@ -34,11 +36,20 @@ public class ForumController {
     }
     
     @GetMapping("/pinned")
+    @ConditionalGet("forum_posts")
     public ResponseEntity<ApiResponse<List<ForumPost>>> getPinnedPosts() {
         List<ForumPost> posts = forumService.getPinnedPosts();
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
     
+    @GetMapping("/search")
+    @ConditionalGet("forum_posts")
+    public ResponseEntity<ApiResponse<List<ForumPost>>> searchPosts(@RequestParam String q) {
+        List<ForumPost> posts = forumService.searchPosts(q);
+        return ResponseEntity.ok(ApiResponse.success(posts));
+    }
+    
+    // Not conditional: every read counts a view
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ForumPost>> getPostById(@PathVariable String id) {
         ForumPost post = forumService.getPostById(id);
@@ -1,13 +1,21 @@
 package com.straydogcare.controller;
 
 import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.VaccinationImportResponse;
 import com.straydogcare.model.Vaccination;
+import com.straydogcare.model.VaccinationDue;
+import com.straydogcare.service.VaccinationImportService;
 import com.straydogcare.service.VaccinationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +24,7 @@ import java.util.List;
 public class VaccinationController {
     
     private final VaccinationService vaccinationService;
+    private final VaccinationImportService vaccinationImportService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<Vaccination>>> getAllVaccinations(
@@ -35,6 +44,15 @@ public class VaccinationController {
         return ResponseEntity.ok(ApiResponse.success(vaccinations));
     }
     
+    @GetMapping("/due")
+    public ResponseEntity<ApiResponse<List<VaccinationDue>>> getDueVaccinations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<VaccinationDue> due = vaccinationService.getDueVaccinations(from, to);
+        return ResponseEntity.ok(ApiResponse.success(due));
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Vaccination>> getVaccinationById(@PathVariable String id) {
         Vaccination vaccination = vaccinationService.getVaccinationById(id);
@@ -54,6 +72,27 @@ public class VaccinationController {
                 .body(ApiResponse.success("Vaccination record created", created));
     }
     
+    /**
+     * Bulk import from a CSV (with header row) or NDJSON file; rows that fail are reported, not fatal
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ApiResponse<VaccinationImportResponse>> importVaccinations(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format
+    ) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Import file is empty"));
+        }
+        VaccinationImportService.Format resolved =
+                VaccinationImportService.Format.resolve(format, file.getOriginalFilename());
+        try (InputStream input = file.getInputStream()) {
+            VaccinationImportResponse result = vaccinationImportService.importRecords(input, resolved);
+            return ResponseEntity.ok(ApiResponse.success("Vaccination import finished", result));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import file: " + e.getMessage());
+        }
+    }
+    
     @PostMapping("/{id}/records")
     public ResponseEntity<ApiResponse<Vaccination>> addVaccinationRecord(
             @PathVariable String id,
@@ -1,5 +1,6 @@
 package com.straydogcare.controller;
 
+import com.straydogcare.config.ConditionalGet;
 import com.straydogcare.dto.ApiResponse;
 import com.straydogcare.model.Volunteer;
 import com.straydogcare.service.VolunteerService;
@@ -20,6 +21,7 @@ public class VolunteerController {
     private final VolunteerService volunteerService;
     
     @GetMapping
+    @ConditionalGet("volunteers")
     public ResponseEntity<ApiResponse<List<Volunteer>>> getAllVolunteers(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String area
@@ -38,6 +40,7 @@ public class VolunteerController {
     }
     
     @GetMapping("/{id}")
+    @ConditionalGet("volunteers")
     public ResponseEntity<ApiResponse<Volunteer>> getVolunteerById(@PathVariable String id) {
         Volunteer volunteer = volunteerService.getVolunteerById(id);
         return ResponseEntity.ok(ApiResponse.success(volunteer));
@@ -1,11 +1,13 @@
 package com.straydogcare.controller;
 
 import com.straydogcare.dto.ApiResponse;
+import com.straydogcare.dto.PageResponse;
 import com.straydogcare.model.VolunteerTask;
 import com.straydogcare.service.VolunteerTaskService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -55,12 +57,26 @@ public class VolunteerTaskController {
     }
     
     @GetMapping("/my-tasks")
-    public ResponseEntity<ApiResponse<List<VolunteerTask>>> getMyTasks() {
+    public ResponseEntity<ApiResponse<PageResponse<VolunteerTask>>> getMyTasks(
+            Authentication authentication,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid page: page must be at least 0 and size at least 1"));
+        }
         try {
-            // This endpoint should be secured and get the current user's volunteer ID from the security context
-            // For now, it returns all tasks (you can implement authentication to filter by current user)
-            List<VolunteerTask> tasks = taskService.getAllTasks();
+            VolunteerTask.Status taskStatus = status != null ? VolunteerTask.Status.valueOf(status.toUpperCase()) : null;
+            PageResponse<VolunteerTask> tasks = PageResponse.of(
+                    taskService.getTasksForPrincipal(authentication.getName(), taskStatus, page, Math.min(size, 100)));
             return ResponseEntity.ok(ApiResponse.success(tasks));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid status: " + status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to fetch your tasks: " + e.getMessage()));
@@ -0,0 +1,33 @@
+package com.straydogcare.dto;
+
+import com.straydogcare.model.AdoptionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The household facts an adoption request captures, used to rank compatible dogs
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdopterProfile {
+    
+    private String livingSpace; // APARTMENT, HOUSE, FARM
+    private boolean hasYard;
+    private boolean hasPets;
+    private boolean hasChildren;
+    private String experienceWithDogs; // free text
+    
+    public static AdopterProfile from(AdoptionRequest request) {
+        return AdopterProfile.builder()
+                .livingSpace(request.getLivingSpace())
+                .hasYard(request.isHasYard())
+                .hasPets(request.isHasPets())
+                .hasChildren(request.isHasChildren())
+                .experienceWithDogs(request.getExperienceWithDogs())
+                .build();
+    }
+}
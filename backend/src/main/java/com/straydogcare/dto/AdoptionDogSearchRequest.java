@@ -0,0 +1,29 @@
+package com.straydogcare.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Filters for the adoptable dog search; every field is optional and list fields
+ * accept comma-separated values (any of them matches)
+ */
+@Data
+public class AdoptionDogSearchRequest {
+    
+    private List<String> size;
+    private List<String> gender;
+    private List<String> breed;
+    private List<String> status;
+    
+    private Integer minAge; // in months, inclusive
+    private Integer maxAge; // in months, inclusive
+    
+    private Boolean vaccinated;
+    private Boolean neutered;
+    private Boolean goodWithKids;
+    private Boolean goodWithPets;
+    
+    private Integer page = 0;
+    private Integer pageSize = 20;
+}
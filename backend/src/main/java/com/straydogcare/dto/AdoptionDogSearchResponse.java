@@ -0,0 +1,21 @@
+package com.straydogcare.dto;
+
+import com.straydogcare.model.AdoptionDog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdoptionDogSearchResponse {
+    
+    private PageResponse<AdoptionDog> results;
+    
+    // Facet name -> value -> number of matching dogs, e.g. size -> {SMALL: 4, LARGE: 2}
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,23 @@
+package com.straydogcare.dto;
+
+import com.straydogcare.model.Volunteer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchCandidateResponse {
+    
+    private String volunteerId;
+    private String name;
+    private Volunteer.Role role;
+    private String availability;
+    private Double distanceKm; // null when matched by area only
+    private Integer activeCases;
+    private Integer completedCases;
+    private Double score; // 0-1, higher is a better match
+}
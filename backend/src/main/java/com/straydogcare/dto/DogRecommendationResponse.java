@@ -0,0 +1,20 @@
+package com.straydogcare.dto;
+
+import com.straydogcare.model.AdoptionDog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DogRecommendationResponse {
+    
+    private AdoptionDog dog;
+    private Double score; // higher is a better fit; only comparable within one request
+    private List<String> reasons;
+}
@@ -0,0 +1,24 @@
+package com.straydogcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationTotalsResponse {
+    
+    private LocalDateTime from; // inclusive
+    private LocalDateTime to; // exclusive
+    private BigDecimal total;
+    private Long count;
+    private Map<String, BigDecimal> byPurpose;
+    private String source; // "ledger" for whole-day ranges, "aggregation" otherwise
+}
@@ -0,0 +1,30 @@
+package com.straydogcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexStatusResponse {
+
+    public enum Status {
+        OK, CREATED, REPLACED, MISSING, CHANGED, UNPLANNED, FAILED
+    }
+
+    private String collection;
+    private String name;
+    private String keys;
+    private Status status;
+    private String detail; // What differs, or why the build failed
+    private Long buildMs; // Only for indexes built during this startup
+    private String servedQueries;
+
+    public boolean isDrift() {
+        return status == Status.MISSING || status == Status.CHANGED
+                || status == Status.UNPLANNED || status == Status.FAILED;
+    }
+}
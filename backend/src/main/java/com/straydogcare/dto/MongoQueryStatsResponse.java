@@ -0,0 +1,38 @@
+package com.straydogcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MongoQueryStatsResponse {
+
+    private String collection;
+    private String command;
+    private String shape; // Command with every literal value replaced by "?"
+
+    private long count;
+    private long failures;
+    private long slowCount;
+    private double totalMs;
+    private double meanMs;
+    private double maxMs;
+    private long docsReturned;
+    private Map<String, Long> callers; // Service method -> calls
+
+    // From the most recent sampled explain, if any
+    private String plan; // e.g. COLLSCAN, IXSCAN
+    private boolean collectionScan;
+    private Long docsExamined;
+    private Long keysExamined;
+    private Long explainReturned;
+    private Double examinedPerReturned;
+    private LocalDateTime explainedAt;
+}
@@ -0,0 +1,31 @@
+package com.straydogcare.dto;
+
+import com.straydogcare.model.DogReport;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TriageItemResponse {
+    
+    private String reportId;
+    private String dogName;
+    private DogReport.Condition condition;
+    private DogReport.Status status;
+    private Integer priority;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private String assignedTo;
+    private LocalDateTime createdAt;
+    
+    private Double nearestVolunteerKm; // null when report or volunteers have no coordinates
+    private Long waitingMinutes;
+    private Long urgencyScore; // higher is more urgent, grows as the case waits
+}
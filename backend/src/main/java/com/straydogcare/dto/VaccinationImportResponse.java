@@ -0,0 +1,31 @@
+package com.straydogcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VaccinationImportResponse {
+
+    private Integer totalRows;
+    private Integer importedRows;
+    private Integer failedRows;
+    private Integer dogsUpdated;
+
+    private List<RowError> errors;
+    private Boolean errorsTruncated; // true when more rows failed than are listed
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer line;
+        private String message;
+    }
+}
@@ -25,6 +25,7 @@ public class AdoptionDog {
     private boolean goodWithPets;
     private String specialNeeds;
     private String status; // AVAILABLE, PENDING, ADOPTED
+    private int pendingRequestCount; // open adoption requests, maintained with $inc
     private String addedBy; // user ID who added the dog
     private LocalDateTime addedDate;
     private LocalDateTime updatedDate;
@@ -203,6 +204,14 @@ public class AdoptionDog {
         this.updatedDate = LocalDateTime.now();
     }
 
+    public int getPendingRequestCount() {
+        return pendingRequestCount;
+    }
+
+    public void setPendingRequestCount(int pendingRequestCount) {
+        this.pendingRequestCount = pendingRequestCount;
+    }
+
     public String getAddedBy() {
         return addedBy;
     }
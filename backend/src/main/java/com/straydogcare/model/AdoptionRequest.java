@@ -23,7 +23,7 @@ public class AdoptionRequest {
     private String childrenAges;
     private String experienceWithDogs;
     private String reason;
-    private String status; // PENDING, APPROVED, REJECTED
+    private String status; // PENDING, APPROVED, REJECTED, WITHDRAWN
     private String reviewedBy; // admin user ID
     private String rejectionReason;
     private LocalDateTime requestDate;
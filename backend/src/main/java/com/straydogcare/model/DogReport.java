@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -40,6 +41,9 @@ public class DogReport {
     private List<Note> notes = new ArrayList<>();
     private List<String> tags = new ArrayList<>();
     
+    private String duplicateOf; // Original report ID when this was a repeat sighting
+    private List<Sighting> sightings = new ArrayList<>(); // Repeat sightings linked to this case
+    
     private Integer priority = 3; // 1-5, 1 being highest
     private LocalDateTime rescueDate;
     
@@ -49,6 +53,9 @@ public class DogReport {
     @LastModifiedDate
     private LocalDateTime updatedAt;
     
+    @Version
+    private Long version; // Optimistic concurrency; bumped by every partial update
+    
     public enum Condition {
         HEALTHY, INJURED, SICK, MALNOURISHED, CRITICAL
     }
@@ -65,4 +72,16 @@ public class DogReport {
         private String addedBy;
         private LocalDateTime addedAt = LocalDateTime.now();
     }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sighting {
+        private String reportId;
+        private String reportedBy;
+        private String photoUrl;
+        private Condition condition;
+        private String description;
+        private LocalDateTime seenAt = LocalDateTime.now();
+    }
 }
@@ -37,6 +37,17 @@ public class Donation {
     private LocalDateTime createdAt;
     
     private LocalDateTime completedAt;
+    private Boolean ledgerRecorded; // false from COMPLETED until DonationLedgerService has counted it
+    private LocalDateTime ledgerClaimedAt; // lease of the DonationLedgerService call recording it
+    
+    // Tax receipt outbox, written together with the COMPLETED transition
+    private ReceiptStatus receiptStatus;
+    private int receiptAttempts = 0;
+    private LocalDateTime receiptNextAttemptAt; // next retry, or lease expiry while SENDING
+    private String receiptClaimId;
+    private String receiptNumber;
+    private String receiptError;
+    private LocalDateTime receiptSentAt;
     
     public enum PaymentMethod {
         UPI, PAYPAL, CREDIT_CARD, DEBIT_CARD, BANK_TRANSFER
@@ -45,4 +56,8 @@ public class Donation {
     public enum Status {
         PENDING, COMPLETED, FAILED, REFUNDED
     }
+    
+    public enum ReceiptStatus {
+        PENDING, SENDING, SENT, FAILED, SKIPPED
+    }
 }
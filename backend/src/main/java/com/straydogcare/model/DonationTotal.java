@@ -0,0 +1,40 @@
+package com.straydogcare.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running total of completed donations, either for one day and purpose or for all time
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "donation_totals")
+public class DonationTotal {
+    
+    @Id
+    private String id; // day:<yyyy-MM-dd>:<purpose>, lifetime:<purpose> or lifetime:*
+    
+    private Scope scope;
+    private LocalDate date; // null for lifetime totals
+    private String purpose; // "*" for the grand total
+    
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+    
+    private Long count;
+    private LocalDateTime updatedAt;
+    
+    public enum Scope {
+        DAY, LIFETIME
+    }
+}
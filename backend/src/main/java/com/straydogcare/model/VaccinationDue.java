@@ -0,0 +1,39 @@
+package com.straydogcare.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of the next booster per (dog, vaccine type), kept in sync by
+ * VaccinationService so due-date lookups never load whole vaccination documents.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "vaccination_due")
+public class VaccinationDue {
+
+    @Id
+    private String id; // <vaccinationId>:<vaccineType>
+
+    private String vaccinationId;
+
+    private String dogReportId;
+    private String dogName;
+    private Vaccination.VaccineType vaccineType;
+    private String vaccineName;
+    private LocalDate lastAdministered;
+    private LocalDate nextDueDate;
+
+    private String vetId;
+    private String vetName;
+    private String location;
+
+    private LocalDateTime reminderSentAt;
+}
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -26,6 +27,7 @@ public class Volunteer {
     private String contact;
     private String email;
     private String area;
+    private GeoJsonPoint coordinates; // Base location used for dispatch distance
     private Role role;
     private Status status = Status.PENDING;
     
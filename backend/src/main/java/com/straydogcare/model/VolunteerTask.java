@@ -8,6 +8,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -25,11 +26,18 @@ public class VolunteerTask {
     private String description;
     private Priority priority = Priority.MEDIUM;
     private Status status = Status.PENDING;
-    private String dueDate; // ISO date string
-    private String assignedDate; // ISO date string
-    private String completedDate; // ISO date string
+    private LocalDate dueDate;
+    private LocalDateTime assignedDate;
+    private LocalDateTime completedDate;
     private String notes;
     
+    private LocalDateTime reminderSentAt; // Set by the due-date sweeper
+    private LocalDateTime overdueNotifiedAt; // Set by the due-date sweeper
+    
+    private String legacyDueDate; // Unparseable string moved aside by VolunteerTaskDateMigration
+    private String legacyAssignedDate; // Unparseable string moved aside by VolunteerTaskDateMigration
+    private String legacyCompletedDate; // Unparseable string moved aside by VolunteerTaskDateMigration
+    
     @CreatedDate
     private LocalDateTime createdAt;
     
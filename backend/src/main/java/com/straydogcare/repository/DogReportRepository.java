@@ -4,7 +4,10 @@ import com.straydogcare.model.DogReport;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DogReportRepository extends MongoRepository<DogReport, String> {
@@ -14,4 +17,6 @@ public interface DogReportRepository extends MongoRepository<DogReport, String>
     List<DogReport> findByAssignedTo(String assignedTo);
     List<DogReport> findByReportedBy(String reportedBy);
     List<DogReport> findByStatusOrderByPriorityAscCreatedAtDesc(DogReport.Status status);
+    Stream<DogReport> findByStatusIn(Collection<DogReport.Status> statuses);
+    Stream<DogReport> findByStatusInAndCreatedAtAfter(Collection<DogReport.Status> statuses, LocalDateTime createdAt);
 }
@@ -1,6 +1,7 @@
 package com.straydogcare.repository;
 
 import com.straydogcare.model.ForumPost;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +13,5 @@ public interface ForumPostRepository extends MongoRepository<ForumPost, String>
     List<ForumPost> findByAuthorId(String authorId);
     List<ForumPost> findByPinnedTrue();
     List<ForumPost> findAllByOrderByCreatedAtDesc();
+    List<ForumPost> findAllByOrderByCreatedAtDesc(TextCriteria criteria);
 }
@@ -0,0 +1,10 @@
+package com.straydogcare.repository;
+
+import com.straydogcare.model.VaccinationDue;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface VaccinationDueRepository extends MongoRepository<VaccinationDue, String> {
+    void deleteByVaccinationId(String vaccinationId);
+}
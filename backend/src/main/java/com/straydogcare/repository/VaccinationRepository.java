@@ -6,10 +6,12 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface VaccinationRepository extends MongoRepository<Vaccination, String> {
     Optional<Vaccination> findByDogReportId(String dogReportId);
     List<Vaccination> findByVetId(String vetId);
     List<Vaccination> findByLocation(String location);
+    Stream<Vaccination> streamAllBy();
 }
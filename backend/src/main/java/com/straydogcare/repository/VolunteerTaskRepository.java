@@ -1,6 +1,8 @@
 package com.straydogcare.repository;
 
 import com.straydogcare.model.VolunteerTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +13,6 @@ public interface VolunteerTaskRepository extends MongoRepository<VolunteerTask,
     List<VolunteerTask> findByVolunteerId(String volunteerId);
     List<VolunteerTask> findByStatus(VolunteerTask.Status status);
     List<VolunteerTask> findByVolunteerIdAndStatus(String volunteerId, VolunteerTask.Status status);
+    Page<VolunteerTask> findByVolunteerId(String volunteerId, Pageable pageable);
+    Page<VolunteerTask> findByVolunteerIdAndStatus(String volunteerId, VolunteerTask.Status status, Pageable pageable);
 }
@@ -0,0 +1,407 @@
+package com.straydogcare.service;
+
+import com.straydogcare.dto.AdoptionDogSearchRequest;
+import com.straydogcare.dto.AdoptionDogSearchResponse;
+import com.straydogcare.dto.PageResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.repository.AdoptionDogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over AVAILABLE adoption dogs.
+ *
+ * Every dog gets a dense slot number and every attribute value (size, gender, breed,
+ * age bucket and the boolean flags) keeps a bitmap of the slots that have it. A
+ * search ORs the bitmaps of the requested values per attribute and ANDs the attributes
+ * together. Facets are disjunctive: each attribute's values are counted against the AND of
+ * every other attribute's filter, as the cardinality of that AND each value bitmap.
+ * Freed slots are reused, so the bitmaps stay as dense as the catalogue itself.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdoptionDogBitmapIndex {
+
+    public static final String AVAILABLE = "AVAILABLE";
+
+    private static final int BREED_FACET_LIMIT = 20;
+    private static final int[] AGE_BUCKET_BOUNDS = {0, 6, 12, 36, 84};
+    private static final String UNKNOWN = "unknown";
+    private static final List<String> VALUE_ATTRIBUTES = List.of("size", "gender", "breed", "age");
+    private static final List<String> FLAG_ATTRIBUTES = List.of("vaccinated", "neutered", "goodWithKids", "goodWithPets");
+
+    private static final Comparator<AdoptionDog> NEWEST_FIRST = Comparator
+            .comparing(AdoptionDog::getAddedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(AdoptionDog::getId);
+
+    private final AdoptionDogRepository adoptionDogRepository;
+
+    @Value("${application.dogs.bitmap-index-enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final List<AdoptionDog> dogsBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+    private volatile boolean ready;
+
+    @Order(3)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<AdoptionDog> available = adoptionDogRepository.findByStatus(AVAILABLE);
+        lock.writeLock().lock();
+        try {
+            slotById.clear();
+            dogsBySlot.clear();
+            freeSlots.clear();
+            live.clear();
+            bitmaps.clear();
+            available.forEach(this::insertLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Adoption dog bitmap index rebuilt with {} dogs in {} ms",
+                available.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Index or re-index a dog; dogs that are not AVAILABLE are dropped
+     */
+    public void upsert(AdoptionDog dog) {
+        if (!enabled || dog == null || dog.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(dog.getId());
+            if (AVAILABLE.equals(dog.getStatus())) {
+                insertLocked(dog);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String dogId) {
+        if (!enabled || dogId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(dogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Only searches whose status filter is exactly [AVAILABLE] can be answered here. A search
+     * without a status filter matches every status in Mongo, so it is left to the Mongo path
+     * rather than silently narrowed to the dogs this index holds; adopter-facing searches
+     * should ask for status=AVAILABLE explicitly.
+     */
+    public boolean canServe(AdoptionDogSearchRequest request) {
+        if (!enabled || !ready) {
+            return false;
+        }
+        List<String> statuses = clean(request.getStatus());
+        return statuses.size() == 1 && statuses.get(0).equals(AVAILABLE);
+    }
+
+    /**
+     * Same contract as the Mongo faceted search, answered without touching the database
+     */
+    public AdoptionDogSearchResponse search(AdoptionDogSearchRequest request, int page, int pageSize) {
+        lock.readLock().lock();
+        try {
+            // Attribute -> slots its filter lets through, for the filtered attributes only
+            Map<String, BitSet> filters = new HashMap<>();
+            matchAny(filters, "size", request.getSize());
+            matchAny(filters, "gender", request.getGender());
+            matchAny(filters, "breed", request.getBreed());
+            matchFlag(filters, "vaccinated", request.getVaccinated());
+            matchFlag(filters, "neutered", request.getNeutered());
+            matchFlag(filters, "goodWithKids", request.getGoodWithKids());
+            matchFlag(filters, "goodWithPets", request.getGoodWithPets());
+            matchAgeRange(filters, request.getMinAge(), request.getMaxAge());
+            BitSet result = matching(filters, null);
+
+            long total = result.cardinality();
+            int from = (int) Math.min((long) page * pageSize, total);
+            int to = (int) Math.min(from + pageSize, total);
+
+            return AdoptionDogSearchResponse.builder()
+                    .results(PageResponse.<AdoptionDog>builder()
+                            .content(List.copyOf(newest(result, to).subList(from, to)))
+                            .page(page)
+                            .size(pageSize)
+                            .totalElements(total)
+                            .totalPages((int) ((total + pageSize - 1) / pageSize))
+                            .build())
+                    .facets(facets(filters, result, total))
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Label of the age bucket a dog falls in, shared with the Mongo $bucket facet
+     */
+    public static String ageBucket(Integer ageMonths) {
+        if (ageMonths == null || ageMonths < AGE_BUCKET_BOUNDS[0]) {
+            return UNKNOWN;
+        }
+        for (int i = AGE_BUCKET_BOUNDS.length - 1; i >= 0; i--) {
+            if (ageMonths >= AGE_BUCKET_BOUNDS[i]) {
+                return ageBucketLabel(i);
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Label for a bucket given its lower bound, or null if the bound is not a bucket boundary
+     */
+    public static String ageBucketForLowerBound(int lowerBound) {
+        for (int i = 0; i < AGE_BUCKET_BOUNDS.length; i++) {
+            if (AGE_BUCKET_BOUNDS[i] == lowerBound) {
+                return ageBucketLabel(i);
+            }
+        }
+        return null;
+    }
+
+    public static int[] ageBucketBounds() {
+        return AGE_BUCKET_BOUNDS.clone();
+    }
+
+    // Helper methods
+
+    private void insertLocked(AdoptionDog dog) {
+        int slot = freeSlots.isEmpty() ? dogsBySlot.size() : freeSlots.pop();
+        if (slot == dogsBySlot.size()) {
+            dogsBySlot.add(dog);
+        } else {
+            dogsBySlot.set(slot, dog);
+        }
+        slotById.put(dog.getId(), slot);
+        live.set(slot);
+        attributes(dog).forEach((attribute, value) -> bitmaps
+                .computeIfAbsent(attribute, a -> new HashMap<>())
+                .computeIfAbsent(value, v -> new BitSet())
+                .set(slot));
+    }
+
+    private void removeLocked(String dogId) {
+        Integer slot = slotById.remove(dogId);
+        if (slot == null) {
+            return;
+        }
+        AdoptionDog previous = dogsBySlot.set(slot, null);
+        live.clear(slot);
+        attributes(previous).forEach((attribute, value) -> {
+            Map<String, BitSet> values = bitmaps.get(attribute);
+            BitSet bitmap = values != null ? values.get(value) : null;
+            if (bitmap != null) {
+                bitmap.clear(slot);
+                if (bitmap.isEmpty()) {
+                    values.remove(value);
+                }
+            }
+        });
+        freeSlots.push(slot);
+    }
+
+    private static Map<String, String> attributes(AdoptionDog dog) {
+        Map<String, String> attributes = new HashMap<>();
+        attributes.put("size", dog.getSize() != null ? dog.getSize() : UNKNOWN);
+        attributes.put("gender", dog.getGender() != null ? dog.getGender() : UNKNOWN);
+        attributes.put("breed", dog.getBreed() != null ? dog.getBreed() : UNKNOWN);
+        attributes.put("age", ageBucket(dog.getAge()));
+        attributes.put("vaccinated", String.valueOf(dog.isVaccinated()));
+        attributes.put("neutered", String.valueOf(dog.isNeutered()));
+        attributes.put("goodWithKids", String.valueOf(dog.isGoodWithKids()));
+        attributes.put("goodWithPets", String.valueOf(dog.isGoodWithPets()));
+        return attributes;
+    }
+
+    /**
+     * The {@code count} newest matches, newest first. A bounded heap keeps this O(n log count)
+     * instead of sorting every match when only the first pages are ever asked for.
+     */
+    private List<AdoptionDog> newest(BitSet result, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        PriorityQueue<AdoptionDog> oldestOnTop = new PriorityQueue<>(count + 1, NEWEST_FIRST.reversed());
+        for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+            AdoptionDog dog = dogsBySlot.get(slot);
+            if (oldestOnTop.size() < count) {
+                oldestOnTop.add(dog);
+            } else if (NEWEST_FIRST.compare(dog, oldestOnTop.peek()) < 0) {
+                oldestOnTop.poll();
+                oldestOnTop.add(dog);
+            }
+        }
+        List<AdoptionDog> newest = new ArrayList<>(oldestOnTop);
+        newest.sort(NEWEST_FIRST);
+        return newest;
+    }
+
+    private void matchAny(Map<String, BitSet> filters, String attribute, List<String> requested) {
+        List<String> values = clean(requested);
+        if (values.isEmpty()) {
+            return;
+        }
+        Map<String, BitSet> valueBitmaps = bitmaps.getOrDefault(attribute, Map.of());
+        BitSet any = new BitSet();
+        for (String value : values) {
+            BitSet bitmap = valueBitmaps.get(value);
+            if (bitmap != null) {
+                any.or(bitmap);
+            }
+        }
+        filters.put(attribute, any);
+    }
+
+    private void matchFlag(Map<String, BitSet> filters, String attribute, Boolean requested) {
+        if (requested == null) {
+            return;
+        }
+        BitSet bitmap = bitmaps.getOrDefault(attribute, Map.of()).get(String.valueOf(requested));
+        filters.put(attribute, bitmap != null ? bitmap : new BitSet());
+    }
+
+    private void matchAgeRange(Map<String, BitSet> filters, Integer minAge, Integer maxAge) {
+        if (minAge == null && maxAge == null) {
+            return;
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new RuntimeException("minAge must not be greater than maxAge");
+        }
+        // Ranges rarely line up with the buckets, so check every dog's exact age
+        BitSet inRange = new BitSet();
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            Integer age = dogsBySlot.get(slot).getAge();
+            if (age != null && (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge)) {
+                inRange.set(slot);
+            }
+        }
+        filters.put("age", inRange);
+    }
+
+    /**
+     * Live slots passing every filter except the one on {@code except}
+     */
+    private BitSet matching(Map<String, BitSet> filters, String except) {
+        BitSet result = (BitSet) live.clone();
+        filters.forEach((attribute, filter) -> {
+            if (!attribute.equals(except)) {
+                result.and(filter);
+            }
+        });
+        return result;
+    }
+
+    private Map<String, Map<String, Long>> facets(Map<String, BitSet> filters, BitSet result, long total) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facets.put("status", total > 0 ? Map.of(AVAILABLE, total) : Map.of());
+        for (String attribute : VALUE_ATTRIBUTES) {
+            facets.put(attribute, counts(filters.containsKey(attribute) ? matching(filters, attribute) : result, attribute));
+        }
+        for (String attribute : FLAG_ATTRIBUTES) {
+            facets.put(attribute, counts(filters.containsKey(attribute) ? matching(filters, attribute) : result, attribute));
+        }
+        return facets;
+    }
+
+    private Map<String, Long> counts(BitSet result, String attribute) {
+        Map<String, Long> counts = new HashMap<>();
+        bitmaps.getOrDefault(attribute, Map.of()).forEach((value, bitmap) -> {
+            BitSet intersection = (BitSet) bitmap.clone();
+            intersection.and(result);
+            int cardinality = intersection.cardinality();
+            if (cardinality > 0) {
+                counts.put(value, (long) cardinality);
+            }
+        });
+
+        if (attribute.equals("age")) {
+            // Buckets in boundary order, like $bucket
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            for (int i = 0; i < AGE_BUCKET_BOUNDS.length; i++) {
+                Long count = counts.get(ageBucketLabel(i));
+                if (count != null) {
+                    ordered.put(ageBucketLabel(i), count);
+                }
+            }
+            if (counts.containsKey(UNKNOWN)) {
+                ordered.put(UNKNOWN, counts.get(UNKNOWN));
+            }
+            return ordered;
+        }
+
+        // Most frequent first, like $sortByCount
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(attribute.equals("breed") ? BREED_FACET_LIMIT : Long.MAX_VALUE)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static String ageBucketLabel(int index) {
+        int lower = AGE_BUCKET_BOUNDS[index];
+        return index + 1 < AGE_BUCKET_BOUNDS.length
+                ? lower + "-" + (AGE_BUCKET_BOUNDS[index + 1] - 1)
+                : lower + "+";
+    }
+
+    private static List<String> clean(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+}
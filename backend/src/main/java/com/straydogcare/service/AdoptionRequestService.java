@@ -0,0 +1,312 @@
+package com.straydogcare.service;
+
+import com.straydogcare.dto.AdopterProfile;
+import com.straydogcare.dto.DogRecommendationResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.model.AdoptionRequest;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.User;
+import com.straydogcare.repository.AdoptionRequestRepository;
+import com.straydogcare.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adoption applications against catalogue dogs (AdoptionDog).
+ *
+ * Approval is a sequence of conditional updates rather than a transaction, so it
+ * also works on a standalone Mongo. The dog is claimed first (only one caller can
+ * move it to ADOPTED). The request is then moved from PENDING to APPROVED, and the
+ * dog is released again if that fails. Finally every other pending request for the
+ * dog is rejected in one updateMulti.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AdoptionRequestService {
+
+    public static final String PENDING = "PENDING";
+    public static final String APPROVED = "APPROVED";
+    public static final String REJECTED = "REJECTED";
+    public static final String WITHDRAWN = "WITHDRAWN";
+    private static final String ADOPTED = "ADOPTED";
+
+    private final AdoptionRequestRepository adoptionRequestRepository;
+    private final UserRepository userRepository;
+    private final DogService dogService;
+    private final NotificationService notificationService;
+    private final MongoTemplate mongoTemplate;
+
+    public List<AdoptionRequest> getAllRequests() {
+        return adoptionRequestRepository.findAll();
+    }
+
+    public List<AdoptionRequest> getRequestsByStatus(String status) {
+        return adoptionRequestRepository.findByStatus(status.toUpperCase());
+    }
+
+    public List<AdoptionRequest> getRequestsForDog(String dogId, String status) {
+        return status != null
+                ? adoptionRequestRepository.findByDogIdAndStatus(dogId, status.toUpperCase())
+                : adoptionRequestRepository.findByDogId(dogId);
+    }
+
+    public List<AdoptionRequest> getRequestsForUser(String email) {
+        return adoptionRequestRepository.findByUserId(getUserByEmail(email).getId());
+    }
+
+    public AdoptionRequest getRequestById(String id) {
+        return adoptionRequestRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Adoption request not found"));
+    }
+
+    /**
+     * A request as its adopter or an admin may see it; anyone else is refused
+     */
+    public AdoptionRequest getRequestById(String id, String email) {
+        AdoptionRequest request = getRequestById(id);
+        User user = getUserByEmail(email);
+        if (user.getRole() != User.Role.ADMIN && !user.getId().equals(request.getUserId())) {
+            throw new RuntimeException("You can only view your own requests");
+        }
+        return request;
+    }
+
+    /**
+     * Dogs that suit the household described in an existing request, for its adopter or an admin
+     */
+    public List<DogRecommendationResponse> recommendDogs(String id, String email, int limit) {
+        return dogService.recommendDogs(AdopterProfile.from(getRequestById(id, email)), limit);
+    }
+
+    public AdoptionRequest createRequest(AdoptionRequest request, String email) {
+        User user = getUserByEmail(email);
+        AdoptionDog dog = dogService.getDogById(request.getDogId());
+        if (ADOPTED.equals(dog.getStatus())) {
+            throw new RuntimeException("This dog has already been adopted");
+        }
+        boolean alreadyApplied = adoptionRequestRepository.findByUserIdAndStatus(user.getId(), PENDING).stream()
+                .anyMatch(existing -> existing.getDogId().equals(dog.getId()));
+        if (alreadyApplied) {
+            throw new RuntimeException("You already have a pending request for this dog");
+        }
+
+        request.setId(null);
+        request.setUserId(user.getId());
+        if (request.getUserName() == null) request.setUserName(user.getName());
+        if (request.getUserEmail() == null) request.setUserEmail(user.getEmail());
+        if (request.getUserPhone() == null) request.setUserPhone(user.getContact());
+        request.setStatus(PENDING);
+        request.setRequestDate(LocalDateTime.now());
+        request.setReviewedBy(null);
+        request.setReviewedDate(null);
+        request.setRejectionReason(null);
+
+        AdoptionRequest saved = adoptionRequestRepository.save(request);
+        if (!adjustPendingCount(dog.getId(), 1)) {
+            // The dog was adopted between the check above and the insert
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(saved.getId()).and("status").is(PENDING)),
+                    new Update().set("status", REJECTED).set("rejectionReason", "This dog has already been adopted"),
+                    AdoptionRequest.class
+            );
+            throw new OptimisticLockingFailureException("This dog has already been adopted");
+        }
+        return saved;
+    }
+
+    /**
+     * Approve one request, reject all competing ones and mark the dog ADOPTED.
+     * Concurrent approvals for the same dog resolve to exactly one winner; the others get a conflict.
+     */
+    public AdoptionRequest approveRequest(String requestId, String reviewerEmail) {
+        AdoptionRequest request = getRequestById(requestId);
+        if (!PENDING.equals(request.getStatus())) {
+            throw new RuntimeException("Only pending requests can be approved");
+        }
+        String reviewerId = getUserByEmail(reviewerEmail).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. Claim the dog; this is the step that serialises competing approvals
+        AdoptionDog previous = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(request.getDogId()).and("status").ne(ADOPTED)),
+                new Update().set("status", ADOPTED).set("updatedDate", now),
+                FindAndModifyOptions.options().returnNew(false),
+                AdoptionDog.class
+        );
+        if (previous == null) {
+            dogService.getDogById(request.getDogId());
+            throw new OptimisticLockingFailureException("This dog has already been adopted");
+        }
+
+        // 2. Approve the request, unless it was withdrawn or rejected in the meantime
+        AdoptionRequest approved = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(requestId).and("status").is(PENDING)),
+                new Update()
+                        .set("status", APPROVED)
+                        .set("reviewedBy", reviewerId)
+                        .set("reviewedDate", now),
+                FindAndModifyOptions.options().returnNew(true),
+                AdoptionRequest.class
+        );
+        if (approved == null) {
+            // Release the dog again, but only if nobody else changed it since we claimed it
+            AdoptionDog released = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(previous.getId()).and("status").is(ADOPTED).and("updatedDate").is(now)),
+                    new Update().set("status", previous.getStatus()),
+                    FindAndModifyOptions.options().returnNew(true),
+                    AdoptionDog.class
+            );
+            if (released != null) {
+                // A read in between may have cached the dog as adopted
+                dogService.refreshIndexes(released);
+            }
+            throw new OptimisticLockingFailureException("Adoption request is no longer pending");
+        }
+
+        // 3. Reject every competing application, including any that arrived after step 1
+        String rejectionReason = "Another application for this dog was approved";
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("dogId").is(request.getDogId())
+                        .and("status").is(PENDING)
+                        .and("_id").ne(requestId)),
+                new Update()
+                        .set("status", REJECTED)
+                        .set("rejectionReason", rejectionReason)
+                        .set("reviewedBy", reviewerId)
+                        .set("reviewedDate", now),
+                AdoptionRequest.class
+        );
+        Query rejectedNow = Query.query(Criteria.where("dogId").is(request.getDogId())
+                .and("status").is(REJECTED)
+                .and("reviewedDate").is(now)
+                .and("rejectionReason").is(rejectionReason));
+        rejectedNow.fields().include("userId");
+        List<AdoptionRequest> rejected = mongoTemplate.find(rejectedNow, AdoptionRequest.class);
+
+        // 4. No applications are open any more
+        AdoptionDog adopted = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(request.getDogId())),
+                new Update().set("pendingRequestCount", 0),
+                FindAndModifyOptions.options().returnNew(true),
+                AdoptionDog.class
+        );
+        dogService.refreshIndexes(adopted);
+
+        notifyApplicants(approved, rejected);
+        log.info("Adoption request {} approved for dog {}, {} competing requests rejected",
+                requestId, request.getDogId(), rejected.size());
+        return approved;
+    }
+
+    public AdoptionRequest rejectRequest(String requestId, String reason, String reviewerEmail) {
+        String reviewerId = getUserByEmail(reviewerEmail).getId();
+        Update update = new Update()
+                .set("status", REJECTED)
+                .set("rejectionReason", reason)
+                .set("reviewedBy", reviewerId)
+                .set("reviewedDate", LocalDateTime.now());
+        AdoptionRequest rejected = closePending(requestId, update);
+
+        notificationService.createNotification(
+                rejected.getUserId(),
+                "Adoption Request Update",
+                "Your adoption request was not approved" + (reason != null ? ": " + reason : ""),
+                Notification.Type.ADOPTION_UPDATE,
+                rejected.getId(),
+                "ADOPTION_REQUEST"
+        );
+        return rejected;
+    }
+
+    public AdoptionRequest withdrawRequest(String requestId, String email) {
+        AdoptionRequest request = getRequestById(requestId);
+        if (!request.getUserId().equals(getUserByEmail(email).getId())) {
+            throw new RuntimeException("You can only withdraw your own requests");
+        }
+        return closePending(requestId, new Update().set("status", WITHDRAWN));
+    }
+
+    // Helper methods
+
+    /**
+     * Move a request out of PENDING and give its slot back on the dog's counter
+     */
+    private AdoptionRequest closePending(String requestId, Update update) {
+        AdoptionRequest closed = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(requestId).and("status").is(PENDING)),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                AdoptionRequest.class
+        );
+        if (closed == null) {
+            getRequestById(requestId);
+            throw new OptimisticLockingFailureException("Adoption request is no longer pending");
+        }
+        adjustPendingCount(closed.getDogId(), -1);
+        return closed;
+    }
+
+    /**
+     * Move the dog's open-request counter; returns false when the dog is gone, or already
+     * adopted when incrementing
+     */
+    private boolean adjustPendingCount(String dogId, int delta) {
+        Criteria criteria = Criteria.where("_id").is(dogId);
+        if (delta > 0) {
+            criteria = criteria.and("status").ne(ADOPTED);
+        } else {
+            // Never go below zero, e.g. after an approval already reset the counter
+            criteria = criteria.and("pendingRequestCount").gte(-delta);
+        }
+        AdoptionDog dog = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                new Update().inc("pendingRequestCount", delta),
+                FindAndModifyOptions.options().returnNew(true),
+                AdoptionDog.class
+        );
+        if (dog == null) {
+            return false;
+        }
+        dogService.refreshIndexes(dog);
+        return true;
+    }
+
+    private void notifyApplicants(AdoptionRequest approved, List<AdoptionRequest> rejected) {
+        List<Notification> notifications = new ArrayList<>(rejected.size() + 1);
+        notifications.add(adoptionNotification(approved.getUserId(), approved.getId(),
+                "Congratulations! Your adoption request has been approved"));
+        for (AdoptionRequest request : rejected) {
+            notifications.add(adoptionNotification(request.getUserId(), request.getId(),
+                    "Another application for this dog was approved"));
+        }
+        notificationService.createNotifications(notifications);
+    }
+
+    private Notification adoptionNotification(String userId, String requestId, String message) {
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle("Adoption Request Update");
+        notification.setMessage(message);
+        notification.setType(Notification.Type.ADOPTION_UPDATE);
+        notification.setRelatedEntityId(requestId);
+        notification.setRelatedEntityType("ADOPTION_REQUEST");
+        return notification;
+    }
+
+    private User getUserByEmail(String email) {
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
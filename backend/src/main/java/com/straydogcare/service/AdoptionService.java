@@ -18,6 +18,7 @@ public class AdoptionService {
     private final AdoptionRepository adoptionRepository;
     private final DogReportRepository dogReportRepository;
     private final NotificationService notificationService;
+    private final DogReportTriageService triageService;
     
     public List<Adoption> getAllAdoptions() {
         return adoptionRepository.findAll();
@@ -119,7 +120,7 @@ public class AdoptionService {
             if (adoption.getDogReportId() != null) {
                 dogReportRepository.findById(adoption.getDogReportId()).ifPresent(dog -> {
                     dog.setStatus(DogReport.Status.COMPLETED);
-                    dogReportRepository.save(dog);
+                    triageService.upsert(dogReportRepository.save(dog));
                 });
             }
         }
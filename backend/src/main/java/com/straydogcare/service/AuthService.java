@@ -3,9 +3,12 @@ package com.straydogcare.service;
 import com.straydogcare.dto.*;
 import com.straydogcare.model.User;
 import com.straydogcare.repository.UserRepository;
+import com.straydogcare.config.CacheConfiguration;
 import com.straydogcare.config.JwtService;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +27,7 @@ public class AuthService {
     private final UserDetailsService userDetailsService;
     private final ModelMapper modelMapper = new ModelMapper();
     
+    @CacheEvict(cacheNames = CacheConfiguration.USERS, key = "#request.email")
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
@@ -72,6 +76,7 @@ public class AuthService {
                 .build();
     }
     
+    @Cacheable(cacheNames = CacheConfiguration.USERS, key = "#email")
     public UserResponse getCurrentUser(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
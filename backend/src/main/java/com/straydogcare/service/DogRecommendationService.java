@@ -0,0 +1,392 @@
+package com.straydogcare.service;
+
+import com.straydogcare.dto.AdopterProfile;
+import com.straydogcare.dto.DogRecommendationResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.repository.AdoptionDogRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranks available dogs by compatibility with an adopter's household.
+ *
+ * Each dog is reduced once, when it is indexed, to a fixed feature vector stored
+ * column-wise in primitive arrays. An adopter profile becomes a weight vector, so
+ * scoring the catalogue is a handful of multiply-add passes over float arrays
+ * (simple loops the JIT can vectorise) followed by a bounded min-heap of slot
+ * numbers. Nothing is allocated per dog; only the k winners are materialised.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DogRecommendationService {
+
+    // Feature columns
+    static final int SMALL = 0;
+    static final int MEDIUM = 1;
+    static final int LARGE = 2;
+    static final int GOOD_WITH_KIDS = 3;
+    static final int GOOD_WITH_PETS = 4;
+    static final int SPECIAL_NEEDS = 5;
+    static final int ENERGETIC = 6;
+    static final int CALM = 7;
+    static final int FEATURES = 8;
+
+    private static final int MAX_LIMIT = 50;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Set<String> ENERGETIC_WORDS = Set.of("energetic", "active", "playful", "hyper", "lively");
+    private static final Set<String> CALM_WORDS = Set.of("calm", "gentle", "quiet", "relaxed", "mellow", "docile");
+
+    private final AdoptionDogRepository adoptionDogRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private AdoptionDog[] dogs = new AdoptionDog[INITIAL_CAPACITY];
+    private float[][] columns = new float[FEATURES][INITIAL_CAPACITY];
+    private float[] baseScores = new float[INITIAL_CAPACITY]; // 0 for live slots, -inf for free ones
+    private int slots; // high-water mark of used slots
+
+    @Order(4)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<AdoptionDog> available = adoptionDogRepository.findByStatus(AdoptionDogBitmapIndex.AVAILABLE);
+        lock.writeLock().lock();
+        try {
+            slotById.clear();
+            freeSlots.clear();
+            int capacity = Math.max(INITIAL_CAPACITY, available.size());
+            dogs = new AdoptionDog[capacity];
+            columns = new float[FEATURES][capacity];
+            baseScores = new float[capacity];
+            slots = 0;
+            available.forEach(this::insertLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Dog recommendation vectors built for {} dogs in {} ms",
+                available.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Index or re-index a dog; dogs that are not AVAILABLE are dropped
+     */
+    public void upsert(AdoptionDog dog) {
+        if (dog == null || dog.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(dog.getId());
+            if (AdoptionDogBitmapIndex.AVAILABLE.equals(dog.getStatus())) {
+                insertLocked(dog);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String dogId) {
+        if (dogId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(dogId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best matching available dogs for the profile, best first
+     */
+    public List<DogRecommendationResponse> recommend(AdopterProfile profile, int limit) {
+        float[] weights = weights(profile);
+        int k = Math.max(1, Math.min(MAX_LIMIT, limit));
+
+        lock.readLock().lock();
+        try {
+            int n = slots;
+            float[] scores = score(weights, n);
+
+            // Bounded min-heap of slot numbers keyed by score: the root is the weakest of the current top k
+            int[] heap = new int[k];
+            int size = 0;
+            for (int slot = 0; slot < n; slot++) {
+                float score = scores[slot];
+                if (score == Float.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                if (size < k) {
+                    heap[size] = slot;
+                    siftUp(heap, size++, scores);
+                } else if (score > scores[heap[0]]) {
+                    heap[0] = slot;
+                    siftDown(heap, size, scores);
+                }
+            }
+
+            DogRecommendationResponse[] ranked = new DogRecommendationResponse[size];
+            for (int i = size - 1; i >= 0; i--) {
+                int slot = heap[0];
+                ranked[i] = DogRecommendationResponse.builder()
+                        .dog(dogs[slot])
+                        .score((double) scores[slot])
+                        .reasons(reasons(dogs[slot], profile, weights))
+                        .build();
+                heap[0] = heap[--size];
+                siftDown(heap, size, scores);
+            }
+            return Arrays.asList(ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods
+
+    /**
+     * Dot product of the weights with every slot's feature vector, one column at a time
+     */
+    private float[] score(float[] weights, int n) {
+        float[] scores = Arrays.copyOf(baseScores, n);
+        for (int feature = 0; feature < FEATURES; feature++) {
+            float weight = weights[feature];
+            if (weight == 0f) {
+                continue;
+            }
+            float[] column = columns[feature];
+            for (int slot = 0; slot < n; slot++) {
+                scores[slot] += weight * column[slot];
+            }
+        }
+        return scores;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[slot]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int index = 0;
+        int slot = heap[0];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[heap[child]] >= scores[slot]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    private void insertLocked(AdoptionDog dog) {
+        int slot = freeSlots.isEmpty() ? slots++ : freeSlots.pop();
+        ensureCapacity(slot + 1);
+        dogs[slot] = dog;
+        baseScores[slot] = 0f;
+        float[] features = features(dog);
+        for (int feature = 0; feature < FEATURES; feature++) {
+            columns[feature][slot] = features[feature];
+        }
+        slotById.put(dog.getId(), slot);
+    }
+
+    private void removeLocked(String dogId) {
+        Integer slot = slotById.remove(dogId);
+        if (slot == null) {
+            return;
+        }
+        dogs[slot] = null;
+        baseScores[slot] = Float.NEGATIVE_INFINITY;
+        freeSlots.push(slot);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= dogs.length) {
+            return;
+        }
+        int capacity = Math.max(required, dogs.length * 2);
+        dogs = Arrays.copyOf(dogs, capacity);
+        baseScores = Arrays.copyOf(baseScores, capacity);
+        for (int feature = 0; feature < FEATURES; feature++) {
+            columns[feature] = Arrays.copyOf(columns[feature], capacity);
+        }
+    }
+
+    static float[] features(AdoptionDog dog) {
+        float[] features = new float[FEATURES];
+        String size = dog.getSize() != null ? dog.getSize().trim().toUpperCase(Locale.ROOT) : "";
+        switch (size) {
+            case "SMALL" -> features[SMALL] = 1f;
+            case "LARGE" -> features[LARGE] = 1f;
+            case "MEDIUM" -> features[MEDIUM] = 1f;
+            default -> {
+                // Unknown size counts as a bit of everything
+                features[SMALL] = 1f / 3;
+                features[MEDIUM] = 1f / 3;
+                features[LARGE] = 1f / 3;
+            }
+        }
+        features[GOOD_WITH_KIDS] = dog.isGoodWithKids() ? 1f : 0f;
+        features[GOOD_WITH_PETS] = dog.isGoodWithPets() ? 1f : 0f;
+        features[SPECIAL_NEEDS] = dog.getSpecialNeeds() != null && !dog.getSpecialNeeds().isBlank() ? 1f : 0f;
+        if (dog.getTemperament() != null) {
+            for (String word : dog.getTemperament().toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+                if (ENERGETIC_WORDS.contains(word)) {
+                    features[ENERGETIC] = 1f;
+                } else if (CALM_WORDS.contains(word)) {
+                    features[CALM] = 1f;
+                }
+            }
+        }
+        return features;
+    }
+
+    static float[] weights(AdopterProfile profile) {
+        float[] weights = new float[FEATURES];
+        String space = livingSpace(profile);
+        switch (space) {
+            case "APARTMENT" -> {
+                weights[SMALL] = 1.0f;
+                weights[MEDIUM] = 0.4f;
+                weights[LARGE] = -0.8f;
+            }
+            case "HOUSE" -> {
+                weights[SMALL] = 0.6f;
+                weights[MEDIUM] = 1.0f;
+                weights[LARGE] = 0.6f;
+            }
+            case "FARM" -> {
+                weights[SMALL] = 0.2f;
+                weights[MEDIUM] = 0.7f;
+                weights[LARGE] = 1.0f;
+            }
+            default -> {
+                weights[SMALL] = 0.5f;
+                weights[MEDIUM] = 0.5f;
+                weights[LARGE] = 0.5f;
+            }
+        }
+
+        if (profile.isHasYard()) {
+            weights[LARGE] += 0.4f;
+            weights[ENERGETIC] += 0.5f;
+        } else if (space.equals("APARTMENT")) {
+            weights[ENERGETIC] -= 0.5f;
+            weights[CALM] += 0.3f;
+        }
+        if (profile.isHasChildren()) {
+            weights[GOOD_WITH_KIDS] += 1.5f;
+        }
+        if (profile.isHasPets()) {
+            weights[GOOD_WITH_PETS] += 1.5f;
+        }
+
+        switch (experienceLevel(profile.getExperienceWithDogs())) {
+            case 0 -> {
+                weights[SPECIAL_NEEDS] -= 1.0f;
+                weights[CALM] += 0.3f;
+                weights[ENERGETIC] -= 0.2f;
+            }
+            case 2 -> weights[SPECIAL_NEEDS] += 0.2f;
+            default -> weights[SPECIAL_NEEDS] -= 0.4f;
+        }
+        return weights;
+    }
+
+    /**
+     * 0 for first-time owners, 1 when unclear, 2 for experienced owners
+     */
+    private static int experienceLevel(String experience) {
+        if (experience == null || experience.isBlank()) {
+            return 1;
+        }
+        String text = experience.toLowerCase(Locale.ROOT);
+        if (text.contains("none") || text.contains("no experience") || text.contains("first") || text.contains("never")) {
+            return 0;
+        }
+        if (text.contains("experienced") || text.contains("years") || text.contains("trainer")
+                || text.contains("professional") || text.contains("foster")) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static String livingSpace(AdopterProfile profile) {
+        return profile.getLivingSpace() != null ? profile.getLivingSpace().trim().toUpperCase(Locale.ROOT) : "";
+    }
+
+    private static List<String> reasons(AdoptionDog dog, AdopterProfile profile, float[] weights) {
+        List<String> reasons = new ArrayList<>();
+        float[] features = features(dog);
+        String space = livingSpace(profile).toLowerCase(Locale.ROOT);
+
+        float sizeFit = weights[SMALL] * features[SMALL] + weights[MEDIUM] * features[MEDIUM] + weights[LARGE] * features[LARGE];
+        if (!space.isEmpty() && sizeFit >= 0.8f) {
+            reasons.add("Size suits your " + space);
+        } else if (!space.isEmpty() && sizeFit < 0f) {
+            reasons.add("May be too big for your " + space);
+        }
+        if (profile.isHasChildren()) {
+            reasons.add(dog.isGoodWithKids() ? "Good with kids" : "Not known to be good with kids");
+        }
+        if (profile.isHasPets()) {
+            reasons.add(dog.isGoodWithPets() ? "Good with other pets" : "Not known to be good with other pets");
+        }
+        if (features[ENERGETIC] > 0 && profile.isHasYard()) {
+            reasons.add("Energetic, and you have a yard");
+        }
+        if (features[SPECIAL_NEEDS] > 0) {
+            reasons.add(weights[SPECIAL_NEEDS] > 0 ? "Has special needs suited to an experienced owner" : "Has special needs");
+        }
+        return reasons;
+    }
+}
@@ -1,23 +1,53 @@
 package com.straydogcare.service;
 
+import com.straydogcare.dto.DispatchCandidateResponse;
+import com.straydogcare.dto.TriageItemResponse;
 import com.straydogcare.model.DogReport;
 import com.straydogcare.model.Notification;
 import com.straydogcare.model.Volunteer;
 import com.straydogcare.repository.DogReportRepository;
 import com.straydogcare.repository.VolunteerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class DogReportService {
     
+    /**
+     * Statuses that end a case; the assigned volunteer is released and credited on entering one
+     */
+    static final Set<DogReport.Status> TERMINAL_STATUSES = EnumSet.of(DogReport.Status.COMPLETED, DogReport.Status.CLOSED);
+    
     private final DogReportRepository dogReportRepository;
+    private final MongoTemplate mongoTemplate;
     private final VolunteerRepository volunteerRepository;
+    private final VolunteerService volunteerService;
     private final NotificationService notificationService;
+    private final DogReportTriageService triageService;
+    private final VolunteerDispatchService dispatchService;
+    private final VolunteerSpatialIndex volunteerIndex;
+    private final ReportDeduplicationIndex deduplicationIndex;
+    
+    @Value("${application.dispatch.notify-limit:10}")
+    private int notifyLimit;
+    
+    @Value("${application.dispatch.auto-assign-critical:false}")
+    private boolean autoAssignCritical;
     
     public List<DogReport> getAllReports() {
         return dogReportRepository.findAll();
@@ -35,6 +65,10 @@ public class DogReportService {
         return dogReportRepository.findByCondition(condition);
     }
     
+    public List<TriageItemResponse> getTriageQueue(int limit) {
+        return triageService.getTopReports(limit);
+    }
+    
     public DogReport getReportById(String id) {
         return dogReportRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Report not found"));
@@ -46,6 +80,7 @@ public class DogReportService {
             report.setStatus(DogReport.Status.PENDING);
         }
         report.setCreatedAt(LocalDateTime.now());
+        report.setVersion(null);
         
         // Set priority based on condition
         switch (report.getCondition()) {
@@ -56,14 +91,33 @@ public class DogReportService {
             default -> report.setPriority(4);
         }
         
+        // Repeat sightings of an open case are linked to it instead of fanning out again
+        Optional<DogReport> original = deduplicationIndex.findMatch(report)
+                .flatMap(dogReportRepository::findById)
+                .filter(existing -> DogReportTriageService.OPEN_STATUSES.contains(existing.getStatus()))
+                .filter(existing -> sameDogLikely(report, existing));
+        if (original.isPresent()) {
+            return linkAsSighting(report, original.get());
+        }
+        
         DogReport saved = dogReportRepository.save(report);
+        triageService.upsert(saved);
+        deduplicationIndex.add(saved);
+        
+        // Critical cases go straight to the best matching volunteer when enabled
+        if (autoAssignCritical && saved.getCondition() == DogReport.Condition.CRITICAL && saved.getAssignedTo() == null) {
+            List<VolunteerDispatchService.Match> best = dispatchService.findMatches(saved, 1);
+            if (!best.isEmpty()) {
+                return assign(saved.getId(), best.get(0).candidate().volunteerId(), true);
+            }
+        }
         
-        // Notify volunteers in the area
-        List<Volunteer> volunteers = volunteerRepository.findByArea(report.getLocation());
-        for (Volunteer volunteer : volunteers) {
-            if (volunteer.getUserId() != null && volunteer.getStatus() == Volunteer.Status.ACTIVE) {
+        // Notify the best matched nearby volunteers
+        for (VolunteerDispatchService.Match match : dispatchService.findMatches(saved, notifyLimit)) {
+            String userId = match.candidate().userId();
+            if (userId != null) {
                 notificationService.createNotification(
-                        volunteer.getUserId(),
+                        userId,
                         "New Dog Report",
                         "A new dog has been reported in your area: " + report.getLocation(),
                         Notification.Type.INFO,
@@ -76,73 +130,220 @@ public class DogReportService {
         return saved;
     }
     
-    public DogReport updateReport(String id, DogReport report) {
-        DogReport existing = getReportById(id);
+    private DogReport linkAsSighting(DogReport report, DogReport original) {
+        report.setDuplicateOf(original.getId());
+        report.setStatus(DogReport.Status.CLOSED);
+        DogReport saved = dogReportRepository.save(report);
+        
+        DogReport.Sighting sighting = new DogReport.Sighting();
+        sighting.setReportId(saved.getId());
+        sighting.setReportedBy(report.getReportedBy());
+        sighting.setPhotoUrl(report.getPhotoUrl());
+        sighting.setCondition(report.getCondition());
+        sighting.setDescription(report.getDescription());
+        sighting.setSeenAt(report.getCreatedAt());
         
-        if (report.getDogName() != null) existing.setDogName(report.getDogName());
-        if (report.getDescription() != null) existing.setDescription(report.getDescription());
-        if (report.getCondition() != null) existing.setCondition(report.getCondition());
-        if (report.getLocation() != null) existing.setLocation(report.getLocation());
-        if (report.getPhotoUrl() != null) existing.setPhotoUrl(report.getPhotoUrl());
-        if (report.getStatus() != null) existing.setStatus(report.getStatus());
-        if (report.getCoordinates() != null) existing.setCoordinates(report.getCoordinates());
+        Update update = new Update().push("sightings", sighting);
         
-        existing.setUpdatedAt(LocalDateTime.now());
+        // A worse condition from a later sighting escalates the original case
+        if (report.getPriority() != null
+                && (original.getPriority() == null || report.getPriority() < original.getPriority())) {
+            update.set("priority", report.getPriority()).set("condition", report.getCondition());
+        }
+        applyUpdate(original.getId(), null, update);
         
-        return dogReportRepository.save(existing);
+        return saved;
     }
     
-    public DogReport assignToVolunteer(String reportId, String volunteerId) {
-        DogReport report = getReportById(reportId);
-        Volunteer volunteer = volunteerRepository.findById(volunteerId)
-                .orElseThrow(() -> new RuntimeException("Volunteer not found"));
-        
-        report.setAssignedTo(volunteerId);
-        report.setAssignedVolunteerName(volunteer.getName());
-        report.setStatus(DogReport.Status.ASSIGNED);
-        
-        DogReport updated = dogReportRepository.save(report);
-        
-        // Notify volunteer
-        if (volunteer.getUserId() != null) {
-            notificationService.createNotification(
-                    volunteer.getUserId(),
-                    "Case Assigned",
-                    "You have been assigned to a new dog rescue case",
-                    Notification.Type.CASE_ASSIGNED,
-                    reportId,
-                    "DOG_REPORT"
-            );
+    /**
+     * A dog reported healthy and one reported with an ailment at the same spot are most likely
+     * two dogs. Different ailments are not a contradiction, a condition can worsen or add up.
+     */
+    private boolean sameDogLikely(DogReport report, DogReport original) {
+        if (report.getCondition() == null || original.getCondition() == null) {
+            return true;
         }
+        return (report.getCondition() == DogReport.Condition.HEALTHY) == (original.getCondition() == DogReport.Condition.HEALTHY);
+    }
+    
+    /**
+     * Patch the non-null fields of {@code report} in one round trip.
+     * When the caller sends a {@code version}, the update only applies if it still matches.
+     */
+    public DogReport updateReport(String id, DogReport report) {
+        Update update = new Update();
         
-        // Update volunteer's assigned cases
-        volunteer.getAssignedCases().add(reportId);
-        volunteerRepository.save(volunteer);
+        if (report.getDogName() != null) update.set("dogName", report.getDogName());
+        if (report.getDescription() != null) update.set("description", report.getDescription());
+        if (report.getCondition() != null) update.set("condition", report.getCondition());
+        if (report.getLocation() != null) update.set("location", report.getLocation());
+        if (report.getPhotoUrl() != null) update.set("photoUrl", report.getPhotoUrl());
+        if (report.getStatus() != null) update.set("status", report.getStatus());
+        if (report.getCoordinates() != null) update.set("coordinates", report.getCoordinates());
         
-        return updated;
+        return applyUpdate(id, report.getVersion(), update);
+    }
+    
+    public DogReport updateStatus(String id, DogReport.Status status) {
+        return applyUpdate(id, null, new Update().set("status", status));
+    }
+    
+    public DogReport assignToVolunteer(String reportId, String volunteerId) {
+        return assign(reportId, volunteerId, false);
+    }
+    
+    public List<DispatchCandidateResponse> getDispatchCandidates(String reportId, int limit) {
+        return dispatchService.findCandidates(getReportById(reportId), limit);
+    }
+    
+    public DogReport autoAssign(String reportId) {
+        List<VolunteerDispatchService.Match> best = dispatchService.findMatches(getReportById(reportId), 1);
+        if (best.isEmpty()) {
+            throw new RuntimeException("No available volunteer found for this report");
+        }
+        return assign(reportId, best.get(0).candidate().volunteerId(), true);
     }
     
     public DogReport addNote(String reportId, String note, String userId) {
-        DogReport report = getReportById(reportId);
-        
         DogReport.Note newNote = new DogReport.Note();
         newNote.setContent(note);
         newNote.setAddedBy(userId);
         newNote.setAddedAt(LocalDateTime.now());
         
-        report.getNotes().add(newNote);
-        report.setUpdatedAt(LocalDateTime.now());
-        
-        return dogReportRepository.save(report);
+        // $push only sends the new note instead of rewriting the whole list
+        return applyUpdate(reportId, null, new Update().push("notes", newNote));
     }
     
     public void deleteReport(String id) {
         dogReportRepository.deleteById(id);
+        triageService.remove(id);
+        deduplicationIndex.remove(id);
     }
     
     public List<DogReport> getNearbyReports(double lat, double lng, double radiusInKm) {
-        // For simplicity, returning all reports
-        // In production, use MongoDB's geospatial queries
-        return dogReportRepository.findAll();
+        // $nearSphere on the coordinates_2dsphere index, nearest first; GeoJSON distances are in meters
+        Query query = Query.query(Criteria.where("coordinates")
+                .nearSphere(new GeoJsonPoint(lng, lat))
+                .maxDistance(radiusInKm * 1000));
+        return mongoTemplate.find(query, DogReport.class);
+    }
+    
+    /**
+     * Assign a report without load-and-save races.
+     *
+     * The conditional findAndModify on the report is the single serialisation point:
+     * when {@code onlyIfUnassigned} is set, concurrent dispatchers cannot both claim it,
+     * and only an open report can be claimed.
+     * Volunteer bookkeeping uses idempotent $addToSet/$pull, so no multi-document
+     * transaction is needed; if the volunteer vanished in between, the claim is undone.
+     */
+    private DogReport assign(String reportId, String volunteerId, boolean onlyIfUnassigned) {
+        VolunteerSpatialIndex.Candidate indexed = volunteerIndex.get(volunteerId);
+        String volunteerName = indexed != null
+                ? indexed.name()
+                : volunteerRepository.findById(volunteerId)
+                        .map(Volunteer::getName)
+                        .orElseThrow(() -> new RuntimeException("Volunteer not found"));
+        
+        Criteria criteria = Criteria.where("_id").is(reportId);
+        if (onlyIfUnassigned) {
+            // A case that was closed or finished in the meantime is not handed out again
+            criteria = criteria.and("assignedTo").is(null).and("status").in(DogReportTriageService.OPEN_STATUSES);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        DogReport previous = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                new Update()
+                        .set("assignedTo", volunteerId)
+                        .set("assignedVolunteerName", volunteerName)
+                        .set("status", DogReport.Status.ASSIGNED)
+                        .set("updatedAt", now)
+                        .inc("version", 1),
+                FindAndModifyOptions.options().returnNew(false),
+                DogReport.class
+        );
+        if (previous == null) {
+            if (onlyIfUnassigned && dogReportRepository.existsById(reportId)) {
+                throw new OptimisticLockingFailureException("Report is already assigned or no longer open");
+            }
+            throw new RuntimeException("Report not found");
+        }
+        
+        String previousVolunteerId = previous.getAssignedTo();
+        if (!volunteerId.equals(previousVolunteerId)) {
+            Volunteer volunteer = volunteerService.addAssignedCase(volunteerId, reportId);
+            if (volunteer == null) {
+                revertAssignment(previous, volunteerId);
+                throw new RuntimeException("Volunteer not found");
+            }
+            if (previousVolunteerId != null) {
+                volunteerService.removeAssignedCase(previousVolunteerId, reportId);
+            }
+            
+            // Notify volunteer
+            if (volunteer.getUserId() != null) {
+                notificationService.createNotification(
+                        volunteer.getUserId(),
+                        "Case Assigned",
+                        "You have been assigned to a new dog rescue case",
+                        Notification.Type.CASE_ASSIGNED,
+                        reportId,
+                        "DOG_REPORT"
+                );
+            }
+        }
+        
+        DogReport updated = previous;
+        updated.setAssignedTo(volunteerId);
+        updated.setAssignedVolunteerName(volunteerName);
+        updated.setStatus(DogReport.Status.ASSIGNED);
+        updated.setUpdatedAt(now);
+        updated.setVersion(previous.getVersion() != null ? previous.getVersion() + 1 : 1);
+        triageService.upsert(updated);
+        return updated;
+    }
+    
+    private void revertAssignment(DogReport previous, String volunteerId) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(previous.getId()).and("assignedTo").is(volunteerId)),
+                new Update()
+                        .set("assignedTo", previous.getAssignedTo())
+                        .set("assignedVolunteerName", previous.getAssignedVolunteerName())
+                        .set("status", previous.getStatus())
+                        .set("updatedAt", LocalDateTime.now())
+                        .inc("version", 1),
+                DogReport.class
+        );
+    }
+    
+    private DogReport applyUpdate(String id, Long expectedVersion, Update update) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        update.set("updatedAt", LocalDateTime.now()).inc("version", 1);
+        
+        DogReport updated = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                DogReport.class
+        );
+        if (updated == null) {
+            if (expectedVersion != null && dogReportRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException("Report was modified by someone else, reload and try again");
+            }
+            throw new RuntimeException("Report not found");
+        }
+        
+        triageService.upsert(updated);
+        if (!DogReportTriageService.OPEN_STATUSES.contains(updated.getStatus())) {
+            deduplicationIndex.remove(id);
+        }
+        // Conditional on the case still being listed, so it only counts once; this also re-indexes the volunteer
+        if (TERMINAL_STATUSES.contains(updated.getStatus()) && updated.getAssignedTo() != null) {
+            volunteerService.completeAssignedCase(updated.getAssignedTo(), id);
+        }
+        return updated;
     }
 }
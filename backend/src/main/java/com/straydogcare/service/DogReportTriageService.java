@@ -0,0 +1,253 @@
+package com.straydogcare.service;
+
+import com.straydogcare.dto.TriageItemResponse;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.repository.DogReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * In-memory triage queue of open dog reports.
+ *
+ * Each report gets a fixed urgency boost (priority, condition and distance to the
+ * nearest active volunteer, all expressed in minutes). Its effective score is the
+ * boost plus the time it has been waiting, so old low-priority cases escalate.
+ * Because every case ages at the same rate, ordering by {@code createdAt - boost}
+ * is time-invariant and the queue never needs re-sorting.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DogReportTriageService {
+
+    public static final Set<DogReport.Status> OPEN_STATUSES =
+            EnumSet.of(DogReport.Status.PENDING, DogReport.Status.ASSIGNED, DogReport.Status.IN_PROGRESS);
+
+    private final DogReportRepository dogReportRepository;
+    private final VolunteerSpatialIndex volunteerIndex;
+
+    @Value("${application.triage.minutes-per-priority-level:120}")
+    private long minutesPerPriorityLevel;
+
+    @Value("${application.triage.distance-penalty-minutes-per-km:5}")
+    private long distancePenaltyMinutesPerKm;
+
+    @Value("${application.triage.max-distance-penalty-minutes:240}")
+    private long maxDistancePenaltyMinutes;
+
+    private final ConcurrentSkipListSet<Entry> queue = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuild the queue from Mongo once the application has started (after the volunteer index)
+     */
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        queue.clear();
+        entries.clear();
+        try (Stream<DogReport> reports = dogReportRepository.findByStatusIn(OPEN_STATUSES)) {
+            reports.forEach(this::upsert);
+        }
+
+        log.info("Triage queue rebuilt with {} open reports in {} ms",
+                entries.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Periodically re-rank against the current volunteer positions
+     */
+    @Scheduled(
+            fixedDelayString = "${application.triage.rescore-interval-ms:300000}",
+            initialDelayString = "${application.triage.rescore-interval-ms:300000}"
+    )
+    public void rescore() {
+        // Re-rank in place so a concurrent remove is never resurrected from a stale snapshot
+        entries.keySet().forEach(reportId -> entries.computeIfPresent(reportId, (id, previous) -> {
+            Entry rescored = toEntry(previous.toReport());
+            queue.remove(previous);
+            queue.add(rescored);
+            return rescored;
+        }));
+    }
+
+    /**
+     * Insert or re-rank a report; reports that are no longer open are dropped
+     */
+    public void upsert(DogReport report) {
+        if (report == null || report.getId() == null) {
+            return;
+        }
+        if (report.getStatus() == null || !OPEN_STATUSES.contains(report.getStatus())) {
+            remove(report.getId());
+            return;
+        }
+
+        Entry entry = toEntry(report);
+        entries.compute(report.getId(), (id, previous) -> {
+            if (previous != null) {
+                queue.remove(previous);
+            }
+            queue.add(entry);
+            return entry;
+        });
+    }
+
+    public void remove(String reportId) {
+        if (reportId == null) {
+            return;
+        }
+        entries.computeIfPresent(reportId, (id, previous) -> {
+            queue.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Most urgent open reports first
+     */
+    public List<TriageItemResponse> getTopReports(int limit) {
+        List<TriageItemResponse> top = new ArrayList<>(Math.max(0, Math.min(limit, entries.size())));
+        LocalDateTime now = LocalDateTime.now();
+
+        Iterator<Entry> iterator = queue.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next().toResponse(now));
+        }
+        return top;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Helper methods
+
+    private Entry toEntry(DogReport report) {
+        LocalDateTime createdAt = report.getCreatedAt() != null ? report.getCreatedAt() : LocalDateTime.now();
+        Double nearestKm = nearestVolunteerKm(report.getCoordinates());
+
+        long boost = priorityBoost(report.getPriority())
+                + conditionBoost(report.getCondition())
+                - distancePenalty(nearestKm);
+        long rankKey = createdAt.toEpochSecond(ZoneOffset.UTC) - boost * 60;
+
+        return new Entry(rankKey, report.getId(), boost, nearestKm, report.getDogName(), report.getCondition(),
+                report.getStatus(), report.getPriority(), report.getLocation(), report.getCoordinates(),
+                report.getAssignedTo(), createdAt);
+    }
+
+    private long priorityBoost(Integer priority) {
+        // Priority 1 is the most urgent, 5 the least
+        int level = priority != null ? Math.max(1, Math.min(5, priority)) : 3;
+        return (5 - level) * minutesPerPriorityLevel;
+    }
+
+    private long conditionBoost(DogReport.Condition condition) {
+        if (condition == null) {
+            return 0;
+        }
+        return switch (condition) {
+            case CRITICAL -> 180;
+            case INJURED -> 90;
+            case SICK -> 60;
+            case MALNOURISHED -> 30;
+            case HEALTHY -> 0;
+        };
+    }
+
+    private long distancePenalty(Double nearestKm) {
+        // Unknown distance is treated as neutral rather than far away
+        if (nearestKm == null) {
+            return 0;
+        }
+        return Math.min(maxDistancePenaltyMinutes, Math.round(nearestKm * distancePenaltyMinutesPerKm));
+    }
+
+    private Double nearestVolunteerKm(GeoJsonPoint coordinates) {
+        // Without any located volunteer the distance is unknown, not far
+        if (coordinates == null || !volunteerIndex.hasCoordinates() || distancePenaltyMinutesPerKm <= 0) {
+            return null;
+        }
+        // Beyond this distance the penalty is capped, so there is no point searching further
+        double maxKm = (double) maxDistancePenaltyMinutes / distancePenaltyMinutesPerKm;
+        OptionalDouble nearest = volunteerIndex.nearestDistanceKm(coordinates, maxKm);
+        return nearest.isPresent() ? nearest.getAsDouble() : maxKm;
+    }
+
+    private record Entry(
+            long rankKey,
+            String reportId,
+            long boostMinutes,
+            Double nearestVolunteerKm,
+            String dogName,
+            DogReport.Condition condition,
+            DogReport.Status status,
+            Integer priority,
+            String location,
+            GeoJsonPoint coordinates,
+            String assignedTo,
+            LocalDateTime createdAt
+    ) implements Comparable<Entry> {
+
+        @Override
+        public int compareTo(Entry other) {
+            int byRank = Long.compare(rankKey, other.rankKey);
+            return byRank != 0 ? byRank : reportId.compareTo(other.reportId);
+        }
+
+        TriageItemResponse toResponse(LocalDateTime now) {
+            long waiting = Math.max(0, Duration.between(createdAt, now).toMinutes());
+            return TriageItemResponse.builder()
+                    .reportId(reportId)
+                    .dogName(dogName)
+                    .condition(condition)
+                    .status(status)
+                    .priority(priority)
+                    .location(location)
+                    .latitude(coordinates != null ? coordinates.getY() : null)
+                    .longitude(coordinates != null ? coordinates.getX() : null)
+                    .assignedTo(assignedTo)
+                    .createdAt(createdAt)
+                    .nearestVolunteerKm(nearestVolunteerKm)
+                    .waitingMinutes(waiting)
+                    .urgencyScore(waiting + boostMinutes)
+                    .build();
+        }
+
+        DogReport toReport() {
+            DogReport report = new DogReport();
+            report.setId(reportId);
+            report.setDogName(dogName);
+            report.setCondition(condition);
+            report.setStatus(status);
+            report.setPriority(priority);
+            report.setLocation(location);
+            report.setCoordinates(coordinates);
+            report.setAssignedTo(assignedTo);
+            report.setCreatedAt(createdAt);
+            return report;
+        }
+    }
+}
@@ -1,68 +1,393 @@
 package com.straydogcare.service;
 
+import com.straydogcare.config.CacheConfiguration;
+import com.straydogcare.config.CacheInvalidation;
+import com.straydogcare.dto.AdopterProfile;
+import com.straydogcare.dto.AdoptionDogSearchRequest;
+import com.straydogcare.dto.AdoptionDogSearchResponse;
+import com.straydogcare.dto.DogRecommendationResponse;
+import com.straydogcare.dto.PageResponse;
 import com.straydogcare.model.AdoptionDog;
 import com.straydogcare.repository.AdoptionDogRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class DogService {
     
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int BREED_FACET_LIMIT = 20;
+    private static final String[] BOOLEAN_FACETS = {"vaccinated", "neutered", "goodWithKids", "goodWithPets"};
+    
     private final AdoptionDogRepository adoptionDogRepository;
+    private final MongoTemplate mongoTemplate;
+    private final AdoptionDogBitmapIndex bitmapIndex;
+    private final DogRecommendationService recommendationService;
     
+    @Cacheable(cacheNames = CacheConfiguration.DOG_CATALOG, key = "'" + CacheConfiguration.ALL_DOGS + "'")
     public List<AdoptionDog> getAllDogs() {
         return adoptionDogRepository.findAll();
     }
     
+    @Cacheable(cacheNames = CacheConfiguration.DOG_CATALOG, key = "#status")
     public List<AdoptionDog> getDogsByStatus(String status) {
         return adoptionDogRepository.findByStatus(status);
     }
     
+    /**
+     * Filtered, paged search plus disjunctive facet counts: each facet is counted with every
+     * filter except its own, so choosing SMALL still shows how many MEDIUM and LARGE dogs the
+     * other filters leave. The status filter scopes the whole search, the status facet included.
+     * Searches over available dogs are answered from the in-memory bitmap index, anything else by Mongo.
+     */
+    public AdoptionDogSearchResponse searchDogs(AdoptionDogSearchRequest request) {
+        int page = Math.max(0, request.getPage() != null ? request.getPage() : 0);
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, request.getPageSize() != null ? request.getPageSize() : 20));
+        
+        if (bitmapIndex.canServe(request)) {
+            return bitmapIndex.search(request, page, pageSize);
+        }
+        return searchDogsInMongo(request, page, pageSize);
+    }
+    
+    /**
+     * The Mongo path: a $match followed by one $facet aggregation for the page, the total and the
+     * facets without a filter of their own, plus one aggregation per filtered facet
+     */
+    public AdoptionDogSearchResponse searchDogsInMongo(AdoptionDogSearchRequest request, int page, int pageSize) {
+        Map<String, AggregationOperation[]> facetStages = facetStages();
+        Set<String> filtered = filteredFacets(request);
+        
+        FacetOperation facet = Aggregation.facet(
+                        Aggregation.sort(Sort.by(Sort.Direction.DESC, "addedDate").and(Sort.by("_id"))),
+                        Aggregation.skip((long) page * pageSize),
+                        Aggregation.limit(pageSize)
+                ).as("results")
+                .and(Aggregation.count().as("total")).as("total");
+        for (Map.Entry<String, AggregationOperation[]> stages : facetStages.entrySet()) {
+            if (!filtered.contains(stages.getKey())) {
+                facet = facet.and(stages.getValue()).as(stages.getKey());
+            }
+        }
+        
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(searchCriteria(request, null)), facet);
+        Document result = mongoTemplate.aggregate(aggregation, AdoptionDog.class, Document.class)
+                .getUniqueMappedResult();
+        
+        List<AdoptionDog> dogs = result.getList("results", Document.class).stream()
+                .map(document -> mongoTemplate.getConverter().read(AdoptionDog.class, document))
+                .toList();
+        List<Document> totals = result.getList("total", Document.class);
+        long total = totals.isEmpty() ? 0 : totals.get(0).get("total", Number.class).longValue();
+        
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (Map.Entry<String, AggregationOperation[]> stages : facetStages.entrySet()) {
+            String name = stages.getKey();
+            List<Document> buckets = filtered.contains(name)
+                    ? disjunctiveBuckets(request, name, stages.getValue())
+                    : result.getList(name, Document.class);
+            facets.put(name, facetCounts(buckets, name.equals("age")));
+        }
+        
+        return AdoptionDogSearchResponse.builder()
+                .results(PageResponse.<AdoptionDog>builder()
+                        .content(dogs)
+                        .page(page)
+                        .size(pageSize)
+                        .totalElements(total)
+                        .totalPages((int) ((total + pageSize - 1) / pageSize))
+                        .build())
+                .facets(facets)
+                .build();
+    }
+    
+    public List<DogRecommendationResponse> recommendDogs(AdopterProfile profile, int limit) {
+        return recommendationService.recommend(profile, limit);
+    }
+    
+    @Cacheable(cacheNames = CacheConfiguration.ADOPTION_DOGS, key = "#id")
     public AdoptionDog getDogById(String id) {
         return adoptionDogRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Dog not found with id: " + id));
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ADOPTION_DOGS, key = "#result.id"),
+            @CacheEvict(cacheNames = CacheConfiguration.DOG_CATALOG, allEntries = true)
+    })
     public AdoptionDog createDog(AdoptionDog dog) {
         dog.setAddedDate(LocalDateTime.now());
         dog.setUpdatedDate(LocalDateTime.now());
         if (dog.getStatus() == null || dog.getStatus().isEmpty()) {
             dog.setStatus("AVAILABLE");
         }
-        return adoptionDogRepository.save(dog);
+        AdoptionDog saved = adoptionDogRepository.save(dog);
+        bitmapIndex.upsert(saved);
+        recommendationService.upsert(saved);
+        return saved;
     }
     
+    /**
+     * Write only the edited fields. pendingRequestCount belongs to AdoptionRequestService and is
+     * never written here; status only when the admin actually changes it, and only from the
+     * status just read, so an edit that races with an approval cannot undo the adoption.
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ADOPTION_DOGS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.DOG_CATALOG, allEntries = true)
+    })
     public AdoptionDog updateDog(String id, AdoptionDog dogDetails) {
-        AdoptionDog dog = getDogById(id);
+        AdoptionDog current = adoptionDogRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Dog not found with id: " + id));
         
-        if (dogDetails.getName() != null) dog.setName(dogDetails.getName());
-        if (dogDetails.getBreed() != null) dog.setBreed(dogDetails.getBreed());
-        if (dogDetails.getAge() != null) dog.setAge(dogDetails.getAge());
-        if (dogDetails.getGender() != null) dog.setGender(dogDetails.getGender());
-        if (dogDetails.getSize() != null) dog.setSize(dogDetails.getSize());
-        if (dogDetails.getDescription() != null) dog.setDescription(dogDetails.getDescription());
-        if (dogDetails.getPhotos() != null) dog.setPhotos(dogDetails.getPhotos());
-        if (dogDetails.getHealthStatus() != null) dog.setHealthStatus(dogDetails.getHealthStatus());
-        if (dogDetails.getTemperament() != null) dog.setTemperament(dogDetails.getTemperament());
-        if (dogDetails.getSpecialNeeds() != null) dog.setSpecialNeeds(dogDetails.getSpecialNeeds());
-        if (dogDetails.getStatus() != null) dog.setStatus(dogDetails.getStatus());
+        Update update = new Update();
+        if (dogDetails.getName() != null) update.set("name", dogDetails.getName());
+        if (dogDetails.getBreed() != null) update.set("breed", dogDetails.getBreed());
+        if (dogDetails.getAge() != null) update.set("age", dogDetails.getAge());
+        if (dogDetails.getGender() != null) update.set("gender", dogDetails.getGender());
+        if (dogDetails.getSize() != null) update.set("size", dogDetails.getSize());
+        if (dogDetails.getDescription() != null) update.set("description", dogDetails.getDescription());
+        if (dogDetails.getPhotos() != null) update.set("photos", dogDetails.getPhotos());
+        if (dogDetails.getHealthStatus() != null) update.set("healthStatus", dogDetails.getHealthStatus());
+        if (dogDetails.getTemperament() != null) update.set("temperament", dogDetails.getTemperament());
+        if (dogDetails.getSpecialNeeds() != null) update.set("specialNeeds", dogDetails.getSpecialNeeds());
         
-        dog.setVaccinated(dogDetails.isVaccinated());
-        dog.setNeutered(dogDetails.isNeutered());
-        dog.setGoodWithKids(dogDetails.isGoodWithKids());
-        dog.setGoodWithPets(dogDetails.isGoodWithPets());
+        update.set("vaccinated", dogDetails.isVaccinated());
+        update.set("neutered", dogDetails.isNeutered());
+        update.set("goodWithKids", dogDetails.isGoodWithKids());
+        update.set("goodWithPets", dogDetails.isGoodWithPets());
+        update.set("updatedDate", LocalDateTime.now());
         
-        dog.setUpdatedDate(LocalDateTime.now());
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (dogDetails.getStatus() != null && !dogDetails.getStatus().equals(current.getStatus())) {
+            update.set("status", dogDetails.getStatus());
+            criteria = criteria.and("status").is(current.getStatus());
+        }
         
-        return adoptionDogRepository.save(dog);
+        AdoptionDog saved = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                AdoptionDog.class
+        );
+        if (saved == null) {
+            adoptionDogRepository.findById(id).orElseThrow(() -> new RuntimeException("Dog not found with id: " + id));
+            throw new OptimisticLockingFailureException("The dog's status changed in the meantime; reload and try again");
+        }
+        bitmapIndex.upsert(saved);
+        recommendationService.upsert(saved);
+        return saved;
+    }
+    
+    /**
+     * Re-sync the in-memory indexes and the caches after a dog was modified outside this service
+     */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ADOPTION_DOGS, key = "#dog.id"),
+            @CacheEvict(cacheNames = CacheConfiguration.DOG_CATALOG, allEntries = true)
+    })
+    public void refreshIndexes(AdoptionDog dog) {
+        bitmapIndex.upsert(dog);
+        recommendationService.upsert(dog);
     }
     
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.ADOPTION_DOGS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfiguration.DOG_CATALOG, allEntries = true)
+    })
     public void deleteDog(String id) {
         AdoptionDog dog = getDogById(id);
         adoptionDogRepository.delete(dog);
+        bitmapIndex.remove(id);
+        recommendationService.remove(id);
+    }
+    
+    /**
+     * An adoption dog changed, possibly on another node: re-sync the in-memory indexes, which are
+     * not caches and would otherwise keep returning the old status in search and recommendations
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE) // Before CollectionVersions announces the change to clients
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.cache() != null && !CacheConfiguration.ADOPTION_DOGS.equals(invalidation.cache())) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            bitmapIndex.rebuild();
+            recommendationService.rebuild();
+            return;
+        }
+        adoptionDogRepository.findById(invalidation.key()).ifPresentOrElse(dog -> {
+            bitmapIndex.upsert(dog);
+            recommendationService.upsert(dog);
+        }, () -> {
+            bitmapIndex.remove(invalidation.key());
+            recommendationService.remove(invalidation.key());
+        });
+    }
+    
+    // Helper methods
+    
+    /**
+     * The search filters, leaving out the one on {@code except} (a facet name) if given
+     */
+    private Criteria searchCriteria(AdoptionDogSearchRequest request, String except) {
+        if (request.getMinAge() != null && request.getMaxAge() != null && request.getMinAge() > request.getMaxAge()) {
+            throw new RuntimeException("minAge must not be greater than maxAge");
+        }
+        
+        Criteria criteria = new Criteria();
+        addIn(criteria, "status", request.getStatus());
+        for (String field : List.of("size", "gender", "breed")) {
+            if (!field.equals(except)) {
+                addIn(criteria, field, valuesOf(request, field));
+            }
+        }
+        if (!"age".equals(except) && (request.getMinAge() != null || request.getMaxAge() != null)) {
+            Criteria age = criteria.and("age");
+            if (request.getMinAge() != null) age.gte(request.getMinAge());
+            if (request.getMaxAge() != null) age.lte(request.getMaxAge());
+        }
+        for (String field : BOOLEAN_FACETS) {
+            Boolean value = flagOf(request, field);
+            if (value != null && !field.equals(except)) {
+                criteria.and(field).is(value);
+            }
+        }
+        return criteria;
+    }
+    
+    /**
+     * Facet name -> the stages that count it, in the order the response lists them
+     */
+    private static Map<String, AggregationOperation[]> facetStages() {
+        Object[] ageBoundaries = IntStream.concat(
+                        Arrays.stream(AdoptionDogBitmapIndex.ageBucketBounds()), IntStream.of(Integer.MAX_VALUE))
+                .boxed()
+                .toArray();
+        Map<String, AggregationOperation[]> stages = new LinkedHashMap<>();
+        stages.put("status", new AggregationOperation[]{Aggregation.sortByCount("status")});
+        stages.put("size", new AggregationOperation[]{Aggregation.sortByCount("size")});
+        stages.put("gender", new AggregationOperation[]{Aggregation.sortByCount("gender")});
+        stages.put("breed", new AggregationOperation[]{Aggregation.sortByCount("breed"), Aggregation.limit(BREED_FACET_LIMIT)});
+        stages.put("age", new AggregationOperation[]{Aggregation.bucket("age")
+                .withBoundaries(ageBoundaries)
+                .withDefaultBucket("unknown")});
+        for (String field : BOOLEAN_FACETS) {
+            stages.put(field, new AggregationOperation[]{Aggregation.sortByCount(field)});
+        }
+        return stages;
+    }
+    
+    /**
+     * Facets whose own field is filtered; status is not one of them, it scopes every facet
+     */
+    private static Set<String> filteredFacets(AdoptionDogSearchRequest request) {
+        Set<String> filtered = new HashSet<>();
+        for (String field : List.of("size", "gender", "breed")) {
+            if (!clean(valuesOf(request, field)).isEmpty()) {
+                filtered.add(field);
+            }
+        }
+        if (request.getMinAge() != null || request.getMaxAge() != null) {
+            filtered.add("age");
+        }
+        for (String field : BOOLEAN_FACETS) {
+            if (flagOf(request, field) != null) {
+                filtered.add(field);
+            }
+        }
+        return filtered;
+    }
+    
+    private List<Document> disjunctiveBuckets(AdoptionDogSearchRequest request, String facet, AggregationOperation[] stages) {
+        List<AggregationOperation> pipeline = new ArrayList<>();
+        pipeline.add(Aggregation.match(searchCriteria(request, facet)));
+        pipeline.addAll(Arrays.asList(stages));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), AdoptionDog.class, Document.class)
+                .getMappedResults();
+    }
+    
+    private static List<String> valuesOf(AdoptionDogSearchRequest request, String field) {
+        return switch (field) {
+            case "size" -> request.getSize();
+            case "gender" -> request.getGender();
+            case "breed" -> request.getBreed();
+            default -> throw new IllegalArgumentException("Not a list filter: " + field);
+        };
+    }
+    
+    private static Boolean flagOf(AdoptionDogSearchRequest request, String field) {
+        return switch (field) {
+            case "vaccinated" -> request.getVaccinated();
+            case "neutered" -> request.getNeutered();
+            case "goodWithKids" -> request.getGoodWithKids();
+            case "goodWithPets" -> request.getGoodWithPets();
+            default -> throw new IllegalArgumentException("Not a flag filter: " + field);
+        };
+    }
+    
+    private static void addIn(Criteria criteria, String field, List<String> values) {
+        List<String> cleaned = clean(values);
+        if (!cleaned.isEmpty()) {
+            criteria.and(field).in(cleaned);
+        }
+    }
+    
+    private static List<String> clean(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+    }
+    
+    private static Map<String, Long> facetCounts(List<Document> buckets, boolean ageBuckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            Object key = bucket.get("_id");
+            String label;
+            if (key == null) {
+                label = "unknown";
+            } else if (ageBuckets && key instanceof Number lowerBound) {
+                String bucketLabel = AdoptionDogBitmapIndex.ageBucketForLowerBound(lowerBound.intValue());
+                label = bucketLabel != null ? bucketLabel : String.valueOf(key);
+            } else {
+                label = String.valueOf(key);
+            }
+            counts.merge(label, bucket.get("count", Number.class).longValue(), Long::sum);
+        }
+        return counts;
     }
 }
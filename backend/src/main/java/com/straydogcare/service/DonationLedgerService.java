@@ -0,0 +1,394 @@
+package com.straydogcare.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.straydogcare.dto.DonationTotalsResponse;
+import com.straydogcare.model.Donation;
+import com.straydogcare.model.DonationTotal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Running totals of completed donations.
+ *
+ * Every completion increments three documents in donation_totals: its day/purpose row,
+ * its purpose's lifetime row and the grand total. Each $inc is atomic on its own, so
+ * concurrent completions never lose an update, and the overall total is a single read by id
+ * no matter how many donations exist. Ranges made of whole days are summed from the daily
+ * rows; any other range falls back to a $group over the donations themselves.
+ *
+ * Amounts are kept as Decimal128. Donation.amount is still a Double, so each amount is
+ * converted through its shortest decimal representation and rounded to cents before it is added.
+ *
+ * A completion sets ledgerRecorded=false in the same update that marks the donation COMPLETED,
+ * and only flips it to true once all three rows are incremented. The increments are idempotent
+ * without a transaction (so a standalone Mongo works too): each row lists, in "applied", the
+ * donations it already contains and only matches a donation that is not listed yet. A donation
+ * whose recording was cut short at any point, e.g. by a crash, is therefore simply recorded again,
+ * and the rows it had already reached are left alone.
+ *
+ * record() leases the donation (ledgerClaimedAt) so that the request thread and the sweeper do
+ * not work on it at the same time. The sweeper picks up what is still unrecorded once its lease
+ * has expired, and removes donations from "applied" once they are recorded and their lease is over.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DonationLedgerService {
+
+    private static final String ALL_PURPOSES = "*";
+    private static final String DEFAULT_PURPOSE = "General";
+    private static final int SCALE = 2;
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${application.donations.ledger-sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    @Value("${application.donations.ledger-lease-seconds:300}")
+    private long leaseSeconds;
+
+    /**
+     * Catch up at startup. A failure must not stop the application; the scheduled sweep retries.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("Could not catch up the donation ledger at startup, leaving it to the sweeper: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the ledger from the donations collection if it has never been populated, then add
+     * completed donations that were never counted, e.g. because the node stopped or the
+     * increments failed right after the completion
+     */
+    @Scheduled(fixedDelayString = "${application.donations.ledger-sweep-interval-ms:60000}",
+            initialDelayString = "${application.donations.ledger-sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!mongoTemplate.exists(byId(lifetimeId(ALL_PURPOSES)), DonationTotal.class)) {
+            long rows = rebuild();
+            if (rows > 0) {
+                log.info("Donation ledger backfilled with {} daily totals", rows);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // Leased donations drop out of the query, so a batch never comes back unchanged
+        Query unrecorded = Query.query(new Criteria().andOperator(Criteria.where("ledgerRecorded").is(false), claimable(now)))
+                .with(Sort.by(Sort.Direction.ASC, "completedAt"))
+                .limit(sweepBatchSize);
+        int recorded = 0;
+        List<Donation> batch;
+        do {
+            batch = mongoTemplate.find(unrecorded, Donation.class);
+            for (Donation donation : batch) {
+                if (record(donation)) {
+                    recorded++;
+                }
+            }
+        } while (batch.size() == sweepBatchSize);
+        if (recorded > 0) {
+            log.info("Added {} previously unrecorded donations to the ledger", recorded);
+        }
+        prune(now);
+    }
+
+    /**
+     * Add one completed donation to its daily, purpose and grand totals, unless it has been
+     * counted already. Returns whether this call counted it.
+     */
+    public boolean record(Donation donation) {
+        LocalDateTime now = LocalDateTime.now();
+        UpdateResult claimed = mongoTemplate.updateFirst(
+                Query.query(new Criteria().andOperator(
+                        Criteria.where("_id").is(donation.getId()).and("ledgerRecorded").is(false),
+                        claimable(now))),
+                new Update().set("ledgerClaimedAt", now),
+                Donation.class
+        );
+        if (claimed.getModifiedCount() == 0) {
+            return false;
+        }
+        try {
+            addToTotals(donation);
+        } catch (RuntimeException e) {
+            // Rows that were reached list the donation, so the sweeper may retry right away
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(donation.getId()).and("ledgerClaimedAt").is(now)),
+                    new Update().unset("ledgerClaimedAt"),
+                    Donation.class
+            );
+            throw e;
+        }
+        mongoTemplate.updateFirst(byId(donation.getId()), new Update().set("ledgerRecorded", true), Donation.class);
+        return true;
+    }
+
+    /**
+     * All-time total of completed donations, read from a single document
+     */
+    public BigDecimal getLifetimeTotal(String purpose) {
+        DonationTotal total = mongoTemplate.findById(
+                lifetimeId(purpose != null && !purpose.isBlank() ? purpose.trim() : ALL_PURPOSES),
+                DonationTotal.class
+        );
+        return total != null && total.getTotal() != null ? total.getTotal().setScale(SCALE, RoundingMode.HALF_UP) : zero();
+    }
+
+    /**
+     * Totals for completions in [from, to). Whole-day ranges come from the ledger, anything
+     * finer-grained is aggregated from the donations collection.
+     */
+    public DonationTotalsResponse getTotals(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Both from and to are required");
+        }
+        if (!to.isAfter(from)) {
+            throw new RuntimeException("to must be after from");
+        }
+
+        Map<String, BigDecimal> byPurpose = new TreeMap<>();
+        long count = 0;
+        String source;
+        if (from.toLocalTime().equals(LocalTime.MIDNIGHT) && to.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            Query query = Query.query(Criteria.where("scope").is(DonationTotal.Scope.DAY)
+                    .and("date").gte(from.toLocalDate()).lt(to.toLocalDate()));
+            for (DonationTotal day : mongoTemplate.find(query, DonationTotal.class)) {
+                byPurpose.merge(day.getPurpose(), day.getTotal(), BigDecimal::add);
+                count += day.getCount() != null ? day.getCount() : 0;
+            }
+            source = "ledger";
+        } else {
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("status").is(Donation.Status.COMPLETED)
+                            .and("completedAt").gte(from).lt(to)),
+                    Aggregation.group("purpose")
+                            .sum(ArithmeticOperators.Round.roundValueOf(ConvertOperators.valueOf("amount").convertToDecimal()).place(SCALE)).as("total")
+                            .count().as("count")
+            );
+            for (Document group : mongoTemplate.aggregate(aggregation, Donation.class, Document.class).getMappedResults()) {
+                byPurpose.merge(purposeOf(group.getString("_id")), decimalOf(group.get("total")), BigDecimal::add);
+                count += ((Number) group.get("count")).longValue();
+            }
+            source = "aggregation";
+        }
+
+        byPurpose.replaceAll((purpose, total) -> total.setScale(SCALE, RoundingMode.HALF_UP));
+        BigDecimal total = byPurpose.values().stream().reduce(zero(), BigDecimal::add);
+        return DonationTotalsResponse.builder()
+                .from(from)
+                .to(to)
+                .total(total)
+                .count(count)
+                .byPurpose(byPurpose)
+                .source(source)
+                .build();
+    }
+
+    /**
+     * Replace the ledger with totals recomputed from the donations collection. Donations still
+     * waiting for record() are left to it. Returns the number of daily rows written.
+     */
+    public long rebuild() {
+        // Group by local calendar day, matching what record() uses for new completions
+        String timezone = ZoneId.systemDefault().getId();
+        Document completedAt = new Document("$ifNull", List.of("$completedAt", "$createdAt"));
+        AggregationOperation project = context -> new Document("$project", new Document()
+                .append("day", new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                        .append("date", completedAt)
+                        .append("timezone", timezone)))
+                .append("purpose", "$purpose")
+                // Rounded per donation, exactly as record() does
+                .append("amount", new Document("$round", List.of(new Document("$toDecimal", "$amount"), SCALE))));
+        AggregationOperation group = context -> new Document("$group", new Document()
+                .append("_id", new Document("day", "$day").append("purpose", "$purpose"))
+                .append("total", new Document("$sum", "$amount"))
+                .append("count", new Document("$sum", 1)));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("status").is(Donation.Status.COMPLETED).and("ledgerRecorded").ne(false)),
+                project,
+                group
+        );
+        List<Document> days = mongoTemplate.aggregate(aggregation, Donation.class, Document.class).getMappedResults();
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, DonationTotal> rows = new TreeMap<>();
+        for (Document row : days) {
+            Document key = row.get("_id", Document.class);
+            LocalDate day = LocalDate.parse(key.getString("day"));
+            String purpose = purposeOf(key.getString("purpose"));
+            BigDecimal total = decimalOf(row.get("total")).setScale(SCALE, RoundingMode.HALF_UP);
+            long count = ((Number) row.get("count")).longValue();
+
+            accumulate(rows, dayId(day, purpose), DonationTotal.Scope.DAY, day, purpose, total, count, now);
+            accumulate(rows, lifetimeId(purpose), DonationTotal.Scope.LIFETIME, null, purpose, total, count, now);
+            accumulate(rows, lifetimeId(ALL_PURPOSES), DonationTotal.Scope.LIFETIME, null, ALL_PURPOSES, total, count, now);
+        }
+        // Always write the grand total so backfill() does not run again on an empty history
+        accumulate(rows, lifetimeId(ALL_PURPOSES), DonationTotal.Scope.LIFETIME, null, ALL_PURPOSES, zero(), 0, now);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, DonationTotal.class);
+        bulk.remove(new Query());
+        rows.values().forEach(bulk::insert);
+        bulk.execute();
+        return rows.values().stream().filter(row -> row.getScope() == DonationTotal.Scope.DAY).count();
+    }
+
+    // Helper methods
+
+    /**
+     * A donation that is not recorded yet and not leased by a live record() call
+     */
+    private Criteria claimable(LocalDateTime now) {
+        return new Criteria().orOperator(
+                Criteria.where("ledgerClaimedAt").is(null),
+                Criteria.where("ledgerClaimedAt").lt(now.minusSeconds(leaseSeconds)));
+    }
+
+    private void addToTotals(Donation donation) {
+        BigDecimal amount = toDecimal(donation.getAmount());
+        String purpose = purposeOf(donation.getPurpose());
+        LocalDate day = dayOf(donation);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DonationTotal.class);
+        bulk.upsert(notApplied(dayId(day, purpose), donation), increment(donation, amount, DonationTotal.Scope.DAY, day, purpose));
+        bulk.upsert(notApplied(lifetimeId(purpose), donation), increment(donation, amount, DonationTotal.Scope.LIFETIME, null, purpose));
+        bulk.upsert(notApplied(lifetimeId(ALL_PURPOSES), donation), increment(donation, amount, DonationTotal.Scope.LIFETIME, null, ALL_PURPOSES));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // A row that already lists the donation does not match, so its upsert collides with the row itself
+            if (e.getErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    private Query notApplied(String rowId, Donation donation) {
+        return Query.query(Criteria.where("_id").is(rowId).and("applied").ne(donation.getId()));
+    }
+
+    private Update increment(Donation donation, BigDecimal amount, DonationTotal.Scope scope, LocalDate day, String purpose) {
+        return new Update()
+                .inc("total", new Decimal128(amount))
+                .inc("count", 1)
+                .push("applied", donation.getId())
+                .set("updatedAt", LocalDateTime.now())
+                .setOnInsert("scope", scope)
+                .setOnInsert("date", day)
+                .setOnInsert("purpose", purpose);
+    }
+
+    /**
+     * Take recorded donations off the rows' applied lists once no record() call can still be
+     * working on them, i.e. their lease is over
+     */
+    private void prune(LocalDateTime now) {
+        Query settled = Query.query(Criteria.where("ledgerRecorded").is(true)
+                        .and("ledgerClaimedAt").lt(now.minusSeconds(leaseSeconds)))
+                .limit(sweepBatchSize);
+        settled.fields().include("_id").include("purpose").include("completedAt");
+        List<Donation> batch;
+        do {
+            batch = mongoTemplate.find(settled, Donation.class);
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<String> ids = batch.stream().map(Donation::getId).toList();
+            Set<String> rows = new HashSet<>();
+            for (Donation donation : batch) {
+                String purpose = purposeOf(donation.getPurpose());
+                rows.add(dayId(dayOf(donation), purpose));
+                rows.add(lifetimeId(purpose));
+            }
+            rows.add(lifetimeId(ALL_PURPOSES));
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(rows)),
+                    new Update().pullAll("applied", ids.toArray()), DonationTotal.class);
+            mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                    new Update().unset("ledgerClaimedAt"), Donation.class);
+        } while (batch.size() == sweepBatchSize);
+    }
+
+    private LocalDate dayOf(Donation donation) {
+        return (donation.getCompletedAt() != null ? donation.getCompletedAt() : donation.getCreatedAt() != null
+                ? donation.getCreatedAt() : LocalDateTime.now()).toLocalDate();
+    }
+
+    private void accumulate(Map<String, DonationTotal> rows, String id, DonationTotal.Scope scope, LocalDate day,
+                            String purpose, BigDecimal total, long count, LocalDateTime now) {
+        DonationTotal row = rows.computeIfAbsent(id, key -> new DonationTotal(key, scope, day, purpose, zero(), 0L, now));
+        row.setTotal(row.getTotal().add(total));
+        row.setCount(row.getCount() + count);
+    }
+
+    private Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private String dayId(LocalDate day, String purpose) {
+        return "day:" + day + ":" + purpose;
+    }
+
+    private String lifetimeId(String purpose) {
+        return "lifetime:" + purpose;
+    }
+
+    private String purposeOf(String purpose) {
+        return purpose != null && !purpose.isBlank() ? purpose.trim() : DEFAULT_PURPOSE;
+    }
+
+    private BigDecimal toDecimal(Double amount) {
+        if (amount == null) {
+            return zero();
+        }
+        // valueOf goes through Double.toString, so 10.1 becomes 10.1 rather than its binary expansion
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal decimalOf(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        return zero();
+    }
+
+    private BigDecimal zero() {
+        return BigDecimal.ZERO.setScale(SCALE);
+    }
+}
@@ -1,20 +1,31 @@
 package com.straydogcare.service;
+import com.straydogcare.dto.DonationTotalsResponse;
 import com.straydogcare.model.Donation;
 import com.straydogcare.model.Notification;
 import com.straydogcare.repository.DonationRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DonationService {
     
     private final DonationRepository donationRepository;
     private final NotificationService notificationService;
+    private final DonationLedgerService donationLedgerService;
+    private final MongoTemplate mongoTemplate;
     
     public List<Donation> getAllDonations() {
         return donationRepository.findAll();
@@ -44,11 +55,29 @@ public class DonationService {
     }
     
     public Donation completeDonation(String id) {
-        Donation donation = getDonationById(id);
-        donation.setStatus(Donation.Status.COMPLETED);
-        donation.setCompletedAt(LocalDateTime.now());
-        
-        Donation updated = donationRepository.save(donation);
+        // Only the caller that actually moves the donation to COMPLETED adds it to the totals.
+        // The ledger entry and the tax receipt are queued in the same update, so neither is lost
+        // if this node stops before handling them; the ledger sweeper and TaxReceiptService catch up.
+        LocalDateTime now = LocalDateTime.now();
+        Donation donation = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("status").ne(Donation.Status.COMPLETED)),
+                TaxReceiptService.enqueue(new Update()
+                        .set("status", Donation.Status.COMPLETED)
+                        .set("completedAt", now)
+                        .set("ledgerRecorded", false), now),
+                FindAndModifyOptions.options().returnNew(true),
+                Donation.class
+        );
+        if (donation == null) {
+            // Already completed; don't count it or notify the donor a second time
+            return getDonationById(id);
+        }
+        try {
+            donationLedgerService.record(donation);
+        } catch (RuntimeException e) {
+            // The donation is completed either way; the sweeper adds it to the totals later
+            log.warn("Could not add donation {} to the ledger yet: {}", id, e.getMessage());
+        }
         
         // Notify donor
         if (donation.getDonorId() != null) {
@@ -62,31 +91,14 @@ public class DonationService {
             );
         }
         
-        // Send tax receipt (in production, integrate with email service)
-        sendTaxReceipt(donation);
-        
-        return updated;
-    }
-    
-    private void sendTaxReceipt(Donation donation) {
-        // In production, send email with tax receipt
-        // For now, just mark as sent
-        donation.setTaxReceiptSent(true);
-        donationRepository.save(donation);
+        return donation;
     }
     
-    public Double getTotalDonations() {
-        return donationRepository.findByStatus(Donation.Status.COMPLETED)
-                .stream()
-                .mapToDouble(Donation::getAmount)
-                .sum();
+    public BigDecimal getTotalDonations(String purpose) {
+        return donationLedgerService.getLifetimeTotal(purpose);
     }
     
-    public Double getTotalDonationsInPeriod(LocalDateTime start, LocalDateTime end) {
-        return donationRepository.findByCreatedAtBetween(start, end)
-                .stream()
-                .filter(d -> d.getStatus() == Donation.Status.COMPLETED)
-                .mapToDouble(Donation::getAmount)
-                .sum();
+    public DonationTotalsResponse getTotalDonationsInPeriod(LocalDateTime start, LocalDateTime end) {
+        return donationLedgerService.getTotals(start, end);
     }
 }
@@ -0,0 +1,222 @@
+package com.straydogcare.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.straydogcare.model.Adoption;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Donation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streaming CSV/NDJSON exports for finance and audits.
+ *
+ * Rows come from a Mongo cursor with a bounded batch size, ordered by the indexed
+ * createdAt field, and are written straight to the response. Only the current cursor
+ * batch is ever held in memory, and the output is flushed after the header and after
+ * every batch so the client starts receiving data immediately.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final List<Column<Donation>> DONATION_COLUMNS = List.of(
+            new Column<>("id", Donation::getId),
+            new Column<>("transactionId", Donation::getTransactionId),
+            new Column<>("status", Donation::getStatus),
+            new Column<>("amount", Donation::getAmount),
+            new Column<>("purpose", Donation::getPurpose),
+            new Column<>("message", Donation::getMessage),
+            new Column<>("paymentMethod", Donation::getPaymentMethod),
+            new Column<>("donorId", Donation::getDonorId),
+            new Column<>("donorName", Donation::getDonorName),
+            new Column<>("donorEmail", Donation::getDonorEmail),
+            new Column<>("anonymous", Donation::isAnonymous),
+            new Column<>("taxReceiptSent", Donation::isTaxReceiptSent),
+            new Column<>("receiptNumber", Donation::getReceiptNumber),
+            new Column<>("createdAt", Donation::getCreatedAt),
+            new Column<>("completedAt", Donation::getCompletedAt)
+    );
+
+    private static final List<Column<DogReport>> DOG_REPORT_COLUMNS = List.of(
+            new Column<>("id", DogReport::getId),
+            new Column<>("dogName", DogReport::getDogName),
+            new Column<>("condition", DogReport::getCondition),
+            new Column<>("status", DogReport::getStatus),
+            new Column<>("priority", DogReport::getPriority),
+            new Column<>("location", DogReport::getLocation),
+            new Column<>("latitude", report -> report.getCoordinates() != null ? report.getCoordinates().getY() : null),
+            new Column<>("longitude", report -> report.getCoordinates() != null ? report.getCoordinates().getX() : null),
+            new Column<>("reportedBy", DogReport::getReportedBy),
+            new Column<>("reporterName", DogReport::getReporterName),
+            new Column<>("assignedTo", DogReport::getAssignedTo),
+            new Column<>("assignedVolunteerName", DogReport::getAssignedVolunteerName),
+            new Column<>("duplicateOf", DogReport::getDuplicateOf),
+            new Column<>("sightings", report -> report.getSightings() != null ? report.getSightings().size() : 0),
+            new Column<>("rescueDate", DogReport::getRescueDate),
+            new Column<>("createdAt", DogReport::getCreatedAt),
+            new Column<>("updatedAt", DogReport::getUpdatedAt)
+    );
+
+    private static final List<Column<Adoption>> ADOPTION_COLUMNS = List.of(
+            new Column<>("id", Adoption::getId),
+            new Column<>("dogReportId", Adoption::getDogReportId),
+            new Column<>("dogName", Adoption::getDogName),
+            new Column<>("status", Adoption::getStatus),
+            new Column<>("adopterId", Adoption::getAdopterId),
+            new Column<>("adopterName", Adoption::getAdopterName),
+            new Column<>("adopterEmail", Adoption::getAdopterEmail),
+            new Column<>("adopterContact", Adoption::getAdopterContact),
+            new Column<>("applicationDate", Adoption::getApplicationDate),
+            new Column<>("approvalDate", Adoption::getApprovalDate),
+            new Column<>("completionDate", Adoption::getCompletionDate),
+            new Column<>("createdAt", Adoption::getCreatedAt)
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${application.exports.batch-size:500}")
+    private int batchSize;
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format resolve(String format) {
+            if (format == null || format.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    public void exportDonations(LocalDateTime from, LocalDateTime to, Donation.Status status,
+                                Format format, OutputStream output) throws IOException {
+        export(Donation.class, query(from, to, status), DONATION_COLUMNS, format, output);
+    }
+
+    public void exportDogReports(LocalDateTime from, LocalDateTime to, DogReport.Status status,
+                                 Format format, OutputStream output) throws IOException {
+        export(DogReport.class, query(from, to, status), DOG_REPORT_COLUMNS, format, output);
+    }
+
+    public void exportAdoptions(LocalDateTime from, LocalDateTime to, Adoption.Status status,
+                                Format format, OutputStream output) throws IOException {
+        export(Adoption.class, query(from, to, status), ADOPTION_COLUMNS, format, output);
+    }
+
+    // Helper methods
+
+    private Query query(LocalDateTime from, LocalDateTime to, Enum<?> status) {
+        Criteria criteria = new Criteria();
+        if (from != null || to != null) {
+            criteria = Criteria.where("createdAt");
+            if (from != null) criteria = criteria.gte(from);
+            if (to != null) criteria = criteria.lt(to);
+        }
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .cursorBatchSize(batchSize);
+    }
+
+    private <T> void export(Class<T> type, Query query, List<Column<T>> columns,
+                            Format format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvRow(writer, columns.stream().map(Column::header).toList());
+        }
+        writer.flush();
+
+        long rows = 0;
+        try (Stream<T> cursor = mongoTemplate.stream(query, type)) {
+            Iterator<T> iterator = cursor.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                // Push each cursor batch to the client as soon as it has been written
+                if (++rows % batchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.debug("Exported {} {} rows as {}", rows, type.getSimpleName(), format);
+    }
+
+    private void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Keep free-text fields from being evaluated as formulas when opened in a spreadsheet
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private record Column<T>(String header, Function<T, Object> value) {
+    }
+}
@@ -1,14 +1,23 @@
 package com.straydogcare.service;
 
+import com.straydogcare.config.CacheConfiguration;
 import com.straydogcare.model.ForumPost;
 import com.straydogcare.repository.ForumPostRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.query.TextCriteria;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Forum posts and comments. The pinned posts are cached as a whole, since every forum page
+ * shows them; a change to a pinned post (other than its view count), or to which posts are
+ * pinned, evicts that list.
+ */
 @Service
 @RequiredArgsConstructor
 public class ForumService {
@@ -23,10 +32,16 @@ public class ForumService {
         return forumPostRepository.findByCategory(category);
     }
     
+    @Cacheable(CacheConfiguration.PINNED_POSTS)
     public List<ForumPost> getPinnedPosts() {
         return forumPostRepository.findByPinnedTrue();
     }
     
+    public List<ForumPost> searchPosts(String text) {
+        // Served by the text_search index on title, tags and content
+        return forumPostRepository.findAllByOrderByCreatedAtDesc(TextCriteria.forDefaultLanguage().matching(text));
+    }
+    
     public ForumPost getPostById(String id) {
         return forumPostRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
@@ -42,6 +57,7 @@ public class ForumService {
         return forumPostRepository.save(post);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true, condition = "#result.pinned")
     public ForumPost updatePost(String id, ForumPost post) {
         ForumPost existing = getPostById(id);
         
@@ -55,6 +71,7 @@ public class ForumService {
         return forumPostRepository.save(existing);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true, condition = "#result.pinned")
     public ForumPost addComment(String postId, ForumPost.Comment comment) {
         ForumPost post = getPostById(postId);
         
@@ -72,30 +89,36 @@ public class ForumService {
         return forumPostRepository.save(post);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true, condition = "#result.pinned")
     public ForumPost likePost(String postId) {
         ForumPost post = getPostById(postId);
         post.setLikes(post.getLikes() + 1);
         return forumPostRepository.save(post);
     }
     
+    // Does not evict: view counts in the pinned list may lag until the next refresh, rather than
+    // every view of a pinned post emptying the cache
     public ForumPost incrementViews(String postId) {
         ForumPost post = getPostById(postId);
         post.setViews(post.getViews() + 1);
         return forumPostRepository.save(post);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true)
     public ForumPost togglePin(String postId) {
         ForumPost post = getPostById(postId);
         post.setPinned(!post.isPinned());
         return forumPostRepository.save(post);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true, condition = "#result.pinned")
     public ForumPost toggleLock(String postId) {
         ForumPost post = getPostById(postId);
         post.setLocked(!post.isLocked());
         return forumPostRepository.save(post);
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.PINNED_POSTS, allEntries = true)
     public void deletePost(String id) {
         forumPostRepository.deleteById(id);
     }
@@ -0,0 +1,28 @@
+package com.straydogcare.service;
+
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+public final class GeoUtils {
+    
+    private static final double EARTH_RADIUS_METERS = 6_371_000d;
+    
+    private GeoUtils() {
+    }
+    
+    /**
+     * Great-circle distance in metres between two lat/lng pairs (haversine)
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1d, Math.sqrt(a)));
+    }
+    
+    public static double distanceMeters(GeoJsonPoint a, GeoJsonPoint b) {
+        // GeoJSON stores [longitude, latitude]
+        return distanceMeters(a.getY(), a.getX(), b.getY(), b.getX());
+    }
+}
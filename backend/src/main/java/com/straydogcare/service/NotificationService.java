@@ -52,6 +52,18 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
     
+    /**
+     * Insert many notifications in one round trip
+     */
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        notifications.forEach(notification -> {
+            notification.setRead(false);
+            notification.setCreatedAt(now);
+        });
+        return notificationRepository.insert(notifications);
+    }
+    
     public Notification markAsRead(String id) {
         Notification notification = getNotificationById(id);
         notification.setRead(true);
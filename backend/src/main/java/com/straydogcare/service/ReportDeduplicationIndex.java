@@ -0,0 +1,185 @@
+package com.straydogcare.service;
+
+import com.straydogcare.model.DogReport;
+import com.straydogcare.repository.DogReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Spatio-temporal index of recent open reports, used to spot repeat sightings.
+ *
+ * Reports are hashed into (time bucket, lat/lng cell) where a cell is at least
+ * {@code radius-meters} tall and a bucket is {@code window-minutes} long. A lookup
+ * therefore only checks the neighbouring cells in the current and previous bucket.
+ * Buckets older than the window are dropped wholesale.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReportDeduplicationIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    private final DogReportRepository dogReportRepository;
+
+    @Value("${application.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${application.dedup.radius-meters:150}")
+    private double radiusMeters;
+
+    @Value("${application.dedup.window-minutes:60}")
+    private long windowMinutes;
+
+    private final ConcurrentSkipListMap<Long, Map<Long, Set<Entry>>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(String reportId, double lat, double lng, long createdAtSeconds, long bucket, long cell) {
+    }
+
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        buckets.clear();
+        entries.clear();
+        LocalDateTime since = LocalDateTime.now().minusMinutes(windowMinutes);
+        try (Stream<DogReport> reports = dogReportRepository.findByStatusInAndCreatedAtAfter(
+                DogReportTriageService.OPEN_STATUSES, since)) {
+            reports.forEach(this::add);
+        }
+        log.info("Report deduplication index rebuilt with {} recent reports", entries.size());
+    }
+
+    /**
+     * Closest recent open report within the radius and time window, if any
+     */
+    public Optional<String> findMatch(DogReport report) {
+        if (!enabled || report.getCoordinates() == null) {
+            return Optional.empty();
+        }
+
+        GeoJsonPoint point = report.getCoordinates();
+        long createdAt = epochSeconds(report.getCreatedAt());
+        long bucket = bucketOf(createdAt);
+        long row = row(point.getY());
+        long col = col(point.getX());
+        // Cells are square in degrees, so they get narrower (in metres) away from the equator
+        int colSpan = (int) Math.ceil(1d / Math.max(0.01, Math.cos(Math.toRadians(point.getY()))));
+
+        String bestId = null;
+        double bestDistance = Double.MAX_VALUE;
+        for (long b = bucket - 1; b <= bucket; b++) {
+            Map<Long, Set<Entry>> cells = buckets.get(b);
+            if (cells == null) {
+                continue;
+            }
+            for (long r = row - 1; r <= row + 1; r++) {
+                for (long c = col - colSpan; c <= col + colSpan; c++) {
+                    Set<Entry> candidates = cells.get(key(r, c));
+                    if (candidates == null) {
+                        continue;
+                    }
+                    for (Entry candidate : candidates) {
+                        if (Math.abs(createdAt - candidate.createdAtSeconds()) > windowMinutes * 60) {
+                            continue;
+                        }
+                        double distance = GeoUtils.distanceMeters(point.getY(), point.getX(), candidate.lat(), candidate.lng());
+                        if (distance <= radiusMeters && distance < bestDistance) {
+                            bestDistance = distance;
+                            bestId = candidate.reportId();
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(bestId);
+    }
+
+    public void add(DogReport report) {
+        if (!enabled || report.getId() == null || report.getCoordinates() == null) {
+            return;
+        }
+        GeoJsonPoint point = report.getCoordinates();
+        long createdAt = epochSeconds(report.getCreatedAt());
+        Entry entry = new Entry(report.getId(), point.getY(), point.getX(), createdAt,
+                bucketOf(createdAt), key(row(point.getY()), col(point.getX())));
+
+        remove(report.getId());
+        entries.put(entry.reportId(), entry);
+        buckets.computeIfAbsent(entry.bucket(), b -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.cell(), c -> ConcurrentHashMap.newKeySet())
+                .add(entry);
+    }
+
+    public void remove(String reportId) {
+        Entry entry = reportId != null ? entries.remove(reportId) : null;
+        if (entry == null) {
+            return;
+        }
+        Map<Long, Set<Entry>> cells = buckets.get(entry.bucket());
+        if (cells != null) {
+            cells.computeIfPresent(entry.cell(), (c, set) -> {
+                set.remove(entry);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    /**
+     * Drop buckets that can no longer match a new report
+     */
+    @Scheduled(fixedDelayString = "${application.dedup.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long oldestUseful = bucketOf(epochSeconds(LocalDateTime.now())) - 1;
+        ConcurrentNavigableMap<Long, Map<Long, Set<Entry>>> expired = buckets.headMap(oldestUseful);
+        expired.values().forEach(cells -> cells.values()
+                .forEach(set -> set.forEach(entry -> entries.remove(entry.reportId(), entry))));
+        expired.clear();
+    }
+
+    // Helper methods
+
+    private long bucketOf(long epochSeconds) {
+        return Math.floorDiv(epochSeconds, Math.max(1, windowMinutes) * 60);
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellDegrees());
+    }
+
+    private long col(double longitude) {
+        return (long) Math.floor(longitude / cellDegrees());
+    }
+
+    private double cellDegrees() {
+        return radiusMeters / METERS_PER_DEGREE;
+    }
+
+    private static long epochSeconds(LocalDateTime dateTime) {
+        return (dateTime != null ? dateTime : LocalDateTime.now()).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+}
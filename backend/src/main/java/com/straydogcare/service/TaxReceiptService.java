@@ -0,0 +1,327 @@
+package com.straydogcare.service;
+
+import com.straydogcare.model.Donation;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers tax receipts from the outbox kept on each donation.
+ *
+ * completeDonation() marks the receipt PENDING in the same update that completes the
+ * donation, so the job is stored atomically with the payment and survives restarts.
+ * Each poll claims up to one batch per worker by stamping a claim id and a lease; a
+ * worker renders its batch and hands all messages to the mail sender in one call, which
+ * sends them over a single SMTP connection. Failed messages are retried with exponential
+ * backoff, and a SENDING job whose lease expired (e.g. after a crash) is claimed again.
+ *
+ * Delivery is at-least-once: a receipt is only marked SENT by the claim that sent it, and
+ * every message carries a Message-ID derived from the receipt number so that a resend after
+ * a crash can be recognised as a duplicate.
+ *
+ * Only queued jobs carry receiptNextAttemptAt; terminal states unset it so the partial
+ * receipt_queue index stays the size of the queue rather than of the donations collection.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaxReceiptService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final JavaMailSender mailSender;
+
+    @Value("${application.receipts.enabled:false}")
+    private boolean enabled;
+
+    @Value("${application.receipts.batch-size:50}")
+    private int batchSize;
+
+    @Value("${application.receipts.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${application.receipts.backoff-initial-seconds:60}")
+    private long backoffInitialSeconds;
+
+    @Value("${application.receipts.backoff-max-seconds:21600}")
+    private long backoffMaxSeconds;
+
+    @Value("${application.receipts.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${application.receipts.from:no-reply@straydogcare.org}")
+    private String from;
+
+    @Value("${application.receipts.workers:2}")
+    private int workerCount;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    void start() {
+        workerCount = Math.max(1, workerCount);
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "tax-receipt-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Update that queues a receipt; applied together with the donation's COMPLETED transition
+     */
+    public static Update enqueue(Update update, LocalDateTime now) {
+        return update
+                .set("receiptStatus", Donation.ReceiptStatus.PENDING)
+                .set("receiptAttempts", 0)
+                .set("receiptNextAttemptAt", now)
+                .unset("receiptClaimId")
+                .unset("receiptError");
+    }
+
+    /**
+     * Claim one batch per worker and deliver them in parallel. Returns the number of receipts sent.
+     */
+    @Scheduled(fixedDelayString = "${application.receipts.poll-interval-ms:10000}")
+    public int dispatch() {
+        if (!enabled) {
+            return 0;
+        }
+        List<Future<Integer>> running = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            String claimId = UUID.randomUUID().toString();
+            List<Donation> batch = claim(claimId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            running.add(workers.submit(() -> deliver(batch, claimId)));
+        }
+
+        int sent = 0;
+        for (Future<Integer> result : running) {
+            try {
+                sent += result.get();
+            } catch (Exception e) {
+                // Jobs of a crashed batch are picked up again once their lease expires
+                log.error("Tax receipt batch failed", e);
+            }
+        }
+        if (sent > 0) {
+            log.info("Sent {} tax receipts", sent);
+        }
+        return sent;
+    }
+
+    // Helper methods
+
+    private List<Donation> claim(String claimId) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria due = Criteria.where("receiptStatus").in(Donation.ReceiptStatus.PENDING, Donation.ReceiptStatus.SENDING)
+                .and("receiptNextAttemptAt").lte(now);
+
+        Query candidates = Query.query(due)
+                .with(Sort.by(Sort.Direction.ASC, "receiptNextAttemptAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, Donation.class).stream().map(Donation::getId).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-check the queue condition so a concurrent poller (or another node) cannot claim the same job
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), due)),
+                new Update()
+                        .set("receiptStatus", Donation.ReceiptStatus.SENDING)
+                        .set("receiptClaimId", claimId)
+                        .set("receiptNextAttemptAt", now.plusSeconds(leaseSeconds)),
+                Donation.class
+        );
+        return mongoTemplate.find(Query.query(Criteria.where("receiptClaimId").is(claimId)), Donation.class);
+    }
+
+    private int deliver(List<Donation> batch, String claimId) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<MimeMessage, Donation> messages = new IdentityHashMap<>();
+        BulkOperations results = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Donation.class);
+        for (Donation donation : batch) {
+            String recipient = recipientOf(donation);
+            if (recipient == null) {
+                results.updateOne(claimed(donation, claimId), new Update()
+                        .set("receiptStatus", Donation.ReceiptStatus.SKIPPED)
+                        .set("receiptError", "No email address for donor")
+                        .unset("receiptClaimId")
+                        .unset("receiptNextAttemptAt"));
+                continue;
+            }
+            try {
+                messages.put(render(donation, recipient), donation);
+            } catch (MessagingException e) {
+                results.updateOne(claimed(donation, claimId), failure(donation, e, now));
+            }
+        }
+
+        Map<Object, Exception> failed = Map.of();
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                failed = e.getFailedMessages();
+                if (failed.isEmpty()) {
+                    failed = allFailed(messages, e);
+                }
+            } catch (MailException e) {
+                failed = allFailed(messages, e);
+            }
+        }
+
+        int sent = 0;
+        for (Map.Entry<MimeMessage, Donation> entry : messages.entrySet()) {
+            Donation donation = entry.getValue();
+            Exception error = failed.get(entry.getKey());
+            if (error != null) {
+                results.updateOne(claimed(donation, claimId), failure(donation, error, now));
+                continue;
+            }
+            results.updateOne(claimed(donation, claimId), new Update()
+                    .set("receiptStatus", Donation.ReceiptStatus.SENT)
+                    .set("receiptNumber", receiptNumber(donation))
+                    .set("receiptSentAt", now)
+                    .set("taxReceiptSent", true)
+                    .unset("receiptError")
+                    .unset("receiptClaimId")
+                    .unset("receiptNextAttemptAt"));
+            sent++;
+        }
+        results.execute();
+        if (!failed.isEmpty()) {
+            log.warn("{} of {} tax receipts failed and will be retried", failed.size(), messages.size());
+        }
+        return sent;
+    }
+
+    private MimeMessage render(Donation donation, String recipient) throws MessagingException {
+        String number = receiptNumber(donation);
+        BigDecimal amount = donation.getAmount() != null
+                ? BigDecimal.valueOf(donation.getAmount()).setScale(2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO.setScale(2);
+        LocalDateTime completedAt = donation.getCompletedAt() != null ? donation.getCompletedAt() : LocalDateTime.now();
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom(from);
+        helper.setTo(recipient);
+        helper.setSubject("Your donation receipt " + number);
+        helper.setText("""
+                Dear %s,
+
+                Thank you for your donation to Stray Dog Care.
+
+                Receipt number: %s
+                Transaction ID: %s
+                Date: %s
+                Purpose: %s
+                Amount: $%s
+
+                Please keep this receipt for your tax records.
+                """.formatted(
+                donation.getDonorName() != null ? donation.getDonorName() : "Supporter",
+                number,
+                donation.getTransactionId(),
+                completedAt.format(DATE_FORMAT),
+                donation.getPurpose() != null ? donation.getPurpose() : "General",
+                amount.toPlainString()
+        ));
+        // Stable across retries, so a resend after a crash is recognisable as the same receipt
+        message.setHeader("Message-ID", "<" + number + "@straydogcare.org>");
+        return message;
+    }
+
+    private Update failure(Donation donation, Exception error, LocalDateTime now) {
+        int attempts = donation.getReceiptAttempts() + 1;
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        Update update = new Update()
+                .set("receiptAttempts", attempts)
+                .set("receiptError", message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message)
+                .unset("receiptClaimId");
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on tax receipt for donation {} after {} attempts", donation.getId(), attempts);
+            return update
+                    .set("receiptStatus", Donation.ReceiptStatus.FAILED)
+                    .unset("receiptNextAttemptAt");
+        }
+        long delay = Math.min(backoffMaxSeconds, backoffInitialSeconds << Math.min(attempts - 1, 30));
+        return update
+                .set("receiptStatus", Donation.ReceiptStatus.PENDING)
+                .set("receiptNextAttemptAt", now.plusSeconds(delay));
+    }
+
+    private Map<Object, Exception> allFailed(Map<MimeMessage, Donation> messages, Exception error) {
+        Map<Object, Exception> failed = new IdentityHashMap<>();
+        messages.keySet().forEach(message -> failed.put(message, error));
+        return failed;
+    }
+
+    /**
+     * Only the claim that sent a receipt may record the outcome
+     */
+    private Query claimed(Donation donation, String claimId) {
+        return Query.query(Criteria.where("_id").is(donation.getId()).and("receiptClaimId").is(claimId));
+    }
+
+    private String recipientOf(Donation donation) {
+        if (donation.getDonorEmail() != null && !donation.getDonorEmail().isBlank()) {
+            return donation.getDonorEmail().trim();
+        }
+        // Authenticated donations store the principal, which is the user's email
+        if (donation.getDonorId() != null && donation.getDonorId().contains("@")) {
+            return donation.getDonorId();
+        }
+        return null;
+    }
+
+    private String receiptNumber(Donation donation) {
+        if (donation.getReceiptNumber() != null) {
+            return donation.getReceiptNumber();
+        }
+        return "RCPT-" + (donation.getTransactionId() != null ? donation.getTransactionId() : donation.getId());
+    }
+}
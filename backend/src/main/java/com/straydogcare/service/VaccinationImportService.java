@@ -0,0 +1,388 @@
+package com.straydogcare.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.straydogcare.dto.VaccinationImportResponse;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Vaccination;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import of vaccination records from CSV or NDJSON.
+ *
+ * Rows are parsed and validated one at a time and buffered only until a batch is
+ * full. Each batch is grouped per dog and written as one unordered bulk of
+ * upserts that $push the new records, so memory stays flat regardless of file size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VaccinationImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final VaccinationReminderService reminderService;
+
+    @Value("${application.vaccinations.import-batch-size:1000}")
+    private int batchSize;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format resolve(String format, String filename) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Unsupported import format: " + format);
+                }
+            }
+            String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    public VaccinationImportResponse importRecords(InputStream input, Format format) {
+        ImportRun run = new ImportRun();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == Format.NDJSON) {
+                readNdjson(reader, run);
+            } else {
+                readCsv(reader, run);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read import file: " + e.getMessage());
+        }
+        run.flush();
+
+        log.info("Vaccination import: {} rows, {} imported, {} failed",
+                run.totalRows, run.importedRows, run.failedRows);
+        return VaccinationImportResponse.builder()
+                .totalRows(run.totalRows)
+                .importedRows(run.importedRows)
+                .failedRows(run.failedRows)
+                .dogsUpdated(run.dogsUpdated)
+                .errors(run.errors)
+                .errorsTruncated(run.failedRows > run.errors.size())
+                .build();
+    }
+
+    // Readers
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> columns = parseCsvRecord(header).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+
+        int lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int startLine = ++lineNumber;
+            // A quoted field may span several physical lines
+            StringBuilder record = new StringBuilder(line);
+            while (hasOpenQuote(record)) {
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                lineNumber++;
+                record.append('\n').append(next);
+            }
+            if (record.toString().isBlank()) {
+                continue;
+            }
+
+            List<String> values = parseCsvRecord(record.toString());
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                row.put(columns.get(i), values.get(i));
+            }
+            run.accept(startLine, row);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                run.invalid(lineNumber, "Invalid JSON");
+                continue;
+            }
+            if (node == null || !node.isObject()) {
+                run.invalid(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            Map<String, String> row = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    row.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+                }
+            });
+            run.accept(lineNumber, row);
+        }
+    }
+
+    private static boolean hasOpenQuote(CharSequence record) {
+        boolean open = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * RFC 4180 field splitting: commas inside quotes are literal and "" is an escaped quote
+     */
+    private static List<String> parseCsvRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Import state
+
+    private record PendingRow(int line, Vaccination.VaccinationRecord record) {
+    }
+
+    private static class DogGroup {
+        private final Map<String, String> dogFields = new LinkedHashMap<>();
+        private final List<PendingRow> rows = new ArrayList<>();
+    }
+
+    private class ImportRun {
+        private final Map<String, DogGroup> pending = new LinkedHashMap<>();
+        private final List<VaccinationImportResponse.RowError> errors = new ArrayList<>();
+        private int pendingRows;
+        private int totalRows;
+        private int importedRows;
+        private int failedRows;
+        private int dogsUpdated;
+
+        void accept(int line, Map<String, String> row) {
+            totalRows++;
+            String dogReportId = value(row, "dogReportId");
+            if (dogReportId == null) {
+                reject(line, "dogReportId is required");
+                return;
+            }
+            Vaccination.VaccinationRecord record;
+            try {
+                record = toRecord(row);
+            } catch (IllegalArgumentException e) {
+                reject(line, e.getMessage());
+                return;
+            }
+
+            DogGroup group = pending.computeIfAbsent(dogReportId, id -> new DogGroup());
+            for (String field : List.of("dogName", "dogDescription", "vetId", "vetName", "location")) {
+                String value = value(row, field);
+                if (value != null) {
+                    group.dogFields.put(field, value);
+                }
+            }
+            group.rows.add(new PendingRow(line, record));
+            if (++pendingRows >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * A row that could not even be parsed into fields
+         */
+        void invalid(int line, String message) {
+            totalRows++;
+            reject(line, message);
+        }
+
+        void reject(int line, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new VaccinationImportResponse.RowError(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> knownDogs = existingDogReportIds(pending.keySet());
+            List<String> dogIds = new ArrayList<>();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Vaccination.class);
+            LocalDateTime now = LocalDateTime.now();
+
+            for (Map.Entry<String, DogGroup> entry : pending.entrySet()) {
+                DogGroup group = entry.getValue();
+                if (!knownDogs.contains(entry.getKey())) {
+                    group.rows.forEach(row -> reject(row.line(), "Unknown dogReportId " + entry.getKey()));
+                    continue;
+                }
+                Update update = new Update()
+                        .push("records").each(group.rows.stream().map(PendingRow::record).toArray())
+                        .set("updatedAt", now)
+                        .setOnInsert("createdAt", now);
+                group.dogFields.forEach(update::setOnInsert);
+                bulk.upsert(Query.query(Criteria.where("dogReportId").is(entry.getKey())), update);
+                dogIds.add(entry.getKey());
+            }
+
+            if (!dogIds.isEmpty()) {
+                Set<Integer> failedOps = Set.of();
+                try {
+                    bulk.execute();
+                } catch (BulkOperationException e) {
+                    failedOps = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+                }
+                List<String> written = new ArrayList<>(dogIds.size());
+                for (int i = 0; i < dogIds.size(); i++) {
+                    List<PendingRow> rows = pending.get(dogIds.get(i)).rows;
+                    if (failedOps.contains(i)) {
+                        rows.forEach(row -> reject(row.line(), "Write failed"));
+                    } else {
+                        importedRows += rows.size();
+                        written.add(dogIds.get(i));
+                    }
+                }
+                dogsUpdated += written.size();
+                // The projection needs every record of the dog, not just this batch's, to find the latest per type
+                reminderService.syncDogs(written);
+            }
+
+            pending.clear();
+            pendingRows = 0;
+        }
+    }
+
+    // Helper methods
+
+    private Set<String> existingDogReportIds(Set<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, DogReport.class).stream()
+                .map(DogReport::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Vaccination.VaccinationRecord toRecord(Map<String, String> row) {
+        String vaccineName = value(row, "vaccineName");
+        String type = value(row, "type");
+        if (vaccineName == null && type == null) {
+            throw new IllegalArgumentException("vaccineName or type is required");
+        }
+
+        Vaccination.VaccinationRecord record = new Vaccination.VaccinationRecord();
+        record.setVaccineName(vaccineName);
+        if (type != null) {
+            try {
+                record.setType(Vaccination.VaccineType.valueOf(type.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown vaccine type '" + type + "'");
+            }
+        } else {
+            record.setType(Vaccination.VaccineType.OTHER);
+        }
+
+        LocalDate administered = date(row, "dateAdministered");
+        if (administered == null) {
+            throw new IllegalArgumentException("dateAdministered is required");
+        }
+        LocalDate nextDue = date(row, "nextDueDate");
+        if (nextDue != null && nextDue.isBefore(administered)) {
+            throw new IllegalArgumentException("nextDueDate is before dateAdministered");
+        }
+        record.setDateAdministered(administered);
+        record.setNextDueDate(nextDue);
+        record.setBatchNumber(value(row, "batchNumber"));
+        record.setAdministeredBy(value(row, "administeredBy"));
+        record.setNotes(value(row, "notes"));
+
+        String completed = value(row, "completed");
+        record.setCompleted(completed == null || Boolean.parseBoolean(completed));
+        return record;
+    }
+
+    private static LocalDate date(Map<String, String> row, String column) {
+        String value = value(row, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be an ISO date (yyyy-MM-dd)");
+        }
+    }
+
+    private static String value(Map<String, String> row, String column) {
+        // Column names are matched case-insensitively
+        String value = row.get(column.toLowerCase(Locale.ROOT));
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
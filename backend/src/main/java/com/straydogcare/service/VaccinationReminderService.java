@@ -0,0 +1,318 @@
+package com.straydogcare.service;
+
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.Vaccination;
+import com.straydogcare.model.VaccinationDue;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.repository.DogReportRepository;
+import com.straydogcare.repository.VaccinationDueRepository;
+import com.straydogcare.repository.VaccinationRepository;
+import com.straydogcare.repository.VolunteerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the vaccination_due projection in sync and sends booster reminders from it.
+ *
+ * Only the latest record per vaccine type counts: once a booster is given, the
+ * previous record's due date is superseded by the new one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VaccinationReminderService {
+
+    private final VaccinationDueRepository vaccinationDueRepository;
+    private final VaccinationRepository vaccinationRepository;
+    private final VolunteerRepository volunteerRepository;
+    private final DogReportRepository dogReportRepository;
+    private final NotificationService notificationService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${application.vaccinations.reminder-days:7}")
+    private int reminderDays;
+
+    @Value("${application.vaccinations.reminder-batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Build the projection for databases that predate it. Boosters that were already overdue
+     * by then are marked as announced, so the first reminder run does not send a notification
+     * for every booster missed in the years before the projection existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (vaccinationDueRepository.count() > 0) {
+            return;
+        }
+        List<Vaccination> batch = new ArrayList<>(batchSize);
+        try (Stream<Vaccination> vaccinations = vaccinationRepository.streamAllBy()) {
+            vaccinations.forEach(vaccination -> {
+                batch.add(vaccination);
+                if (batch.size() == batchSize) {
+                    syncAll(batch);
+                    batch.clear();
+                }
+            });
+        }
+        syncAll(batch);
+        long projected = vaccinationDueRepository.count();
+        if (projected > 0) {
+            long settled = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("reminderSentAt").is(null).and("nextDueDate").lt(LocalDate.now())),
+                    new Update().set("reminderSentAt", LocalDateTime.now()),
+                    VaccinationDue.class
+            ).getModifiedCount();
+            log.info("Built vaccination due-date projection with {} boosters, {} already overdue and not reminded", projected, settled);
+        }
+    }
+
+    /**
+     * Replace the projected due dates for one vaccination document
+     */
+    public void sync(Vaccination vaccination) {
+        syncAll(List.of(vaccination));
+    }
+
+    /**
+     * Replace the projected due dates for many vaccination documents in two round trips
+     */
+    public void syncAll(Collection<Vaccination> vaccinations) {
+        List<String> vaccinationIds = vaccinations.stream()
+                .filter(Objects::nonNull)
+                .map(Vaccination::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (vaccinationIds.isEmpty()) {
+            return;
+        }
+        Query byVaccination = Query.query(Criteria.where("vaccinationId").in(vaccinationIds));
+        Map<String, VaccinationDue> existing = mongoTemplate.find(byVaccination, VaccinationDue.class)
+                .stream()
+                .collect(Collectors.toMap(VaccinationDue::getId, Function.identity()));
+
+        List<VaccinationDue> current = new ArrayList<>();
+        for (Vaccination vaccination : vaccinations) {
+            if (vaccination != null && vaccination.getId() != null) {
+                current.addAll(project(vaccination));
+            }
+        }
+        for (VaccinationDue due : current) {
+            VaccinationDue previous = existing.get(due.getId());
+            // Keep the reminder marker unless the booster was rescheduled
+            if (previous != null && Objects.equals(previous.getNextDueDate(), due.getNextDueDate())) {
+                due.setReminderSentAt(previous.getReminderSentAt());
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, VaccinationDue.class);
+        bulk.remove(byVaccination);
+        if (!current.isEmpty()) {
+            bulk.insert(current);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Re-project the vaccination documents of the given dogs, reading only the fields project()
+     * uses instead of whole documents with every record's batch number and notes
+     */
+    public void syncDogs(Collection<String> dogReportIds) {
+        if (dogReportIds.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("dogReportId").in(dogReportIds));
+        query.fields().include("dogReportId", "dogName", "vetId", "vetName", "location",
+                "records.type", "records.vaccineName", "records.dateAdministered", "records.nextDueDate");
+        syncAll(mongoTemplate.find(query, Vaccination.class));
+    }
+
+    public void remove(String vaccinationId) {
+        vaccinationDueRepository.deleteByVaccinationId(vaccinationId);
+    }
+
+    /**
+     * Boosters due in the inclusive date range, soonest first
+     */
+    public List<VaccinationDue> getDue(LocalDate from, LocalDate to) {
+        Query query = Query.query(Criteria.where("nextDueDate").gte(from).lte(to))
+                .with(Sort.by(Sort.Direction.ASC, "nextDueDate"));
+        return mongoTemplate.find(query, VaccinationDue.class);
+    }
+
+    @Scheduled(cron = "${application.vaccinations.reminder-cron:0 0 7 * * *}")
+    public void sendReminders() {
+        int sent = sendReminders(LocalDate.now());
+        if (sent > 0) {
+            log.info("Sent {} vaccination reminders", sent);
+        }
+    }
+
+    /**
+     * Notify the vet (or the dog's assigned volunteer) about every booster due within
+     * the reminder window that has not been announced yet, overdue ones included
+     */
+    public int sendReminders(LocalDate today) {
+        Criteria criteria = Criteria.where("reminderSentAt").is(null)
+                .and("nextDueDate").lte(today.plusDays(reminderDays));
+        int sent = 0;
+        while (true) {
+            Query query = Query.query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "nextDueDate"))
+                    .limit(batchSize);
+            List<VaccinationDue> batch = mongoTemplate.find(query, VaccinationDue.class);
+            if (batch.isEmpty()) {
+                return sent;
+            }
+
+            Map<String, String> recipients = recipientsFor(batch);
+            List<Notification> notifications = new ArrayList<>(batch.size());
+            for (VaccinationDue due : batch) {
+                String userId = recipients.get(due.getId());
+                if (userId != null) {
+                    notifications.add(buildNotification(due, userId, today));
+                }
+            }
+            if (!notifications.isEmpty()) {
+                notificationService.createNotifications(notifications);
+            }
+
+            // Mark the whole batch, including boosters nobody can be told about, so the scan moves on
+            List<String> ids = batch.stream().map(VaccinationDue::getId).toList();
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids)),
+                    new Update().set("reminderSentAt", LocalDateTime.now()),
+                    VaccinationDue.class
+            );
+
+            sent += notifications.size();
+            if (batch.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    // Helper methods
+
+    private List<VaccinationDue> project(Vaccination vaccination) {
+        if (vaccination.getRecords() == null) {
+            return List.of();
+        }
+        Map<Vaccination.VaccineType, Vaccination.VaccinationRecord> latest = new EnumMap<>(Vaccination.VaccineType.class);
+        Comparator<Vaccination.VaccinationRecord> byAdministered = Comparator.comparing(
+                Vaccination.VaccinationRecord::getDateAdministered,
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (Vaccination.VaccinationRecord record : vaccination.getRecords()) {
+            Vaccination.VaccineType type = record.getType() != null ? record.getType() : Vaccination.VaccineType.OTHER;
+            latest.merge(type, record, (a, b) -> byAdministered.compare(b, a) >= 0 ? b : a);
+        }
+
+        List<VaccinationDue> projected = new ArrayList<>(latest.size());
+        latest.forEach((type, record) -> {
+            if (record.getNextDueDate() == null) {
+                return;
+            }
+            projected.add(new VaccinationDue(
+                    vaccination.getId() + ":" + type,
+                    vaccination.getId(),
+                    vaccination.getDogReportId(),
+                    vaccination.getDogName(),
+                    type,
+                    record.getVaccineName(),
+                    record.getDateAdministered(),
+                    record.getNextDueDate(),
+                    vaccination.getVetId(),
+                    vaccination.getVetName(),
+                    vaccination.getLocation(),
+                    null
+            ));
+        });
+        return projected;
+    }
+
+    /**
+     * Resolve a user to notify per due item: the vet, else the volunteer assigned to the dog
+     */
+    private Map<String, String> recipientsFor(List<VaccinationDue> batch) {
+        Set<String> dogReportIds = batch.stream()
+                .filter(due -> due.getVetId() == null)
+                .map(VaccinationDue::getDogReportId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> assigneeByDog = new HashMap<>();
+        if (!dogReportIds.isEmpty()) {
+            for (DogReport report : dogReportRepository.findAllById(dogReportIds)) {
+                if (report.getAssignedTo() != null) {
+                    assigneeByDog.put(report.getId(), report.getAssignedTo());
+                }
+            }
+        }
+
+        Set<String> volunteerIds = new HashSet<>(assigneeByDog.values());
+        batch.stream().map(VaccinationDue::getVetId).filter(Objects::nonNull).forEach(volunteerIds::add);
+        Map<String, String> userIdByVolunteer = new HashMap<>();
+        for (Volunteer volunteer : volunteerRepository.findAllById(volunteerIds)) {
+            if (volunteer.getUserId() != null) {
+                userIdByVolunteer.put(volunteer.getId(), volunteer.getUserId());
+            }
+        }
+
+        Map<String, String> recipients = new HashMap<>();
+        for (VaccinationDue due : batch) {
+            String userId;
+            if (due.getVetId() != null) {
+                // vetId may hold either a volunteer id or a user id
+                userId = userIdByVolunteer.getOrDefault(due.getVetId(), due.getVetId());
+            } else {
+                userId = userIdByVolunteer.get(assigneeByDog.get(due.getDogReportId()));
+            }
+            if (userId != null) {
+                recipients.put(due.getId(), userId);
+            }
+        }
+        return recipients;
+    }
+
+    private Notification buildNotification(VaccinationDue due, String userId, LocalDate today) {
+        String dog = due.getDogName() != null ? due.getDogName() : "a dog";
+        boolean overdue = due.getNextDueDate().isBefore(today);
+
+        Notification notification = new Notification();
+        notification.setUserId(userId);
+        notification.setTitle(overdue ? "Vaccination Overdue" : "Vaccination Due Soon");
+        notification.setMessage(due.getVaccineType() + " booster for " + dog
+                + (overdue ? " was due on " : " is due on ") + due.getNextDueDate());
+        notification.setType(overdue ? Notification.Type.WARNING : Notification.Type.INFO);
+        notification.setRelatedEntityId(due.getVaccinationId());
+        notification.setRelatedEntityType("VACCINATION");
+        return notification;
+    }
+}
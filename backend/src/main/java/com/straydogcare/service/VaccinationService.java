@@ -1,18 +1,30 @@
 package com.straydogcare.service;
 
 import com.straydogcare.model.Vaccination;
+import com.straydogcare.model.VaccinationDue;
 import com.straydogcare.repository.VaccinationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class VaccinationService {
     
+    private static final int MAX_DUE_SPAN_DAYS = 366;
+    
     private final VaccinationRepository vaccinationRepository;
+    private final VaccinationReminderService reminderService;
+    private final MongoTemplate mongoTemplate;
     
     public List<Vaccination> getAllVaccinations() {
         return vaccinationRepository.findAll();
@@ -36,16 +48,49 @@ public class VaccinationService {
         return vaccinationRepository.findByLocation(location);
     }
     
+    /**
+     * Vaccinations are kept as one document per dog: a dog that already has one gets the new
+     * records pushed onto it, the same way the bulk import writes them
+     */
     public Vaccination createVaccination(Vaccination vaccination) {
-        vaccination.setCreatedAt(LocalDateTime.now());
-        return vaccinationRepository.save(vaccination);
+        if (vaccination.getDogReportId() == null || vaccination.getDogReportId().isBlank()) {
+            throw new RuntimeException("dogReportId is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Vaccination.VaccinationRecord> records = vaccination.getRecords() != null ? vaccination.getRecords() : List.of();
+        Update update = new Update()
+                .push("records").each(records.toArray())
+                .set("updatedAt", now)
+                .setOnInsert("createdAt", now);
+        if (vaccination.getDogName() != null) update.setOnInsert("dogName", vaccination.getDogName());
+        if (vaccination.getDogDescription() != null) update.setOnInsert("dogDescription", vaccination.getDogDescription());
+        if (vaccination.getVetId() != null) update.setOnInsert("vetId", vaccination.getVetId());
+        if (vaccination.getVetName() != null) update.setOnInsert("vetName", vaccination.getVetName());
+        if (vaccination.getLocation() != null) update.setOnInsert("location", vaccination.getLocation());
+        if (vaccination.getNotes() != null) update.setOnInsert("notes", vaccination.getNotes());
+
+        Vaccination saved = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("dogReportId").is(vaccination.getDogReportId())),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Vaccination.class
+        );
+        reminderService.sync(saved);
+        return saved;
     }
     
     public Vaccination addVaccinationRecord(String vaccinationId, Vaccination.VaccinationRecord record) {
-        Vaccination vaccination = getVaccinationById(vaccinationId);
-        vaccination.getRecords().add(record);
-        vaccination.setUpdatedAt(LocalDateTime.now());
-        return vaccinationRepository.save(vaccination);
+        Vaccination saved = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(vaccinationId)),
+                new Update().push("records", record).set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Vaccination.class
+        );
+        if (saved == null) {
+            throw new RuntimeException("Vaccination record not found");
+        }
+        reminderService.sync(saved);
+        return saved;
     }
     
     public Vaccination updateVaccination(String id, Vaccination vaccination) {
@@ -61,10 +106,26 @@ public class VaccinationService {
         
         existing.setUpdatedAt(LocalDateTime.now());
         
-        return vaccinationRepository.save(existing);
+        Vaccination saved = vaccinationRepository.save(existing);
+        reminderService.sync(saved);
+        return saved;
     }
     
     public void deleteVaccination(String id) {
         vaccinationRepository.deleteById(id);
+        reminderService.remove(id);
+    }
+    
+    public List<VaccinationDue> getDueVaccinations(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(30);
+        if (end.isBefore(start)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        // Bounds the result size; the projection holds one row per dog and vaccine type in the range
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DUE_SPAN_DAYS) {
+            throw new RuntimeException("The date range must not span more than " + MAX_DUE_SPAN_DAYS + " days");
+        }
+        return reminderService.getDue(start, end);
     }
 }
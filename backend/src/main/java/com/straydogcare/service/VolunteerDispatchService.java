@@ -0,0 +1,174 @@
+package com.straydogcare.service;
+
+import com.straydogcare.dto.DispatchCandidateResponse;
+import com.straydogcare.model.DogReport;
+import com.straydogcare.model.Volunteer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Scores active volunteers against a dog report and keeps the best k.
+ *
+ * Candidates come from {@link VolunteerSpatialIndex}, so only volunteers near the
+ * report or in the same area are ever scored. Most volunteers only give a free-text area,
+ * so a radius search that finds fewer than {@code limit} volunteers is topped up with the
+ * area matches that have no coordinates; those get a middling distance score.
+ */
+@Service
+@RequiredArgsConstructor
+public class VolunteerDispatchService {
+
+    private static final double DISTANCE_WEIGHT = 0.40;
+    private static final double ROLE_WEIGHT = 0.30;
+    private static final double LOAD_WEIGHT = 0.15;
+    private static final double AVAILABILITY_WEIGHT = 0.10;
+    private static final double EXPERIENCE_WEIGHT = 0.05;
+
+    private final VolunteerSpatialIndex spatialIndex;
+
+    @Value("${application.dispatch.search-radius-km:25}")
+    private double searchRadiusKm;
+
+    public record Match(VolunteerSpatialIndex.Candidate candidate, Double distanceKm, double score) {
+    }
+
+    /**
+     * Best {@code limit} volunteers for the report, best first
+     */
+    public List<Match> findMatches(DogReport report, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        List<VolunteerSpatialIndex.Candidate> candidates = candidatesFor(report, limit);
+
+        DayOfWeek today = LocalDate.now().getDayOfWeek();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Match::score));
+        for (VolunteerSpatialIndex.Candidate candidate : candidates) {
+            Double distanceKm = report.getCoordinates() != null && candidate.coordinates() != null
+                    ? GeoUtils.distanceMeters(report.getCoordinates(), candidate.coordinates()) / 1000d
+                    : null;
+            double score = score(report.getCondition(), candidate, distanceKm, today);
+
+            if (best.size() < limit) {
+                best.add(new Match(candidate, distanceKm, score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Match(candidate, distanceKm, score));
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(Match::score).reversed());
+        return ranked;
+    }
+
+    public List<DispatchCandidateResponse> findCandidates(DogReport report, int limit) {
+        return findMatches(report, limit).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    // Helper methods
+
+    private List<VolunteerSpatialIndex.Candidate> candidatesFor(DogReport report, int limit) {
+        if (report.getCoordinates() == null) {
+            return spatialIndex.findInArea(report.getLocation());
+        }
+        List<VolunteerSpatialIndex.Candidate> candidates = spatialIndex.findWithin(report.getCoordinates(), searchRadiusKm);
+        if (candidates.size() >= limit) {
+            return candidates;
+        }
+        // Volunteers with coordinates were already judged by the radius search
+        for (VolunteerSpatialIndex.Candidate candidate : spatialIndex.findInArea(report.getLocation())) {
+            if (candidate.coordinates() == null) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    private double score(DogReport.Condition condition, VolunteerSpatialIndex.Candidate candidate,
+                         Double distanceKm, DayOfWeek today) {
+        // Area-only matches get a middling distance score
+        double distanceScore = distanceKm != null ? 1d - Math.min(distanceKm, searchRadiusKm) / searchRadiusKm : 0.5;
+        double loadScore = 1d / (1 + candidate.activeCases());
+        double experienceScore = Math.min(candidate.completedCases(), 20) / 20d;
+
+        return DISTANCE_WEIGHT * distanceScore
+                + ROLE_WEIGHT * roleFit(condition, candidate.role())
+                + LOAD_WEIGHT * loadScore
+                + AVAILABILITY_WEIGHT * availabilityFit(candidate.availability(), today)
+                + EXPERIENCE_WEIGHT * experienceScore;
+    }
+
+    private double roleFit(DogReport.Condition condition, Volunteer.Role role) {
+        if (role == null) {
+            return 0.3;
+        }
+        if (condition == null) {
+            condition = DogReport.Condition.HEALTHY;
+        }
+        return switch (condition) {
+            case CRITICAL, INJURED, SICK -> switch (role) {
+                case VET -> 1.0;
+                case RESCUER -> 0.9;
+                case TRANSPORT -> 0.6;
+                case FOSTER -> 0.2;
+                case FEEDER -> 0.1;
+            };
+            case MALNOURISHED -> switch (role) {
+                case FEEDER -> 1.0;
+                case RESCUER -> 0.7;
+                case FOSTER -> 0.6;
+                case VET -> 0.5;
+                case TRANSPORT -> 0.4;
+            };
+            case HEALTHY -> switch (role) {
+                case RESCUER, FOSTER -> 0.8;
+                case TRANSPORT, FEEDER -> 0.6;
+                case VET -> 0.3;
+            };
+        };
+    }
+
+    private double availabilityFit(String availability, DayOfWeek today) {
+        if (availability == null || availability.isBlank()) {
+            return 0.5;
+        }
+        boolean weekend = today == DayOfWeek.SATURDAY || today == DayOfWeek.SUNDAY;
+        String normalized = availability.trim().toLowerCase();
+        if (normalized.contains("anytime")) {
+            return 1.0;
+        }
+        if (normalized.contains("weekend")) {
+            return weekend ? 1.0 : 0.2;
+        }
+        if (normalized.contains("weekday")) {
+            return weekend ? 0.2 : 1.0;
+        }
+        return 0.5;
+    }
+
+    private DispatchCandidateResponse toResponse(Match match) {
+        VolunteerSpatialIndex.Candidate candidate = match.candidate();
+        return DispatchCandidateResponse.builder()
+                .volunteerId(candidate.volunteerId())
+                .name(candidate.name())
+                .role(candidate.role())
+                .availability(candidate.availability())
+                .distanceKm(match.distanceKm())
+                .activeCases(candidate.activeCases())
+                .completedCases(candidate.completedCases())
+                .score(match.score())
+                .build();
+    }
+}
@@ -1,20 +1,31 @@
 package com.straydogcare.service;
 
+import com.straydogcare.config.CacheConfiguration;
 import com.straydogcare.model.Notification;
 import com.straydogcare.model.Volunteer;
 import com.straydogcare.repository.VolunteerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class VolunteerService {
     
     private final VolunteerRepository volunteerRepository;
+    private final MongoTemplate mongoTemplate;
     private final NotificationService notificationService;
+    private final VolunteerSpatialIndex volunteerIndex;
     
     public List<Volunteer> getAllVolunteers() {
         return volunteerRepository.findAll();
@@ -28,11 +39,20 @@ public class VolunteerService {
         return volunteerRepository.findByArea(area);
     }
     
+    @Cacheable(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#id")
     public Volunteer getVolunteerById(String id) {
         return volunteerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Volunteer not found"));
     }
     
+    /**
+     * Cached lookup for callers that tolerate a missing volunteer; misses are not cached
+     */
+    @Cacheable(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#id", unless = "#result == null")
+    public Optional<Volunteer> findVolunteer(String id) {
+        return volunteerRepository.findById(id);
+    }
+    
     public Volunteer registerVolunteer(Volunteer volunteer) {
         if (volunteerRepository.existsByEmail(volunteer.getEmail())) {
             throw new RuntimeException("Email already registered as volunteer");
@@ -43,6 +63,7 @@ public class VolunteerService {
         volunteer.setCompletedCases(0);
         
         Volunteer saved = volunteerRepository.save(volunteer);
+        volunteerIndex.upsert(saved);
         
         // Notify admin about new volunteer registration
         // In production, you would notify all admin users
@@ -50,6 +71,7 @@ public class VolunteerService {
         return saved;
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#id")
     public Volunteer updateVolunteer(String id, Volunteer volunteer) {
         Volunteer existing = getVolunteerById(id);
         
@@ -57,6 +79,7 @@ public class VolunteerService {
         if (volunteer.getContact() != null) existing.setContact(volunteer.getContact());
         if (volunteer.getEmail() != null) existing.setEmail(volunteer.getEmail());
         if (volunteer.getArea() != null) existing.setArea(volunteer.getArea());
+        if (volunteer.getCoordinates() != null) existing.setCoordinates(volunteer.getCoordinates());
         if (volunteer.getRole() != null) existing.setRole(volunteer.getRole());
         if (volunteer.getAvailability() != null) existing.setAvailability(volunteer.getAvailability());
         if (volunteer.getAddress() != null) existing.setAddress(volunteer.getAddress());
@@ -65,15 +88,19 @@ public class VolunteerService {
         
         existing.setUpdatedAt(LocalDateTime.now());
         
-        return volunteerRepository.save(existing);
+        Volunteer updated = volunteerRepository.save(existing);
+        volunteerIndex.upsert(updated);
+        return updated;
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#id")
     public Volunteer updateVolunteerStatus(String id, Volunteer.Status status) {
         Volunteer volunteer = getVolunteerById(id);
         volunteer.setStatus(status);
         volunteer.setUpdatedAt(LocalDateTime.now());
         
         Volunteer updated = volunteerRepository.save(volunteer);
+        volunteerIndex.upsert(updated);
         
         // Notify volunteer about status change
         if (volunteer.getUserId() != null) {
@@ -94,13 +121,52 @@ public class VolunteerService {
         return updated;
     }
     
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#id")
     public void deleteVolunteer(String id) {
         volunteerRepository.deleteById(id);
+        volunteerIndex.remove(id);
+    }
+    
+    /**
+     * Move a finished case off the volunteer's active list and count it as completed. Only a call
+     * that still finds the case on the list counts it, so repeated completions are harmless.
+     * Returns null if the volunteer does not exist or no longer holds the case.
+     */
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#volunteerId")
+    public Volunteer completeAssignedCase(String volunteerId, String reportId) {
+        return modify(
+                Criteria.where("_id").is(volunteerId).and("assignedCases").is(reportId),
+                new Update().pull("assignedCases", reportId).inc("completedCases", 1)
+        );
+    }
+    
+    /**
+     * Atomically add a case to the volunteer's list; returns null if the volunteer does not exist
+     */
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#volunteerId")
+    public Volunteer addAssignedCase(String volunteerId, String reportId) {
+        return modify(volunteerId, new Update().addToSet("assignedCases", reportId));
     }
     
-    public void incrementCompletedCases(String volunteerId) {
-        Volunteer volunteer = getVolunteerById(volunteerId);
-        volunteer.setCompletedCases(volunteer.getCompletedCases() + 1);
-        volunteerRepository.save(volunteer);
+    @CacheEvict(cacheNames = CacheConfiguration.VOLUNTEERS, key = "#volunteerId")
+    public Volunteer removeAssignedCase(String volunteerId, String reportId) {
+        return modify(volunteerId, new Update().pull("assignedCases", reportId));
+    }
+    
+    private Volunteer modify(String volunteerId, Update update) {
+        return modify(Criteria.where("_id").is(volunteerId), update);
+    }
+    
+    private Volunteer modify(Criteria criteria, Update update) {
+        Volunteer updated = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                update.set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true),
+                Volunteer.class
+        );
+        if (updated != null) {
+            volunteerIndex.upsert(updated);
+        }
+        return updated;
     }
 }
@@ -0,0 +1,277 @@
+package com.straydogcare.service;
+
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.repository.VolunteerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid index over active volunteers.
+ *
+ * Volunteers with coordinates are bucketed into fixed-size lat/lng cells so a
+ * radius lookup only visits the cells around the query point. Volunteers without
+ * coordinates are bucketed by their free-text area instead.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VolunteerSpatialIndex {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final VolunteerRepository volunteerRepository;
+
+    @Value("${application.dispatch.cell-size-degrees:0.05}")
+    private double cellSizeDegrees;
+
+    private final Map<String, Candidate> volunteers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> cells = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> areas = new ConcurrentHashMap<>();
+
+    /**
+     * Immutable view of a volunteer as far as dispatch is concerned
+     */
+    public record Candidate(
+            String volunteerId,
+            String userId,
+            String name,
+            Volunteer.Role role,
+            String availability,
+            String area,
+            GeoJsonPoint coordinates,
+            int activeCases,
+            int completedCases
+    ) {
+    }
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        volunteers.clear();
+        cells.clear();
+        areas.clear();
+        volunteerRepository.findByStatus(Volunteer.Status.ACTIVE).forEach(this::upsert);
+        log.info("Volunteer spatial index rebuilt with {} volunteers in {} ms",
+                volunteers.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Index or re-index a volunteer; anyone who is not ACTIVE is dropped
+     */
+    public void upsert(Volunteer volunteer) {
+        if (volunteer == null || volunteer.getId() == null) {
+            return;
+        }
+        if (volunteer.getStatus() != Volunteer.Status.ACTIVE) {
+            remove(volunteer.getId());
+            return;
+        }
+
+        Candidate candidate = new Candidate(
+                volunteer.getId(),
+                volunteer.getUserId(),
+                volunteer.getName(),
+                volunteer.getRole(),
+                volunteer.getAvailability(),
+                volunteer.getArea(),
+                volunteer.getCoordinates(),
+                volunteer.getAssignedCases() != null ? volunteer.getAssignedCases().size() : 0,
+                volunteer.getCompletedCases() != null ? volunteer.getCompletedCases() : 0
+        );
+
+        volunteers.compute(volunteer.getId(), (id, previous) -> {
+            if (previous != null) {
+                unbucket(previous);
+            }
+            bucket(candidate);
+            return candidate;
+        });
+    }
+
+    public void remove(String volunteerId) {
+        if (volunteerId == null) {
+            return;
+        }
+        volunteers.computeIfPresent(volunteerId, (id, previous) -> {
+            unbucket(previous);
+            return null;
+        });
+    }
+
+    public Candidate get(String volunteerId) {
+        return volunteerId != null ? volunteers.get(volunteerId) : null;
+    }
+
+    public boolean isEmpty() {
+        return volunteers.isEmpty();
+    }
+
+    public int size() {
+        return volunteers.size();
+    }
+
+    /**
+     * Whether any indexed volunteer has coordinates, i.e. whether distances can be measured at all
+     */
+    public boolean hasCoordinates() {
+        return !cells.isEmpty();
+    }
+
+    /**
+     * All indexed volunteers within {@code radiusKm} of the point
+     */
+    public List<Candidate> findWithin(GeoJsonPoint point, double radiusKm) {
+        List<Candidate> found = new ArrayList<>();
+        double radiusMeters = radiusKm * 1000d;
+        int rings = ringsFor(point.getY(), radiusKm);
+        long row = row(point.getY());
+        long col = col(point.getX());
+
+        for (long r = row - rings; r <= row + rings; r++) {
+            for (long c = col - rings; c <= col + rings; c++) {
+                collectWithin(cells.get(key(r, c)), point, radiusMeters, found);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Volunteers whose free-text area matches, used when a report has no coordinates
+     */
+    public List<Candidate> findInArea(String area) {
+        if (area == null) {
+            return List.of();
+        }
+        Set<String> ids = areas.get(normalizeArea(area));
+        if (ids == null) {
+            return List.of();
+        }
+        List<Candidate> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Candidate candidate = volunteers.get(id);
+            if (candidate != null) {
+                found.add(candidate);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Distance to the closest indexed volunteer, searching outward ring by ring up to {@code maxKm}
+     */
+    public OptionalDouble nearestDistanceKm(GeoJsonPoint point, double maxKm) {
+        long row = row(point.getY());
+        long col = col(point.getX());
+        int maxRings = ringsFor(point.getY(), maxKm);
+        double ringWidthKm = cellSizeDegrees * KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(point.getY())));
+        double best = Double.MAX_VALUE;
+
+        for (int ring = 0; ring <= maxRings; ring++) {
+            for (long r = row - ring; r <= row + ring; r++) {
+                for (long c = col - ring; c <= col + ring; c++) {
+                    // Only the perimeter of the ring is new
+                    if (Math.abs(r - row) != ring && Math.abs(c - col) != ring) {
+                        continue;
+                    }
+                    Set<String> ids = cells.get(key(r, c));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (String id : ids) {
+                        Candidate candidate = volunteers.get(id);
+                        if (candidate != null && candidate.coordinates() != null) {
+                            best = Math.min(best, GeoUtils.distanceMeters(point, candidate.coordinates()) / 1000d);
+                        }
+                    }
+                }
+            }
+            // Anything in a further ring is at least ring * width away
+            if (best <= ring * ringWidthKm) {
+                break;
+            }
+        }
+        return best <= maxKm ? OptionalDouble.of(best) : OptionalDouble.empty();
+    }
+
+    // Helper methods
+
+    private void collectWithin(Collection<String> ids, GeoJsonPoint point, double radiusMeters, List<Candidate> found) {
+        if (ids == null) {
+            return;
+        }
+        for (String id : ids) {
+            Candidate candidate = volunteers.get(id);
+            if (candidate != null && candidate.coordinates() != null
+                    && GeoUtils.distanceMeters(point, candidate.coordinates()) <= radiusMeters) {
+                found.add(candidate);
+            }
+        }
+    }
+
+    private void bucket(Candidate candidate) {
+        if (candidate.coordinates() != null) {
+            cells.computeIfAbsent(cellOf(candidate.coordinates()), k -> ConcurrentHashMap.newKeySet())
+                    .add(candidate.volunteerId());
+        }
+        if (candidate.area() != null) {
+            areas.computeIfAbsent(normalizeArea(candidate.area()), k -> ConcurrentHashMap.newKeySet())
+                    .add(candidate.volunteerId());
+        }
+    }
+
+    private void unbucket(Candidate candidate) {
+        if (candidate.coordinates() != null) {
+            cells.computeIfPresent(cellOf(candidate.coordinates()), (k, ids) -> {
+                ids.remove(candidate.volunteerId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (candidate.area() != null) {
+            areas.computeIfPresent(normalizeArea(candidate.area()), (k, ids) -> {
+                ids.remove(candidate.volunteerId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private int ringsFor(double latitude, double radiusKm) {
+        double cellKm = cellSizeDegrees * KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        return (int) Math.ceil(radiusKm / cellKm);
+    }
+
+    private long cellOf(GeoJsonPoint point) {
+        return key(row(point.getY()), col(point.getX()));
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor(latitude / cellSizeDegrees);
+    }
+
+    private long col(double longitude) {
+        return (long) Math.floor(longitude / cellSizeDegrees);
+    }
+
+    private static long key(long row, long col) {
+        return (row << 32) | (col & 0xffffffffL);
+    }
+
+    private static String normalizeArea(String area) {
+        return area.trim().toLowerCase();
+    }
+}
@@ -1,10 +1,18 @@
 package com.straydogcare.service;
 
+import com.straydogcare.config.CacheConfiguration;
+import com.straydogcare.model.User;
 import com.straydogcare.model.Volunteer;
 import com.straydogcare.model.VolunteerTask;
+import com.straydogcare.repository.UserRepository;
 import com.straydogcare.repository.VolunteerRepository;
 import com.straydogcare.repository.VolunteerTaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -17,6 +25,9 @@ public class VolunteerTaskService {
     
     private final VolunteerTaskRepository taskRepository;
     private final VolunteerRepository volunteerRepository;
+    private final UserRepository userRepository;
+    private final VolunteerService volunteerService;
+    private final CacheManager cacheManager;
     
     public List<VolunteerTask> getAllTasks() {
         return taskRepository.findAll();
@@ -30,6 +41,36 @@ public class VolunteerTaskService {
         return taskRepository.findByVolunteerId(volunteerId);
     }
     
+    /**
+     * Tasks of the volunteer behind the given principal, soonest due first
+     */
+    public Page<VolunteerTask> getTasksForPrincipal(String principal, VolunteerTask.Status status, int page, int size) {
+        String volunteerId = resolveVolunteerId(principal)
+                .orElseThrow(() -> new RuntimeException("No volunteer profile found for current user"));
+        
+        PageRequest pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "dueDate"));
+        return status != null
+                ? taskRepository.findByVolunteerIdAndStatus(volunteerId, status, pageable)
+                : taskRepository.findByVolunteerId(volunteerId, pageable);
+    }
+    
+    private Optional<String> resolveVolunteerId(String principal) {
+        // Principal (email) -> volunteer ID; a volunteer's identity does not change once registered
+        Cache volunteerIds = cacheManager.getCache(CacheConfiguration.VOLUNTEER_IDS);
+        String cached = volunteerIds.get(principal, String.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        Optional<String> volunteerId = userRepository.findByEmail(principal)
+                .map(User::getId)
+                .flatMap(volunteerRepository::findByUserId)
+                .or(() -> volunteerRepository.findByEmail(principal))
+                .map(Volunteer::getId);
+        volunteerId.ifPresent(id -> volunteerIds.put(principal, id));
+        return volunteerId;
+    }
+    
     public List<VolunteerTask> getTasksByStatus(VolunteerTask.Status status) {
         return taskRepository.findByStatus(status);
     }
@@ -37,10 +78,13 @@ public class VolunteerTaskService {
     public VolunteerTask createTask(VolunteerTask task) {
         // Get volunteer name for caching
         if (task.getVolunteerId() != null) {
-            Optional<Volunteer> volunteer = volunteerRepository.findById(task.getVolunteerId());
+            Optional<Volunteer> volunteer = volunteerService.findVolunteer(task.getVolunteerId());
             volunteer.ifPresent(v -> task.setVolunteerName(v.getName()));
         }
         
+        if (task.getAssignedDate() == null) {
+            task.setAssignedDate(LocalDateTime.now());
+        }
         task.setCreatedAt(LocalDateTime.now());
         task.setUpdatedAt(LocalDateTime.now());
         return taskRepository.save(task);
@@ -62,11 +106,14 @@ public class VolunteerTaskService {
                     task.setStatus(taskDetails.getStatus());
                     // Set completed date when status changes to COMPLETED
                     if (taskDetails.getStatus() == VolunteerTask.Status.COMPLETED && task.getCompletedDate() == null) {
-                        task.setCompletedDate(LocalDateTime.now().toString());
+                        task.setCompletedDate(LocalDateTime.now());
                     }
                 }
-                if (taskDetails.getDueDate() != null) {
+                if (taskDetails.getDueDate() != null && !taskDetails.getDueDate().equals(task.getDueDate())) {
                     task.setDueDate(taskDetails.getDueDate());
+                    // A new due date deserves fresh reminders
+                    task.setReminderSentAt(null);
+                    task.setOverdueNotifiedAt(null);
                 }
                 if (taskDetails.getNotes() != null) {
                     task.setNotes(taskDetails.getNotes());
@@ -86,7 +133,7 @@ public class VolunteerTaskService {
                 }
                 // Set completed date when status changes to COMPLETED
                 if (status == VolunteerTask.Status.COMPLETED && task.getCompletedDate() == null) {
-                    task.setCompletedDate(LocalDateTime.now().toString());
+                    task.setCompletedDate(LocalDateTime.now());
                 }
                 task.setUpdatedAt(LocalDateTime.now());
                 return taskRepository.save(task);
@@ -0,0 +1,151 @@
+package com.straydogcare.service;
+
+import com.straydogcare.model.Notification;
+import com.straydogcare.model.Volunteer;
+import com.straydogcare.model.VolunteerTask;
+import com.straydogcare.repository.VolunteerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends due-soon reminders and overdue warnings for open volunteer tasks.
+ *
+ * Both sweeps are indexed range scans on (status, dueDate) that skip tasks already
+ * notified, processed in fixed-size batches: one query for the batch, one for the
+ * volunteers behind it, one bulk insert of notifications and one updateMulti to
+ * mark the batch as handled.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VolunteerTaskSweeper {
+
+    private static final List<VolunteerTask.Status> OPEN_STATUSES =
+            List.of(VolunteerTask.Status.PENDING, VolunteerTask.Status.IN_PROGRESS);
+
+    private final MongoTemplate mongoTemplate;
+    private final VolunteerRepository volunteerRepository;
+    private final NotificationService notificationService;
+
+    @Value("${application.tasks.reminder-days:1}")
+    private int reminderDays;
+
+    @Value("${application.tasks.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${application.tasks.sweep-cron:0 0 * * * *}")
+    public void sweep() {
+        LocalDate today = LocalDate.now();
+        int overdue = sweepOverdue(today);
+        int reminders = sweepDueSoon(today);
+        if (overdue > 0 || reminders > 0) {
+            log.info("Task sweep sent {} overdue warnings and {} reminders", overdue, reminders);
+        }
+    }
+
+    public int sweepOverdue(LocalDate today) {
+        Criteria criteria = Criteria.where("status").in(OPEN_STATUSES)
+                .and("dueDate").lt(today)
+                .and("overdueNotifiedAt").is(null);
+        return sweep(criteria, "overdueNotifiedAt", task -> buildNotification(task,
+                "Task Overdue",
+                "Your task \"" + task.getTitle() + "\" was due on " + task.getDueDate(),
+                Notification.Type.WARNING));
+    }
+
+    public int sweepDueSoon(LocalDate today) {
+        Criteria criteria = Criteria.where("status").in(OPEN_STATUSES)
+                .and("dueDate").gte(today).lte(today.plusDays(reminderDays))
+                .and("reminderSentAt").is(null);
+        return sweep(criteria, "reminderSentAt", task -> buildNotification(task,
+                "Task Due Soon",
+                "Your task \"" + task.getTitle() + "\" is due on " + task.getDueDate(),
+                Notification.Type.INFO));
+    }
+
+    // Helper methods
+
+    private int sweep(Criteria criteria, String markerField, Function<VolunteerTask, Notification> template) {
+        int processed = 0;
+        while (true) {
+            Query query = Query.query(criteria)
+                    .with(Sort.by(Sort.Direction.ASC, "dueDate"))
+                    .limit(batchSize);
+            query.fields().include("volunteerId", "title", "dueDate");
+            List<VolunteerTask> batch = mongoTemplate.find(query, VolunteerTask.class);
+            if (batch.isEmpty()) {
+                return processed;
+            }
+
+            Map<String, String> userIds = userIdsByVolunteer(batch);
+            List<Notification> notifications = new ArrayList<>(batch.size());
+            for (VolunteerTask task : batch) {
+                String userId = userIds.get(task.getVolunteerId());
+                if (userId != null) {
+                    Notification notification = template.apply(task);
+                    notification.setUserId(userId);
+                    notifications.add(notification);
+                }
+            }
+            if (!notifications.isEmpty()) {
+                notificationService.createNotifications(notifications);
+            }
+
+            // Mark the whole batch, including tasks without a reachable user, so the scan moves on
+            List<String> ids = batch.stream().map(VolunteerTask::getId).toList();
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids)),
+                    new Update().set(markerField, LocalDateTime.now()),
+                    VolunteerTask.class
+            );
+
+            processed += notifications.size();
+            if (batch.size() < batchSize) {
+                return processed;
+            }
+        }
+    }
+
+    private Map<String, String> userIdsByVolunteer(List<VolunteerTask> batch) {
+        Set<String> volunteerIds = batch.stream()
+                .map(VolunteerTask::getVolunteerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> userIds = new HashMap<>();
+        for (Volunteer volunteer : volunteerRepository.findAllById(volunteerIds)) {
+            if (volunteer.getUserId() != null) {
+                userIds.put(volunteer.getId(), volunteer.getUserId());
+            }
+        }
+        return userIds;
+    }
+
+    private Notification buildNotification(VolunteerTask task, String title, String message, Notification.Type type) {
+        Notification notification = new Notification();
+        notification.setTitle(title);
+        notification.setMessage(message);
+        notification.setType(type);
+        notification.setRelatedEntityId(task.getId());
+        notification.setRelatedEntityType("VOLUNTEER_TASK");
+        return notification;
+    }
+}
@@ -0,0 +1,142 @@
+package com.straydogcare.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two BroadcastingCacheManagers on one InMemoryCacheInvalidationBus, standing in for two nodes.
+ * The local caches are spies, so a node re-applying its own eviction would show up as a second call.
+ */
+class BroadcastingCacheManagerTest {
+
+    private static final String DOGS = "dogs";
+    private static final String VOLUNTEERS = "volunteers";
+
+    private InMemoryCacheInvalidationBus bus;
+    private Node first;
+    private Node second;
+
+    @BeforeEach
+    void setUp() {
+        bus = spy(new InMemoryCacheInvalidationBus());
+        first = new Node(bus);
+        second = new Node(bus);
+        for (Node node : List.of(first, second)) {
+            node.manager.getCache(DOGS).put("d1", "Rex");
+            node.manager.getCache(DOGS).put("d2", "Bruno");
+            node.manager.getCache(VOLUNTEERS).put("v1", "Asha");
+        }
+    }
+
+    @Test
+    void evictionReachesTheOtherNodeAndIsAppliedOnceLocally() {
+        first.manager.getCache(DOGS).evict("d1");
+
+        assertThat(first.cached(DOGS, "d1")).isNull();
+        assertThat(second.cached(DOGS, "d1")).isNull();
+        assertThat(second.cached(DOGS, "d2")).isEqualTo("Bruno");
+        assertThat(second.cached(VOLUNTEERS, "v1")).isEqualTo("Asha");
+
+        verify(first.local(DOGS), times(1)).evict("d1");
+        verify(second.local(DOGS), times(1)).evict("d1");
+        // The receiving node does not send it on again
+        verify(bus, times(1)).publish(any(CacheInvalidation.class));
+
+        CacheInvalidation invalidation = new CacheInvalidation(first.manager.getNodeId(), DOGS, "d1");
+        verify(first.events).publishEvent(invalidation);
+        verify(second.events).publishEvent(invalidation);
+    }
+
+    @Test
+    void clearReachesTheOtherNodeAndIsAppliedOnceLocally() {
+        second.manager.getCache(DOGS).clear();
+
+        assertThat(first.cached(DOGS, "d1")).isNull();
+        assertThat(first.cached(DOGS, "d2")).isNull();
+        assertThat(first.cached(VOLUNTEERS, "v1")).isEqualTo("Asha");
+
+        verify(first.local(DOGS), times(1)).clear();
+        verify(second.local(DOGS), times(1)).clear();
+        verify(first.local(VOLUNTEERS), never()).clear();
+    }
+
+    @Test
+    void clearAllEmptiesEveryCacheOnTheOtherNodes() {
+        bus.publish(CacheInvalidation.everything(first.manager.getNodeId()));
+
+        assertThat(second.cached(DOGS, "d1")).isNull();
+        assertThat(second.cached(VOLUNTEERS, "v1")).isNull();
+        verify(second.local(DOGS)).clear();
+        verify(second.local(VOLUNTEERS)).clear();
+
+        // The publishing node clears its own caches itself before it sends a clear-all
+        verify(first.local(DOGS), never()).clear();
+        verify(first.local(VOLUNTEERS), never()).clear();
+        verify(second.events).publishEvent(CacheInvalidation.everything(first.manager.getNodeId()));
+    }
+
+    @Test
+    void evictionWithANonStringKeyClearsTheCacheOnTheOtherNode() {
+        first.manager.getCache(DOGS).evict(42L);
+
+        assertThat(first.cached(DOGS, "d1")).isEqualTo("Rex");
+        assertThat(second.cached(DOGS, "d1")).isNull();
+        assertThat(second.cached(DOGS, "d2")).isNull();
+        verify(first.local(DOGS), never()).clear();
+    }
+
+    @Test
+    void invalidationForAnUnknownCacheIsIgnored() {
+        bus.publish(new CacheInvalidation(first.manager.getNodeId(), "unknown", "k"));
+
+        assertThat(second.cached(DOGS, "d1")).isEqualTo("Rex");
+        verify(second.events, never()).publishEvent(new CacheInvalidation(first.manager.getNodeId(), "unknown", "k"));
+    }
+
+    // Helper methods
+
+    /**
+     * One node with its own local caches and event publisher, subscribed to the shared bus
+     */
+    private static class Node {
+
+        final Map<String, Cache> locals;
+        final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+        final BroadcastingCacheManager manager;
+
+        Node(InMemoryCacheInvalidationBus bus) {
+            this.locals = List.of(DOGS, VOLUNTEERS).stream()
+                    .collect(Collectors.toMap(Function.identity(), name -> spy(new ConcurrentMapCache(name))));
+            SimpleCacheManager delegate = new SimpleCacheManager();
+            delegate.setCaches(locals.values());
+            delegate.afterPropertiesSet();
+            this.manager = new BroadcastingCacheManager(delegate, bus, events);
+        }
+
+        Cache local(String name) {
+            return locals.get(name);
+        }
+
+        Object cached(String name, String key) {
+            Cache.ValueWrapper value = locals.get(name).get(key);
+            return value != null ? value.get() : null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.straydogcare.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * ConditionalGetInterceptor and ConditionalGetAdvice in front of a stub controller. The
+ * collection versions are mocked, so a write is simulated by changing the version returned.
+ */
+class ConditionalGetInterceptorTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private CollectionVersions collectionVersions;
+    private ConditionalGetInterceptor interceptor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        collectionVersions = mock(CollectionVersions.class);
+        version("dogs:e1:1;");
+        interceptor = new ConditionalGetInterceptor(collectionVersions, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(interceptor, "enabled", true);
+        ReflectionTestUtils.setField(interceptor, "compression", true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new DogsController())
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new ConditionalGetAdvice())
+                .build();
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnswered304BeforeTheControllerRuns() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/dogs")).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(etag).matches("\"[0-9a-f]{32}\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+        assertThat(calls).hasValue(1);
+
+        MockHttpServletResponse revalidated = mockMvc.perform(get("/dogs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+        assertThat(revalidated.getContentAsString()).isEmpty();
+        assertThat(revalidated.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void etagChangesAfterAWrite() throws Exception {
+        String before = mockMvc.perform(get("/dogs")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        version("dogs:e1:2;");
+        MockHttpServletResponse after = mockMvc.perform(get("/dogs").header(HttpHeaders.IF_NONE_MATCH, before))
+                .andReturn().getResponse();
+
+        assertThat(after.getStatus()).isEqualTo(200);
+        assertThat(after.getHeader(HttpHeaders.ETAG)).isNotEqualTo(before);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void pendingWriteOrErrorResponseCarriesNoEtag() throws Exception {
+        String etag = mockMvc.perform(get("/dogs")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse error = mockMvc.perform(get("/dogs").param("fail", "true")).andReturn().getResponse();
+        assertThat(error.getStatus()).isEqualTo(400);
+        assertThat(error.getHeader(HttpHeaders.ETAG)).isNull();
+
+        // A write that is not counted yet leaves the version unknown, so nothing may be reported unchanged
+        version(null);
+        MockHttpServletResponse unversioned = mockMvc.perform(get("/dogs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse();
+        assertThat(unversioned.getStatus()).isEqualTo(200);
+        assertThat(unversioned.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    void gzipClientsGetTheWeakFormOfTheSameEtag() throws Exception {
+        String strong = mockMvc.perform(get("/dogs")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/dogs").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andReturn().getResponse();
+        String weak = gzipped.getHeader(HttpHeaders.ETAG);
+        assertThat(weak).isEqualTo("W/" + strong);
+        assertThat(gzipped.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+
+        // If-None-Match uses the weak comparison, in both directions
+        assertThat(mockMvc.perform(get("/dogs").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, weak))
+                .andReturn().getResponse().getStatus()).isEqualTo(304);
+        assertThat(mockMvc.perform(get("/dogs").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, strong))
+                .andReturn().getResponse().getStatus()).isEqualTo(304);
+        assertThat(mockMvc.perform(get("/dogs").header(HttpHeaders.IF_NONE_MATCH, weak))
+                .andReturn().getResponse().getStatus()).isEqualTo(304);
+
+        // Without server compression there is only one representation, and the ETag stays strong
+        ReflectionTestUtils.setField(interceptor, "compression", false);
+        assertThat(mockMvc.perform(get("/dogs").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(strong);
+    }
+
+    @Test
+    void etagIsPerUser() throws Exception {
+        String alice = mockMvc.perform(get("/dogs").principal(() -> "alice@example.org"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String bob = mockMvc.perform(get("/dogs").principal(() -> "bob@example.org"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(alice).isNotEqualTo(bob);
+        assertThat(mockMvc.perform(get("/dogs").principal(() -> "bob@example.org").header(HttpHeaders.IF_NONE_MATCH, alice))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+    }
+
+    // Helper methods
+
+    private void version(String version) {
+        when(collectionVersions.versionOf(any())).thenReturn(version);
+    }
+
+    @RestController
+    class DogsController {
+
+        @ConditionalGet("dogs")
+        @GetMapping("/dogs")
+        public ResponseEntity<List<String>> dogs(@RequestParam(name = "fail", defaultValue = "false") boolean fail) {
+            calls.incrementAndGet();
+            if (fail) {
+                return ResponseEntity.badRequest().body(List.of("Invalid filter"));
+            }
+            return ResponseEntity.ok(List.of("Rex", "Bruno"));
+        }
+    }
+}
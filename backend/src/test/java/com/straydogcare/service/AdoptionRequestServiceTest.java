@@ -0,0 +1,203 @@
+package com.straydogcare.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.model.AdoptionRequest;
+import com.straydogcare.model.User;
+import com.straydogcare.repository.AdoptionDogRepository;
+import com.straydogcare.repository.AdoptionRequestRepository;
+import com.straydogcare.repository.UserRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Races approvals and edits for the same dog against an in-process Mongo server, which applies
+ * the same conditional updates and $inc the service relies on.
+ */
+class AdoptionRequestServiceTest {
+
+    private static final int APPLICANTS = 16;
+    private static final int ROUNDS = 10;
+    private static final String ADMIN = "admin@straydogcare.org";
+
+    private MongoServer server;
+    private MongoClient mongoClient;
+    private AdoptionRequestRepository requestRepository;
+    private AdoptionDogRepository dogRepository;
+    private DogService dogService;
+    private AdoptionRequestService service;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        mongoClient = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "straydog_test");
+        MongoRepositoryFactory repositories = new MongoRepositoryFactory(mongoTemplate);
+
+        requestRepository = repositories.getRepository(AdoptionRequestRepository.class);
+        dogRepository = repositories.getRepository(AdoptionDogRepository.class);
+        UserRepository userRepository = repositories.getRepository(UserRepository.class);
+        dogService = new DogService(dogRepository, mongoTemplate,
+                mock(AdoptionDogBitmapIndex.class), mock(DogRecommendationService.class));
+        service = new AdoptionRequestService(requestRepository, userRepository, dogService,
+                mock(NotificationService.class), mongoTemplate);
+
+        userRepository.save(user(ADMIN, User.Role.ADMIN));
+        for (int i = 0; i < APPLICANTS; i++) {
+            userRepository.save(user(applicant(i), User.Role.USER));
+        }
+        executor = Executors.newFixedThreadPool(APPLICANTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        mongoClient.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void concurrentApprovalsAdoptTheDogExactlyOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            AdoptionDog dog = dogService.createDog(dog("Round " + round));
+            List<String> requestIds = new ArrayList<>();
+            for (int i = 0; i < APPLICANTS; i++) {
+                requestIds.add(service.createRequest(request(dog.getId()), applicant(i)).getId());
+            }
+
+            List<Exception> failures = race(requestIds.stream()
+                    .<Callable<Object>>map(id -> () -> service.approveRequest(id, ADMIN))
+                    .toList());
+
+            assertThat(failures).hasSize(APPLICANTS - 1);
+            // A loser is refused with a conflict, or told its request is no longer pending
+            assertThat(failures).allSatisfy(failure -> assertThat(failure)
+                    .satisfiesAnyOf(
+                            e -> assertThat(e).isInstanceOf(OptimisticLockingFailureException.class),
+                            e -> assertThat(e).hasMessage("Only pending requests can be approved")));
+
+            Map<String, Long> statuses = requestRepository.findByDogId(dog.getId()).stream()
+                    .collect(Collectors.groupingBy(AdoptionRequest::getStatus, Collectors.counting()));
+            assertThat(statuses).containsOnly(
+                    Map.entry(AdoptionRequestService.APPROVED, 1L),
+                    Map.entry(AdoptionRequestService.REJECTED, (long) APPLICANTS - 1));
+            AdoptionDog adopted = dogRepository.findById(dog.getId()).orElseThrow();
+            assertThat(adopted.getStatus()).isEqualTo("ADOPTED");
+            assertThat(adopted.getPendingRequestCount()).isZero();
+        }
+    }
+
+    @Test
+    void editsRacingWithRequestsKeepTheCounterAndStatus() throws Exception {
+        AdoptionDog dog = dogService.createDog(dog("Bruno"));
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < APPLICANTS; i++) {
+            String email = applicant(i);
+            tasks.add(() -> service.createRequest(request(dog.getId()), email));
+            String description = "Edit " + i;
+            tasks.add(() -> {
+                // What the admin form sends when the status was left alone
+                AdoptionDog edit = dog("Bruno");
+                edit.setStatus(null);
+                edit.setDescription(description);
+                return dogService.updateDog(dog.getId(), edit);
+            });
+        }
+        assertThat(race(tasks)).isEmpty();
+
+        AdoptionDog edited = dogRepository.findById(dog.getId()).orElseThrow();
+        assertThat(edited.getPendingRequestCount()).isEqualTo(APPLICANTS);
+        assertThat(edited.getDescription()).startsWith("Edit ");
+
+        String winner = requestRepository.findByDogId(dog.getId()).get(0).getId();
+        service.approveRequest(winner, ADMIN);
+        AdoptionDog stale = dog("Bruno");
+        stale.setStatus(null);
+        dogService.updateDog(dog.getId(), stale);
+
+        AdoptionDog adopted = dogRepository.findById(dog.getId()).orElseThrow();
+        assertThat(adopted.getStatus()).isEqualTo("ADOPTED");
+        assertThat(adopted.getPendingRequestCount()).isZero();
+    }
+
+    // Helper methods
+
+    /**
+     * Start every task at once and return the exceptions they threw
+     */
+    private List<Exception> race(List<Callable<Object>> tasks) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> running = tasks.stream()
+                .map(task -> executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }))
+                .toList();
+        start.countDown();
+
+        List<Exception> failures = new ArrayList<>();
+        for (Future<Object> result : running) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                failures.add((Exception) e.getCause());
+            }
+        }
+        return failures;
+    }
+
+    private static String applicant(int i) {
+        return "applicant" + i + "@example.org";
+    }
+
+    private static User user(String email, User.Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setRole(role);
+        return user;
+    }
+
+    private static AdoptionDog dog(String name) {
+        AdoptionDog dog = new AdoptionDog();
+        dog.setName(name);
+        dog.setBreed("Indie");
+        dog.setAge(24);
+        dog.setGender("FEMALE");
+        dog.setSize("MEDIUM");
+        return dog;
+    }
+
+    private static AdoptionRequest request(String dogId) {
+        AdoptionRequest request = new AdoptionRequest();
+        request.setDogId(dogId);
+        request.setLivingSpace("HOUSE");
+        request.setReason("We have room and time for a dog");
+        return request;
+    }
+}
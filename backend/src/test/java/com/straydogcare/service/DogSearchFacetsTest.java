@@ -0,0 +1,123 @@
+package com.straydogcare.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.straydogcare.dto.AdoptionDogSearchRequest;
+import com.straydogcare.dto.AdoptionDogSearchResponse;
+import com.straydogcare.model.AdoptionDog;
+import com.straydogcare.repository.AdoptionDogRepository;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Facet counts of the dog search, from the Mongo aggregation and from the bitmap index, over the
+ * same catalogue in an in-process Mongo server
+ */
+class DogSearchFacetsTest {
+
+    private MongoServer server;
+    private MongoClient mongoClient;
+    private AdoptionDogBitmapIndex bitmapIndex;
+    private DogService dogService;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        mongoClient = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "straydog_test");
+        AdoptionDogRepository repository = new MongoRepositoryFactory(mongoTemplate).getRepository(AdoptionDogRepository.class);
+
+        repository.saveAll(List.of(
+                dog("Rex", "SMALL", 4, true),
+                dog("Bruno", "SMALL", 30, false),
+                dog("Kali", "MEDIUM", 14, true),
+                dog("Moti", "MEDIUM", 50, true),
+                dog("Sheru", "LARGE", 90, true),
+                dog("Tommy", "LARGE", 20, false)));
+
+        bitmapIndex = new AdoptionDogBitmapIndex(repository);
+        ReflectionTestUtils.setField(bitmapIndex, "enabled", true);
+        bitmapIndex.rebuild();
+        dogService = new DogService(repository, mongoTemplate, bitmapIndex, mock(DogRecommendationService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void eachFacetIsCountedWithoutItsOwnFilter() {
+        AdoptionDogSearchRequest request = available();
+        request.setSize(List.of("SMALL"));
+        request.setVaccinated(true);
+
+        AdoptionDogSearchResponse response = dogService.searchDogsInMongo(request, 0, 20);
+
+        assertThat(response.getResults().getContent()).extracting(AdoptionDog::getName).containsExactly("Rex");
+        // Sizes under vaccinated=true only, flags under size=SMALL only
+        assertThat(response.getFacets().get("size")).containsExactlyInAnyOrderEntriesOf(
+                Map.of("SMALL", 1L, "MEDIUM", 2L, "LARGE", 1L));
+        assertThat(response.getFacets().get("vaccinated")).containsExactlyInAnyOrderEntriesOf(
+                Map.of("true", 1L, "false", 1L));
+        // Unfiltered facets are drill-down counts over the full filter
+        assertThat(response.getFacets().get("age")).containsExactlyEntriesOf(Map.of("0-5", 1L));
+        assertThat(response.getFacets().get("status")).containsExactlyEntriesOf(Map.of("AVAILABLE", 1L));
+    }
+
+    @Test
+    void bitmapIndexAndMongoAgreeOnEveryFacet() {
+        AdoptionDogSearchRequest request = available();
+        request.setSize(List.of("SMALL", "LARGE"));
+        request.setMinAge(12);
+        request.setGoodWithKids(true);
+        assertThat(bitmapIndex.canServe(request)).isTrue();
+
+        AdoptionDogSearchResponse fromIndex = bitmapIndex.search(request, 0, 20);
+        AdoptionDogSearchResponse fromMongo = dogService.searchDogsInMongo(request, 0, 20);
+
+        assertThat(fromIndex.getResults().getContent()).extracting(AdoptionDog::getName)
+                .containsExactlyElementsOf(fromMongo.getResults().getContent().stream().map(AdoptionDog::getName).toList());
+        assertThat(fromIndex.getFacets().keySet()).containsExactlyElementsOf(fromMongo.getFacets().keySet());
+        fromMongo.getFacets().forEach((facet, counts) ->
+                assertThat(fromIndex.getFacets().get(facet)).as(facet).containsExactlyInAnyOrderEntriesOf(counts));
+    }
+
+    // Helper methods
+
+    private static AdoptionDogSearchRequest available() {
+        AdoptionDogSearchRequest request = new AdoptionDogSearchRequest();
+        request.setStatus(List.of(AdoptionDogBitmapIndex.AVAILABLE));
+        return request;
+    }
+
+    private static AdoptionDog dog(String name, String size, int ageMonths, boolean vaccinated) {
+        AdoptionDog dog = new AdoptionDog();
+        dog.setName(name);
+        dog.setBreed("Indie");
+        dog.setGender("FEMALE");
+        dog.setSize(size);
+        dog.setAge(ageMonths);
+        dog.setVaccinated(vaccinated);
+        dog.setGoodWithKids(true);
+        dog.setStatus(AdoptionDogBitmapIndex.AVAILABLE);
+        dog.setAddedDate(LocalDateTime.now().minusDays(ageMonths));
+        return dog;
+    }
+}
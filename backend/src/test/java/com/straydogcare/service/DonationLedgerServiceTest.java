@@ -0,0 +1,199 @@
+package com.straydogcare.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.straydogcare.model.Donation;
+import com.straydogcare.model.DonationTotal;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * DonationLedgerService against an in-process Mongo server, with recordings cut short at each
+ * step to check that a retry counts every donation exactly once.
+ */
+class DonationLedgerServiceTest {
+
+    private static final long LEASE_SECONDS = 300;
+
+    private MongoServer server;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private DonationLedgerService ledger;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        mongoClient = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(mongoClient, "straydog_test");
+        ledger = ledger(mongoTemplate);
+        today = LocalDate.now();
+        // An existing, already counted history
+        ledger.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoClient.close();
+        server.shutdownNow();
+    }
+
+    @Test
+    void recordCountsADonationOnce() {
+        Donation donation = completed("d1", 25.0);
+
+        assertThat(ledger.record(donation)).isTrue();
+        assertThat(ledger.record(donation)).isFalse();
+        ledger.sweep();
+
+        assertCounted(1, "25.00");
+        assertThat(stored("d1").getLedgerRecorded()).isTrue();
+    }
+
+    @Test
+    void sweepFinishesARecordingCutShortAfterTheFirstRow() {
+        Donation donation = completed("d1", 25.0);
+        leaseExpired("d1");
+        // The day row was incremented before the node died
+        mongoTemplate.upsert(row("day:" + today + ":Medical"),
+                new Update().inc("total", new Decimal128(new BigDecimal("25.00"))).inc("count", 1)
+                        .push("applied", donation.getId()).setOnInsert("scope", DonationTotal.Scope.DAY)
+                        .setOnInsert("date", today).setOnInsert("purpose", "Medical"),
+                DonationTotal.class);
+
+        ledger.sweep();
+
+        assertCounted(1, "25.00");
+        assertThat(stored("d1").getLedgerRecorded()).isTrue();
+    }
+
+    @Test
+    void sweepDoesNotCountAgainWhenOnlyTheFlagWasMissing() {
+        Donation donation = completed("d1", 25.0);
+        assertThat(ledger.record(donation)).isTrue();
+        // As if the node died after the increments but before ledgerRecorded was set
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("d1")), new Update().set("ledgerRecorded", false), Donation.class);
+        leaseExpired("d1");
+
+        ledger.sweep();
+
+        assertCounted(1, "25.00");
+        assertThat(stored("d1").getLedgerRecorded()).isTrue();
+    }
+
+    @Test
+    void leasedDonationIsLeftToItsOwnerUntilTheLeaseExpires() {
+        completed("d1", 25.0);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("d1")),
+                new Update().set("ledgerClaimedAt", LocalDateTime.now()), Donation.class);
+
+        ledger.sweep();
+        assertCounted(0, "0.00");
+
+        leaseExpired("d1");
+        ledger.sweep();
+        assertCounted(1, "25.00");
+    }
+
+    @Test
+    void sweepPrunesAppliedListsOnceTheLeaseIsOver() {
+        ledger.record(completed("d1", 25.0));
+        ledger.record(completed("d2", 10.0));
+        assertThat(applied("lifetime:*")).containsExactlyInAnyOrder("d1", "d2");
+
+        leaseExpired("d1");
+        ledger.sweep();
+
+        assertThat(applied("lifetime:*")).containsExactly("d2");
+        assertThat(applied("lifetime:Medical")).containsExactly("d2");
+        assertThat(applied("day:" + today + ":Medical")).containsExactly("d2");
+        assertCounted(2, "35.00");
+    }
+
+    @Test
+    void backfillFailureDoesNotStopStartup() {
+        MongoTemplate unavailable = mock(MongoTemplate.class);
+        when(unavailable.exists(any(Query.class), eq(DonationTotal.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out while waiting for a server"));
+
+        assertThatCode(() -> ledger(unavailable).backfill()).doesNotThrowAnyException();
+    }
+
+    // Helper methods
+
+    private DonationLedgerService ledger(MongoTemplate template) {
+        DonationLedgerService service = new DonationLedgerService(template);
+        ReflectionTestUtils.setField(service, "sweepBatchSize", 500);
+        ReflectionTestUtils.setField(service, "leaseSeconds", LEASE_SECONDS);
+        return service;
+    }
+
+    private Donation completed(String id, double amount) {
+        Donation donation = new Donation();
+        donation.setId(id);
+        donation.setAmount(amount);
+        donation.setPurpose("Medical");
+        donation.setStatus(Donation.Status.COMPLETED);
+        donation.setCompletedAt(LocalDateTime.now());
+        donation.setLedgerRecorded(false);
+        return mongoTemplate.insert(donation);
+    }
+
+    private void leaseExpired(String id) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                new Update().set("ledgerClaimedAt", LocalDateTime.now().minusSeconds(LEASE_SECONDS + 60)), Donation.class);
+    }
+
+    private Donation stored(String id) {
+        return mongoTemplate.findById(id, Donation.class);
+    }
+
+    private Query row(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> applied(String rowId) {
+        Document row = mongoTemplate.getCollection(mongoTemplate.getCollectionName(DonationTotal.class))
+                .find(new Document("_id", rowId)).first();
+        return row != null && row.get("applied") != null ? (List<String>) row.get("applied") : List.of();
+    }
+
+    /**
+     * Every row the donations touch holds the same count and total
+     */
+    private void assertCounted(long count, String total) {
+        assertThat(ledger.getLifetimeTotal(null)).isEqualByComparingTo(total);
+        assertThat(ledger.getLifetimeTotal("Medical")).isEqualByComparingTo(total);
+        DonationTotal day = mongoTemplate.findById("day:" + today + ":Medical", DonationTotal.class);
+        assertThat(day != null ? day.getCount() : 0L).isEqualTo(count);
+        assertThat(day != null ? day.getTotal() : BigDecimal.ZERO).isEqualByComparingTo(total);
+        DonationTotal all = mongoTemplate.findById("lifetime:*", DonationTotal.class);
+        assertThat(all.getCount()).isEqualTo(count);
+    }
+}
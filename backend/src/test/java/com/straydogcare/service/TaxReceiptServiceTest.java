@@ -0,0 +1,204 @@
+package com.straydogcare.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.straydogcare.model.Donation;
+import jakarta.mail.internet.MimeMessage;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaxReceiptService against a real SMTP server (GreenMail). MongoDB is replaced by a mock
+ * that answers the claim queries and records the outcome written for each receipt.
+ */
+class TaxReceiptServiceTest {
+
+    private static final long BACKOFF_INITIAL_SECONDS = 60;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations results;
+    private TaxReceiptService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        results = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Donation.class)).thenReturn(results);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void claimedBatchIsSentOverSmtpAndMarkedSent() throws Exception {
+        service = service(greenMail.getSmtp().getPort());
+        queue(donation("d1", 0), donation("d2", 0), donation("d3", 0));
+
+        assertThat(service.dispatch()).isEqualTo(3);
+
+        // Claimed with a lease before anything was sent
+        ArgumentCaptor<Update> claim = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), claim.capture(), eq(Donation.class));
+        Document lease = set(claim.getValue());
+        assertThat(lease.get("receiptStatus")).isEqualTo(Donation.ReceiptStatus.SENDING);
+        assertThat(lease.getString("receiptClaimId")).isNotBlank();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(Arrays.stream(received).map(message -> header(message, "Message-ID")))
+                .containsExactlyInAnyOrder("<RCPT-tx-d1@straydogcare.org>", "<RCPT-tx-d2@straydogcare.org>", "<RCPT-tx-d3@straydogcare.org>");
+
+        Map<String, Update> outcomes = outcomes(3);
+        assertThat(outcomes).containsOnlyKeys("d1", "d2", "d3");
+        outcomes.values().forEach(update -> {
+            assertThat(set(update).get("receiptStatus")).isEqualTo(Donation.ReceiptStatus.SENT);
+            assertThat(set(update).get("taxReceiptSent")).isEqualTo(true);
+            assertThat(unset(update)).containsKeys("receiptClaimId", "receiptNextAttemptAt", "receiptError");
+        });
+        verify(results).execute();
+    }
+
+    @Test
+    void failedSendIsRetriedWithBackoffUntilMaxAttempts() throws Exception {
+        service = service(closedPort());
+        queue(donation("first", 0), donation("last", MAX_ATTEMPTS - 1));
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(service.dispatch()).isZero();
+
+        Map<String, Update> outcomes = outcomes(2);
+        Document retry = set(outcomes.get("first"));
+        assertThat(retry.get("receiptStatus")).isEqualTo(Donation.ReceiptStatus.PENDING);
+        assertThat(retry.get("receiptAttempts")).isEqualTo(1);
+        assertThat(retry.getString("receiptError")).isNotBlank();
+        assertThat((LocalDateTime) retry.get("receiptNextAttemptAt"))
+                .isAfterOrEqualTo(before.plusSeconds(BACKOFF_INITIAL_SECONDS))
+                .isBefore(before.plusSeconds(BACKOFF_INITIAL_SECONDS).plus(Duration.ofSeconds(30)));
+        assertThat(unset(outcomes.get("first"))).containsKey("receiptClaimId");
+
+        Document givenUp = set(outcomes.get("last"));
+        assertThat(givenUp.get("receiptStatus")).isEqualTo(Donation.ReceiptStatus.FAILED);
+        assertThat(givenUp.get("receiptAttempts")).isEqualTo(MAX_ATTEMPTS);
+        assertThat(unset(outcomes.get("last"))).containsKeys("receiptClaimId", "receiptNextAttemptAt");
+    }
+
+    // Helper methods
+
+    private TaxReceiptService service(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+
+        TaxReceiptService receipts = new TaxReceiptService(mongoTemplate, mailSender);
+        ReflectionTestUtils.setField(receipts, "enabled", true);
+        ReflectionTestUtils.setField(receipts, "batchSize", 50);
+        ReflectionTestUtils.setField(receipts, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(receipts, "backoffInitialSeconds", BACKOFF_INITIAL_SECONDS);
+        ReflectionTestUtils.setField(receipts, "backoffMaxSeconds", 3600L);
+        ReflectionTestUtils.setField(receipts, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(receipts, "from", "no-reply@straydogcare.org");
+        ReflectionTestUtils.setField(receipts, "workerCount", 1);
+        receipts.start();
+        return receipts;
+    }
+
+    /**
+     * Answers the id lookup with the queued donations, then the claim lookup with the same
+     * donations stamped with the claim id the service asked for
+     */
+    private void queue(Donation... donations) {
+        when(mongoTemplate.find(any(Query.class), eq(Donation.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            Object claimId = query.getQueryObject().get("receiptClaimId");
+            if (claimId == null) {
+                return Arrays.stream(donations).map(donation -> {
+                    Donation idOnly = new Donation();
+                    idOnly.setId(donation.getId());
+                    return idOnly;
+                }).toList();
+            }
+            Arrays.stream(donations).forEach(donation -> donation.setReceiptClaimId((String) claimId));
+            return List.of(donations);
+        });
+    }
+
+    private Map<String, Update> outcomes(int count) {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(results, times(count)).updateOne(queries.capture(), updates.capture());
+        return IntStream.range(0, count).boxed().collect(Collectors.toMap(
+                i -> queries.getAllValues().get(i).getQueryObject().getString("_id"),
+                i -> updates.getAllValues().get(i)));
+    }
+
+    private static Donation donation(String id, int attempts) {
+        Donation donation = new Donation();
+        donation.setId(id);
+        donation.setDonorName("Donor " + id);
+        donation.setDonorEmail(id + "@example.org");
+        donation.setAmount(25.0);
+        donation.setTransactionId("tx-" + id);
+        donation.setPurpose("Medical care");
+        donation.setReceiptStatus(Donation.ReceiptStatus.PENDING);
+        donation.setReceiptAttempts(attempts);
+        return donation;
+    }
+
+    private static Document set(Update update) {
+        return update.getUpdateObject().get("$set", Document.class);
+    }
+
+    private static Document unset(Update update) {
+        return update.getUpdateObject().get("$unset", Document.class);
+    }
+
+    private static String header(MimeMessage message, String name) {
+        try {
+            return message.getHeader(name, null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -75,6 +75,14 @@ export interface ApiResponse<T> {
   data: T
 }
 
+export interface PageResponse<T> {
+  content: T[]
+  page: number
+  size: number
+  totalElements: number
+  totalPages: number
+}
+
 export interface DogReport {
   id: string
   dogName?: string
@@ -216,6 +224,14 @@ export const authApi = {
   },
 }
 
+// Streaming CSV/NDJSON exports (admin); from/to are ISO date-times filtering on createdAt
+export interface ExportParams {
+  from?: string
+  to?: string
+  status?: string
+  format?: 'csv' | 'ndjson'
+}
+
 export const dogReportsApi = {
   getAll: async (params?: any): Promise<DogReport[]> => {
     const response = await api.get<ApiResponse<DogReport[]>>('/dog-reports', { params })
@@ -244,6 +260,10 @@ export const dogReportsApi = {
     const response = await api.get<ApiResponse<DogReport[]>>(`/dog-reports/nearby/${lat}/${lng}`)
     return response.data.data
   },
+  export: async (params?: ExportParams): Promise<Blob> => {
+    const response = await api.get('/dog-reports/export', { params, responseType: 'blob' })
+    return response.data
+  },
 }
 
 export const volunteersApi = {
@@ -284,6 +304,10 @@ export const adoptionsApi = {
   delete: async (id: string): Promise<void> => {
     await api.delete(`/adoptions/${id}`)
   },
+  export: async (params?: ExportParams): Promise<Blob> => {
+    const response = await api.get('/adoptions/export', { params, responseType: 'blob' })
+    return response.data
+  },
 }
 
 export const donationsApi = {
@@ -299,6 +323,10 @@ export const donationsApi = {
     const response = await api.get<ApiResponse<number>>('/donations/total')
     return response.data.data
   },
+  export: async (params?: ExportParams): Promise<Blob> => {
+    const response = await api.get('/donations/export', { params, responseType: 'blob' })
+    return response.data
+  },
 }
 
 export const forumApi = {
@@ -389,16 +417,47 @@ export interface Dog {
   goodWithPets?: boolean
   specialNeeds?: string
   status: string // AVAILABLE, PENDING, ADOPTED
+  pendingRequestCount?: number
   addedBy?: string
   addedDate?: string
   updatedDate?: string
 }
 
+export interface DogSearchParams {
+  size?: string[]
+  gender?: string[]
+  breed?: string[]
+  status?: string[]
+  minAge?: number
+  maxAge?: number
+  vaccinated?: boolean
+  neutered?: boolean
+  goodWithKids?: boolean
+  goodWithPets?: boolean
+  page?: number
+  pageSize?: number
+}
+
+export interface DogSearchResult {
+  results: PageResponse<Dog>
+  facets: Record<string, Record<string, number>>
+}
+
 export const dogsApi = {
   getAll: async (): Promise<Dog[]> => {
     const response = await api.get<ApiResponse<Dog[]>>('/dogs')
     return response.data.data
   },
+  search: async (params: DogSearchParams = {}): Promise<DogSearchResult> => {
+    // List filters go over the wire comma-separated
+    const query = Object.fromEntries(
+      Object.entries(params)
+        .filter(([, value]) => value !== undefined && !(Array.isArray(value) && value.length === 0))
+        .map(([key, value]) => [key, Array.isArray(value) ? value.join(',') : value])
+    )
+    const response = await api.get<ApiResponse<DogSearchResult>>('/dogs/search', { params: query })
+    return response.data.data
+  },
   create: async (data: Partial<Dog>): Promise<Dog> => {
     const response = await api.post<ApiResponse<Dog>>('/dogs', data)
     return response.data.data
@@ -424,10 +483,22 @@ export const volunteerTasksApi = {
     const response = await api.get<ApiResponse<VolunteerTask[]>>(`/volunteer-tasks/volunteer/${volunteerId}`)
     return response.data.data
   },
-  // Get tasks for current logged-in volunteer
+  // Get tasks for current logged-in volunteer, following every page (the server caps a page at 100)
   getMyTasks: async (): Promise<VolunteerTask[]> => {
-    const response = await api.get<ApiResponse<VolunteerTask[]>>('/volunteer-tasks/my-tasks')
-    return response.data.data
+    const tasks = new Map<string, VolunteerTask>()
+    let page = 0
+    let totalPages = 1
+    while (page < totalPages) {
+      const response = await api.get<ApiResponse<PageResponse<VolunteerTask>>>('/volunteer-tasks/my-tasks', {
+        params: { page, size: 100 },
+      })
+      const result = response.data.data
+      // A task can shift onto the next page if the list changes in between
+      result.content.forEach((task) => tasks.set(task.id, task))
+      totalPages = result.totalPages
+      page++
+    }
+    return [...tasks.values()]
   },
   // Create new task (admin only)
   create: async (data: Partial<VolunteerTask>): Promise<VolunteerTask> => {
@@ -181,7 +181,10 @@ export function AdminDogs() {
 
   const handleUpdate = () => {
     if (selectedDog) {
-      updateMutation.mutate({ id: selectedDog.id, data: formData })
+      // Only send the status when it was changed here, so a stale form cannot undo an adoption
+      const { status, ...details } = formData
+      const data = status !== selectedDog.status ? { ...details, status } : details
+      updateMutation.mutate({ id: selectedDog.id, data })
     }
   }
 
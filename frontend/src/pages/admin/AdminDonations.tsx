@@ -106,29 +106,24 @@ export function AdminDonations() {
     return <Badge variant={config.variant} className={config.className}>{status}</Badge>
   }
 
-  const handleExport = () => {
-    const csv = [
-      ['ID', 'Donor Name', 'Email', 'Phone', 'Amount', 'Payment Method', 'Status', 'Date', 'Message'],
-      ...filteredDonations.map((d: Donation) => [
-        d.id,
-        d.donorName || '',
-        d.donorEmail || '',
-        d.donorPhone || '',
-        d.amount,
-        d.paymentMethod || '',
-        d.status,
-        new Date(d.createdAt).toLocaleDateString(),
-        d.message || ''
-      ])
-    ].map(row => row.join(',')).join('\n')
-
-    const blob = new Blob([csv], { type: 'text/csv' })
-    const url = window.URL.createObjectURL(blob)
-    const a = document.createElement('a')
-    a.href = url
-    a.download = `donations-${new Date().toISOString().split('T')[0]}.csv`
-    a.click()
-    toast.success('Donations exported successfully')
+  const handleExport = async () => {
+    try {
+      // Streamed by the server, so the export covers every donation rather than the loaded page
+      const blob = await donationsApi.export({
+        status: statusFilter === 'ALL' ? undefined : statusFilter,
+        format: 'csv'
+      })
+      const url = window.URL.createObjectURL(blob)
+      const a = document.createElement('a')
+      a.href = url
+      a.download = `donations-${new Date().toISOString().split('T')[0]}.csv`
+      a.click()
+      window.URL.revokeObjectURL(url)
+      toast.success('Donations exported successfully')
+    } catch (error) {
+      console.error('Export error:', error)
+      toast.error('Failed to export donations')
+    }
   }
 
   if (isLoading) {